@@ -9,6 +9,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @Builder
@@ -22,6 +23,9 @@ public class LoanDecisionMadeEvent {
     private String email;
     private LoanDecision decision;
     private String reason;
+    // Bitset dos reason codes da análise de crédito (ver ReasonCode) e seus parâmetros numéricos
+    private long reasonCodes;
+    private Map<String, Integer> reasonParameters;
     private LoanTerms terms;
 
 }
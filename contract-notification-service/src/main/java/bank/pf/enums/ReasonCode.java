@@ -0,0 +1,60 @@
+package bank.pf.enums;
+
+// Espelho dos bits de ReasonCode do credit-assessment-service. Um bit ausente desta lista (adicionado por um produtor
+// mais novo) é ignorado na renderização. parameter indica a entrada de reasonParameters usada pela mensagem e scale o
+// número de casas decimais com que ela é enviada (4512 com scale 2 é 45,12). Um código só de rejeição explica uma
+// rejeição, mas junto de uma aprovação é um sinal interno de revisão (indício de fraude) e fica fora dos documentos.
+public enum ReasonCode {
+
+    BUREAU_SCORE_BELOW_MINIMUM(0, "BUREAU_SCORE", 0),
+    PAYMENT_HISTORY_DELINQUENT(1, null, 0),
+    DEBT_TO_INCOME_ABOVE_LIMIT(2, "DEBT_TO_INCOME_BASIS_POINTS", 2),
+    DEBT_TO_INCOME_REQUIRES_ATTENTION(3, "DEBT_TO_INCOME_BASIS_POINTS", 2),
+    FRAUD_SCORE_HIGH(4, "FRAUD_SCORE", 0),
+    FRAUD_RECOMMENDATION_REJECT(5, "FRAUD_SCORE", 0),
+    LOW_RISK_PROFILE(6, null, 0),
+    STANDARD_RISK_PROFILE(7, null, 0),
+    HIGH_RISK_PROFILE(8, null, 0),
+    VERY_HIGH_RISK_PROFILE(9, "BUREAU_SCORE", 0),
+    LIMIT_ADJUSTED(10, null, 0),
+    LIMIT_TOO_LOW_FOR_RISK(11, null, 0),
+    BUREAU_UNAVAILABLE(12, null, 0),
+    ANTI_FRAUD_UNAVAILABLE(13, null, 0),
+    VELOCITY_LIMIT_EXCEEDED(14, "APPLICATIONS_IN_WINDOW", 0, true);
+
+    private final int bit;
+    private final String parameter;
+    private final int scale;
+    private final boolean rejectionOnly;
+
+    ReasonCode(int bit, String parameter, int scale) {
+        this(bit, parameter, scale, false);
+    }
+
+    ReasonCode(int bit, String parameter, int scale, boolean rejectionOnly) {
+        this.bit = bit;
+        this.parameter = parameter;
+        this.scale = scale;
+        this.rejectionOnly = rejectionOnly;
+    }
+
+    public boolean isSetIn(long reasonCodes) {
+        return (reasonCodes & (1L << bit)) != 0;
+    }
+
+    public String parameter() {
+        return parameter;
+    }
+
+    public int scale() {
+        return scale;
+    }
+
+    public boolean rejectionOnly() {
+        return rejectionOnly;
+    }
+
+    public String messageKey() {
+        return "reason." + name();
+    }
+}
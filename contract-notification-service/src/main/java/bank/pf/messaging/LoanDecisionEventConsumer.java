@@ -60,7 +60,9 @@ public class LoanDecisionEventConsumer {
                 byte[] pdfContract = pdfGenerationService.generateLoanContractPdf(
                         event.getApplicationId(),
                         event.getCpf(),
-                        event.getTerms()
+                        event.getTerms(),
+                        event.getReasonCodes(),
+                        event.getReasonParameters()
                 );
                 // Enviar email de aprovação com PDF
                 emailService.sendApprovalEmail(
@@ -78,6 +80,8 @@ public class LoanDecisionEventConsumer {
                         event.getEmail(),
                         event.getCpf(),
                         event.getApplicationId(),
+                        event.getReasonCodes(),
+                        event.getReasonParameters(),
                         event.getReason()
                 );
                 rejectedNotificationCounter.increment();
@@ -39,6 +39,7 @@ public class EmailService {
 
     private final JavaMailSender mailSender;
     private final ResourceLoader resourceLoader;
+    private final ReasonCodeRenderer reasonCodeRenderer;
 
     @Value("${spring.mail.username:noreply@credfacil.com}")
     private String fromEmail;
@@ -113,12 +114,13 @@ public class EmailService {
         }
     }
 
-    public void sendRejectionEmail(String to, String cpf, String applicationId, String reason) {
+    public void sendRejectionEmail(String to, String cpf, String applicationId, long reasonCodes, Map<String, Integer> reasonParameters,
+                                   String legacyReason) {
         try {
             Map<String, String> placeholders = Map.of(
                     "cpf", cpf,
                     "applicationId", applicationId,
-                    "reason", reason != null ? reason : "Não especificado"
+                    "reason", reasonCodeRenderer.renderSentence(reasonCodes, reasonParameters, legacyReason)
             );
             String fullTemplateContent = loadEmailTemplate("rejection_template.txt", placeholders);
             String subject = extractSubjectFromTemplate(fullTemplateContent);
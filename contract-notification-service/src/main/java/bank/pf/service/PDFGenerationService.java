@@ -6,6 +6,7 @@ import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.layout.Document;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.properties.TextAlignment;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -13,17 +14,22 @@ import java.io.ByteArrayOutputStream;
 import java.text.NumberFormat;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class PDFGenerationService {
 
     private static final Locale LOCALE_BR = new Locale("pt", "BR");
     private static final NumberFormat CURRENCY_FORMAT = NumberFormat.getCurrencyInstance(LOCALE_BR);
     private static final NumberFormat PERCENT_FORMAT = NumberFormat.getPercentInstance(LOCALE_BR);
 
-    public byte[] generateLoanContractPdf(String applicationId, String cpf, LoanTerms terms) {
+    private final ReasonCodeRenderer reasonCodeRenderer;
+
+    public byte[] generateLoanContractPdf(String applicationId, String cpf, LoanTerms terms, long reasonCodes, Map<String, Integer> reasonParameters) {
         ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
         try (PdfWriter writer = new PdfWriter(byteArrayOutputStream);
              PdfDocument pdf = new PdfDocument(writer);
@@ -60,6 +66,16 @@ public class PDFGenerationService {
 
             document.add(new Paragraph("5. FORMA DE PAGAMENTO: Débito em conta corrente ou boleto bancário (a ser definido).").setMarginBottom(15));
 
+            // Observações da análise de crédito (ex.: valor ajustado à renda)
+            List<String> assessmentNotes = reasonCodeRenderer.renderApprovalNotes(reasonCodes, reasonParameters);
+            if (!assessmentNotes.isEmpty()) {
+                document.add(new Paragraph("OBSERVAÇÕES DA ANÁLISE DE CRÉDITO:").setBold().setMarginBottom(5));
+                for (String note : assessmentNotes) {
+                    document.add(new Paragraph("- " + note));
+                }
+                document.add(new Paragraph("").setMarginBottom(15));
+            }
+
             // Cláusulas Simplificadas
             document.add(new Paragraph("CLÁUSULAS GERAIS:").setBold().setMarginBottom(5));
             document.add(new Paragraph("O CONTRATANTE declara estar ciente e de acordo com todos os termos e condições aqui estabelecidos. O atraso no pagamento das parcelas implicará em multa e juros moratórios, conforme legislação vigente e termos detalhados no Anexo I (não incluso nesta simulação).").setMarginBottom(15));
@@ -0,0 +1,66 @@
+package bank.pf.service;
+
+import bank.pf.enums.ReasonCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Converte o bitset de reason codes e os parâmetros de um LoanDecisionMadeEvent em frases para o cliente, a partir do
+// messages.properties. Só EmailService e PDFGenerationService o chamam: os serviços upstream nunca montam texto.
+@Component
+@RequiredArgsConstructor
+public class ReasonCodeRenderer {
+
+    private static final ReasonCode[] CODES = ReasonCode.values();
+
+    private final MessageSource messageSource;
+
+    @Value("${app.notification.locale:pt-BR}")
+    private Locale locale;
+
+    public List<String> render(long reasonCodes, Map<String, Integer> reasonParameters) {
+        return render(reasonCodes, reasonParameters, true);
+    }
+
+    // Observações de um empréstimo aprovado (contrato, mensagens de aprovação): códigos só de rejeição ficam de fora.
+    public List<String> renderApprovalNotes(long reasonCodes, Map<String, Integer> reasonParameters) {
+        return render(reasonCodes, reasonParameters, false);
+    }
+
+    private List<String> render(long reasonCodes, Map<String, Integer> reasonParameters, boolean rejection) {
+        List<String> sentences = new ArrayList<>();
+        for (ReasonCode code : CODES) {
+            if (code.isSetIn(reasonCodes) && (rejection || !code.rejectionOnly())) {
+                sentences.add(messageSource.getMessage(code.messageKey(), arguments(code, reasonParameters), locale));
+            }
+        }
+        return sentences;
+    }
+
+    // Eventos de produtores anteriores aos reason codes só trazem o motivo em texto livre, usado como está.
+    public String renderSentence(long reasonCodes, Map<String, Integer> reasonParameters, String legacyReason) {
+        List<String> sentences = render(reasonCodes, reasonParameters);
+        if (!sentences.isEmpty()) {
+            return String.join(" ", sentences);
+        }
+        if (legacyReason != null && !legacyReason.isBlank()) {
+            return legacyReason;
+        }
+        return messageSource.getMessage("reason.UNSPECIFIED", null, locale);
+    }
+
+    private static Object[] arguments(ReasonCode code, Map<String, Integer> reasonParameters) {
+        if (code.parameter() == null) {
+            return null;
+        }
+        Integer value = reasonParameters == null ? null : reasonParameters.get(code.parameter());
+        return new Object[]{value == null ? "-" : BigDecimal.valueOf(value, code.scale())};
+    }
+}
@@ -0,0 +1,64 @@
+package bank.pf.service;
+
+import bank.pf.enums.ReasonCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReasonCodeRendererTest {
+
+    private ReasonCodeRenderer reasonCodeRenderer;
+
+    @BeforeEach
+    void setUp() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        reasonCodeRenderer = new ReasonCodeRenderer(messageSource);
+        ReflectionTestUtils.setField(reasonCodeRenderer, "locale", Locale.forLanguageTag("pt-BR"));
+    }
+
+    @Test
+    void shouldRenderEveryCodeInBitOrderWithItsParameter() {
+        // Given
+        long reasonCodes = (1L << 3) | (1L << 10);
+
+        // When
+        String sentence = reasonCodeRenderer.renderSentence(reasonCodes, Map.of("DEBT_TO_INCOME_BASIS_POINTS", 3512), null);
+
+        // Then
+        assertThat(sentence).isEqualTo("Índice de endividamento (35,12%) requer atenção. "
+                + "Valor aprovado ajustado conforme a renda e os limites da política de crédito.");
+    }
+
+    @Test
+    void shouldFallBackToLegacyReasonAndIgnoreUnknownBits() {
+        // Given: o bit 63 não é um ReasonCode conhecido
+        long unknownOnly = 1L << 63;
+
+        // When / Then
+        assertThat(reasonCodeRenderer.render(unknownOnly, null)).isEmpty();
+        assertThat(reasonCodeRenderer.renderSentence(unknownOnly, null, "Score baixo")).isEqualTo("Score baixo");
+        assertThat(reasonCodeRenderer.renderSentence(0, null, null)).isEqualTo("Não especificado.");
+        assertThat(ReasonCode.VERY_HIGH_RISK_PROFILE.isSetIn(1L << 9)).isTrue();
+    }
+
+    @Test
+    void shouldLeaveRejectionOnlyCodesOutOfApprovalNotes() {
+        // Given: uma aprovação sinalizada pelo pré-filtro de velocidade
+        long reasonCodes = (1L << 10) | (1L << 14);
+
+        // When
+        var approvalNotes = reasonCodeRenderer.renderApprovalNotes(reasonCodes, Map.of("APPLICATIONS_IN_WINDOW", 6));
+
+        // Then
+        assertThat(approvalNotes).containsExactly("Valor aprovado ajustado conforme a renda e os limites da política de crédito.");
+        assertThat(reasonCodeRenderer.render(reasonCodes, Map.of("APPLICATIONS_IN_WINDOW", 6))).hasSize(2);
+    }
+}
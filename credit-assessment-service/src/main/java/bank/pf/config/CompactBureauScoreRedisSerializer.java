@@ -0,0 +1,265 @@
+package bank.pf.config;
+
+import bank.pf.entity.BureauScore;
+import bank.pf.entity.CachedBureauScore;
+import bank.pf.enums.AssessmentType;
+import bank.pf.enums.PaymentHistoryType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Redis value format for the bureau score cache. Version 1 layout:
+//   [version][flags][fetchedAt varlong]                                    (a negative entry ends here)
+//   [cpf: 11 digits as varlong | varint length + UTF-8][score varint]
+//   [assessment ordinal + 1][paymentHistory ordinal + 1][monthlyDebts: zigzag varlong cents | varint length + text]
+// Enum ordinals are part of the format, so new constants must be appended; anything else needs a new version.
+// Legacy JSON entries always start with '{', never a valid version byte, so both formats are read side by side.
+public class CompactBureauScoreRedisSerializer implements RedisSerializer<CachedBureauScore> {
+
+    static final byte VERSION_1 = 1;
+
+    private static final byte JSON_OBJECT_START = '{';
+    private static final int CPF_DIGITS = 11;
+    private static final int MONTHLY_DEBTS_SCALE = 2;
+
+    private static final int NOT_FOUND = 1;
+    private static final int HAS_RESTRICTIONS = 1 << 1;
+    private static final int CPF_PRESENT = 1 << 2;
+    private static final int CPF_NUMERIC = 1 << 3;
+    private static final int SCORE_PRESENT = 1 << 4;
+    private static final int MONTHLY_DEBTS_PRESENT = 1 << 5;
+    private static final int MONTHLY_DEBTS_IN_CENTS = 1 << 6;
+
+    private static final AssessmentType[] ASSESSMENT_TYPES = AssessmentType.values();
+    private static final PaymentHistoryType[] PAYMENT_HISTORY_TYPES = PaymentHistoryType.values();
+
+    private final Jackson2JsonRedisSerializer<CachedBureauScore> jsonSerializer;
+    private final boolean writeCompact;
+
+    // writeCompact=false keeps writing JSON while still reading both formats: deploy with it first so replicas
+    // still on the JSON-only reader are not handed entries they cannot decode, then switch it on.
+    public CompactBureauScoreRedisSerializer(ObjectMapper objectMapper, boolean writeCompact) {
+        this.jsonSerializer = new Jackson2JsonRedisSerializer<>(objectMapper, CachedBureauScore.class);
+        this.writeCompact = writeCompact;
+    }
+
+    @Override
+    public byte[] serialize(CachedBureauScore value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        if (!writeCompact) {
+            return jsonSerializer.serialize(value);
+        }
+
+        BureauScore score = value.score();
+        var writer = new Writer();
+        writer.writeByte(VERSION_1);
+        int flagsPosition = writer.position;
+        writer.writeByte(0);
+        writer.writeVarLong(value.fetchedAtEpochMillis());
+
+        int flags = value.notFound() ? NOT_FOUND : 0;
+        if (score != null) {
+            flags |= score.hasRestrictions() ? HAS_RESTRICTIONS : 0;
+            flags |= writeCpf(writer, score.cpf());
+            if (score.score() != null) {
+                flags |= SCORE_PRESENT;
+                writer.writeVarLong(score.score() & 0xFFFFFFFFL);
+            }
+            writer.writeByte(score.assessment() == null ? 0 : score.assessment().ordinal() + 1);
+            writer.writeByte(score.paymentHistory() == null ? 0 : score.paymentHistory().ordinal() + 1);
+            flags |= writeMonthlyDebts(writer, score.monthlyDebts());
+        }
+        writer.buffer[flagsPosition] = (byte) flags;
+        return writer.toByteArray();
+    }
+
+    @Override
+    public CachedBureauScore deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] == JSON_OBJECT_START) {
+            return jsonSerializer.deserialize(bytes);
+        }
+        if (bytes[0] != VERSION_1) {
+            throw new SerializationException("Unsupported bureau score cache format version: " + bytes[0]);
+        }
+
+        var reader = new Reader(bytes);
+        int flags = reader.readByte();
+        long fetchedAtEpochMillis = reader.readVarLong();
+        if ((flags & NOT_FOUND) != 0) {
+            return CachedBureauScore.negative(fetchedAtEpochMillis);
+        }
+
+        String cpf = readCpf(reader, flags);
+        Integer score = (flags & SCORE_PRESENT) != 0 ? (int) reader.readVarLong() : null;
+        int assessmentOrdinal = reader.readByte();
+        int paymentHistoryOrdinal = reader.readByte();
+        BigDecimal monthlyDebts = readMonthlyDebts(reader, flags);
+        return CachedBureauScore.positive(new BureauScore(
+                cpf,
+                score,
+                assessmentOrdinal == 0 ? null : ASSESSMENT_TYPES[assessmentOrdinal - 1],
+                (flags & HAS_RESTRICTIONS) != 0,
+                paymentHistoryOrdinal == 0 ? null : PAYMENT_HISTORY_TYPES[paymentHistoryOrdinal - 1],
+                monthlyDebts), fetchedAtEpochMillis);
+    }
+
+    private static int writeCpf(Writer writer, String cpf) {
+        if (cpf == null) {
+            return 0;
+        }
+        if (isElevenDigits(cpf)) {
+            writer.writeVarLong(Long.parseLong(cpf));
+            return CPF_PRESENT | CPF_NUMERIC;
+        }
+        writer.writeString(cpf);
+        return CPF_PRESENT;
+    }
+
+    private static String readCpf(Reader reader, int flags) {
+        if ((flags & CPF_PRESENT) == 0) {
+            return null;
+        }
+        if ((flags & CPF_NUMERIC) == 0) {
+            return reader.readString();
+        }
+        long digits = reader.readVarLong();
+        char[] cpf = new char[CPF_DIGITS];
+        for (int i = CPF_DIGITS - 1; i >= 0; i--) {
+            cpf[i] = (char) ('0' + digits % 10);
+            digits /= 10;
+        }
+        return new String(cpf);
+    }
+
+    // Amounts with at most two decimal places are stored as cents (decoded with scale 2); anything finer keeps
+    // its exact textual form rather than being rounded.
+    private static int writeMonthlyDebts(Writer writer, BigDecimal monthlyDebts) {
+        if (monthlyDebts == null) {
+            return 0;
+        }
+        if (monthlyDebts.scale() <= MONTHLY_DEBTS_SCALE) {
+            BigInteger cents = monthlyDebts.setScale(MONTHLY_DEBTS_SCALE).unscaledValue();
+            if (cents.bitLength() < Long.SIZE) {
+                long value = cents.longValue();
+                writer.writeVarLong((value << 1) ^ (value >> 63));
+                return MONTHLY_DEBTS_PRESENT | MONTHLY_DEBTS_IN_CENTS;
+            }
+        }
+        writer.writeString(monthlyDebts.toString());
+        return MONTHLY_DEBTS_PRESENT;
+    }
+
+    private static BigDecimal readMonthlyDebts(Reader reader, int flags) {
+        if ((flags & MONTHLY_DEBTS_PRESENT) == 0) {
+            return null;
+        }
+        if ((flags & MONTHLY_DEBTS_IN_CENTS) == 0) {
+            return new BigDecimal(reader.readString());
+        }
+        long zigzag = reader.readVarLong();
+        return BigDecimal.valueOf((zigzag >>> 1) ^ -(zigzag & 1), MONTHLY_DEBTS_SCALE);
+    }
+
+    private static boolean isElevenDigits(String value) {
+        if (value.length() != CPF_DIGITS) {
+            return false;
+        }
+        for (int i = 0; i < CPF_DIGITS; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Writer {
+
+        private byte[] buffer = new byte[32];
+        private int position;
+
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void ensureCapacity(int additional) {
+            if (position + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position = 1;
+
+        private Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private int readByte() {
+            checkAvailable(1);
+            return bytes[position++] & 0xFF;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < Long.SIZE; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("Malformed varint in bureau score cache entry");
+        }
+
+        private String readString() {
+            int length = (int) readVarLong();
+            checkAvailable(length);
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private void checkAvailable(int length) {
+            if (length < 0 || position + length > bytes.length) {
+                throw new SerializationException("Truncated bureau score cache entry");
+            }
+        }
+    }
+}
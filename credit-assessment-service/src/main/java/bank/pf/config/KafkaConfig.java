@@ -1,6 +1,7 @@
 package bank.pf.config;
 
 import bank.pf.dto.event.LoanApplicationReceivedEvent;
+import bank.pf.dto.event.LoanDecisionMadeEvent;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,6 +11,7 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
@@ -26,6 +28,15 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${app.kafka.consumer.batch.max-poll-records:500}")
+    private int batchMaxPollRecords;
+
+    @Value("${app.kafka.consumer.batch.fetch-max-wait-ms:100}")
+    private int batchFetchMaxWaitMillis;
+
+    @Value("${app.kafka.consumer.parallel.max-poll-records:500}")
+    private int parallelMaxPollRecords;
+
     @Bean
     public ConsumerFactory<String, LoanApplicationReceivedEvent> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -45,4 +56,59 @@ public class KafkaConfig {
         return factory;
     }
 
+    // Batch mode: the whole poll is delivered to one listener call and the offsets are committed once per batch,
+    // after the listener returns (i.e. after every completed event is acknowledged by the broker).
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, LoanApplicationReceivedEvent>
+    batchKafkaListenerContainerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxPollRecords);
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, batchFetchMaxWaitMillis);
+        ConsumerFactory<String, LoanApplicationReceivedEvent> batchConsumerFactory = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new JsonDeserializer<>(LoanApplicationReceivedEvent.class));
+
+        ConcurrentKafkaListenerContainerFactory<String, LoanApplicationReceivedEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(batchConsumerFactory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        return factory;
+    }
+
+    // Parallel mode: records are acknowledged from worker threads as they finish. With async acks the container
+    // accepts out-of-order acknowledgments and only commits up to the first gap, pausing the consumer while a poll
+    // still has unacknowledged records, so in-flight work is bounded by max-poll-records.
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, LoanApplicationReceivedEvent>
+    parallelKafkaListenerContainerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, parallelMaxPollRecords);
+        ConsumerFactory<String, LoanApplicationReceivedEvent> parallelConsumerFactory = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new JsonDeserializer<>(LoanApplicationReceivedEvent.class));
+
+        ConcurrentKafkaListenerContainerFactory<String, LoanApplicationReceivedEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(parallelConsumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+        return factory;
+    }
+
+    // Decision events only feed the customer profile snapshot, under their own consumer group so that lag on the
+    // profile updates never holds back loan application consumption.
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, LoanDecisionMadeEvent>
+    loanDecisionKafkaListenerContainerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        ConsumerFactory<String, LoanDecisionMadeEvent> loanDecisionConsumerFactory = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new JsonDeserializer<>(LoanDecisionMadeEvent.class, false));
+
+        ConcurrentKafkaListenerContainerFactory<String, LoanDecisionMadeEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(loanDecisionConsumerFactory);
+        return factory;
+    }
+
 }
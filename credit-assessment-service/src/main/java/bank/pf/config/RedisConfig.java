@@ -1,31 +1,34 @@
 package bank.pf.config;
 
-import bank.pf.entity.BureauScore;
+import bank.pf.entity.CachedBureauScore;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.Locale;
+
 @Configuration
 public class RedisConfig {
 
     @Bean
-    public RedisTemplate<String, BureauScore> bureauScoreRedisTemplate(
-            RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, CachedBureauScore> bureauScoreRedisTemplate(
+            RedisConnectionFactory connectionFactory, ObjectMapper objectMapper,
+            @Value("${app.bureau-cache.codec:json}") String codec) {
 
-        RedisTemplate<String, BureauScore> template = new RedisTemplate<>();
+        RedisTemplate<String, CachedBureauScore> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
-
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-
-        Jackson2JsonRedisSerializer<BureauScore> valueSerializer =
-                new Jackson2JsonRedisSerializer<>(objectMapper, BureauScore.class);
+        // Reads both the compact binary format and legacy JSON; app.bureau-cache.codec only selects what is written.
+        boolean writeCompact = switch (codec.trim().toLowerCase(Locale.ROOT)) {
+            case "compact" -> true;
+            case "json" -> false;
+            default -> throw new IllegalStateException("app.bureau-cache.codec must be compact or json, was: " + codec);
+        };
+        CompactBureauScoreRedisSerializer valueSerializer = new CompactBureauScoreRedisSerializer(objectMapper, writeCompact);
 
 
         template.setKeySerializer(new StringRedisSerializer());
@@ -1,6 +1,9 @@
 package bank.pf.config;
 
+import bank.pf.service.external.BureauProvider;
+import bank.pf.service.external.BureauProviders;
 import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import jakarta.annotation.PostConstruct;
 import lombok.Getter;
@@ -12,12 +15,15 @@ import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 
+import java.util.Arrays;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class WireMockSetupConfig {
 
     private final WireMockConfig wireMockConfig;
+    private final BureauProviders bureauProviders;
 
     @Getter
     private String baseUrl;
@@ -35,6 +41,8 @@ public class WireMockSetupConfig {
                 .build();
 
         setupBureauScore(wireMockServer);
+        setupBureauScoreBulk(wireMockServer);
+        bureauProviders.all().forEach(provider -> setupBureauProvider(wireMockServer, provider));
         setupAntiFraudScore(wireMockServer);
     }
 
@@ -89,6 +97,69 @@ public class WireMockSetupConfig {
 
     }
 
+    // Bulk counterpart of the per-CPF stubs above, with the same profile by CPF suffix, for load-testing the
+    // micro-batching bureau client locally.
+    private void setupBureauScoreBulk(WireMockServer wireMockServer) {
+        wireMockServer.stubFor(WireMock.post(WireMock.urlEqualTo("/api/bureau/score/bulk"))
+                .withRequestBody(WireMock.matchingJsonPath("$.cpfs"))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(HttpStatus.OK.value()).withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withBody("""
+                                {
+                                  "scores": [
+                                {{#each (jsonPath request.body '$.cpfs') as |cpf|}}
+                                {{#unless @first}},{{/unless}}
+                                {{#if (matches cpf '.*00')}}
+                                    { "cpf": "{{cpf}}", "score": 900, "assessment": "HIGH_RISK", "hasRestrictions": true, "paymentHistory": "POOR_OVERDUE_60_DAYS", "monthlyDebts": 1000.00 }
+                                {{else if (matches cpf '.*01')}}
+                                    { "cpf": "{{cpf}}", "score": 400, "assessment": "MEDIUM_RISK", "hasRestrictions": false, "paymentHistory": "GOOD", "monthlyDebts": 500.00 }
+                                {{else}}
+                                    { "cpf": "{{cpf}}", "score": 900, "assessment": "LOW_RISK", "hasRestrictions": false, "paymentHistory": "EXCELLENT", "monthlyDebts": 0 }
+                                {{/if}}
+                                {{/each}}
+                                  ]
+                                }
+                                """)
+                        .withTransformers("response-template")));
+    }
+
+    // Per-provider copy of the per-CPF stubs for the multi-bureau fan-out, answering after the provider's stub-delay
+    // plus a uniform random share of its stub-jitter, so providers can be given different latency profiles.
+    private void setupBureauProvider(WireMockServer wireMockServer, BureauProvider provider) {
+        String[] segments = provider.path().substring(1).split("/");
+        int cpfSegment = Arrays.asList(segments).indexOf("{cpf}");
+        String cpfTemplate = "{{request.pathSegments.[" + cpfSegment + "]}}";
+
+        wireMockServer.stubFor(WireMock.get(WireMock.urlMatching(provider.path().replace("{cpf}", ".*00")))
+                .atPriority(1)
+                .willReturn(withLatency(bureauScoreResponse(cpfTemplate, 900, "HIGH_RISK", true, "POOR_OVERDUE_60_DAYS", "1000.00"), provider)));
+        wireMockServer.stubFor(WireMock.get(WireMock.urlMatching(provider.path().replace("{cpf}", ".*01")))
+                .atPriority(2)
+                .willReturn(withLatency(bureauScoreResponse(cpfTemplate, 400, "MEDIUM_RISK", false, "GOOD", "500.00"), provider)));
+        wireMockServer.stubFor(WireMock.get(WireMock.urlMatching(provider.path().replace("{cpf}", ".*")))
+                .atPriority(3)
+                .willReturn(withLatency(bureauScoreResponse(cpfTemplate, 900, "LOW_RISK", false, "EXCELLENT", "0"), provider)));
+    }
+
+    private static ResponseDefinitionBuilder bureauScoreResponse(String cpf, int score, String assessment, boolean hasRestrictions,
+                                                                 String paymentHistory, String monthlyDebts) {
+        return WireMock.aResponse()
+                .withStatus(HttpStatus.OK.value()).withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody("""
+                        { "cpf": "%s", "score": %d, "assessment": "%s", "hasRestrictions": %b, "paymentHistory": "%s", "monthlyDebts": %s }
+                        """.formatted(cpf, score, assessment, hasRestrictions, paymentHistory, monthlyDebts))
+                .withTransformers("response-template");
+    }
+
+    private static ResponseDefinitionBuilder withLatency(ResponseDefinitionBuilder response, BureauProvider provider) {
+        long delayMillis = provider.stubDelay().toMillis();
+        long jitterMillis = provider.stubJitter().toMillis();
+        if (jitterMillis > 0) {
+            return response.withUniformRandomDelay((int) delayMillis, (int) (delayMillis + jitterMillis));
+        }
+        return response.withFixedDelay((int) delayMillis);
+    }
+
     private void setupAntiFraudScore(WireMockServer wireMockServer) {
         wireMockServer.stubFor(WireMock.post(WireMock.urlEqualTo("/api/antifraud/check"))
                 .withRequestBody(WireMock.matchingJsonPath("$.cpf", WireMock.matching(".*03$")))
@@ -4,11 +4,14 @@ import bank.pf.entity.AntiFraudScore;
 import bank.pf.entity.BureauScore;
 import bank.pf.entity.CreditAssessmentResult;
 import bank.pf.enums.AssessmentStatus;
+import bank.pf.enums.ReasonParameter;
+import bank.pf.enums.StaleBureauScoreReason;
+import bank.pf.util.TimeOrderedIdGenerator;
 import lombok.Builder;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.Map;
 
 @Builder
 public record CreditAssessmentCompletedEvent(
@@ -18,39 +21,53 @@ public record CreditAssessmentCompletedEvent(
         String cpf,
         String email,
         AssessmentStatus finalAssessmentStatus,
-        String justification,
+        long reasonCodes,
+        Map<ReasonParameter, Integer> reasonParameters,
         Integer creditScoreUsed,
         Integer antiFraudScoreUsed,
         BigDecimal approvedLimit,
-        BigDecimal interestRateApplied
+        BigDecimal interestRateApplied,
+        boolean staleBureauScore,
+        // Set with staleBureauScore: a bureau outage and a score expired moments ago are told apart
+        StaleBureauScoreReason staleBureauScoreReason,
+        boolean antiFraudFallback,
+        String policyVersion
 ) {
 
     public static CreditAssessmentCompletedEvent valueOf(CreditAssessmentResult creditAssessmentResult) {
         return CreditAssessmentCompletedEvent.builder()
-                .eventId(UUID.randomUUID().toString())
+                .eventId(TimeOrderedIdGenerator.nextId())
                 .eventTimestamp(LocalDateTime.now())
                 .applicationId(creditAssessmentResult.getApplicationId())
                 .cpf(creditAssessmentResult.getCpf())
+                .email(creditAssessmentResult.getEmail())
                 .finalAssessmentStatus(creditAssessmentResult.getStatus())
-                .justification(creditAssessmentResult.getJustification())
+                .reasonCodes(creditAssessmentResult.getReasonCodes())
+                .reasonParameters(creditAssessmentResult.getReasonParameters())
                 .approvedLimit(creditAssessmentResult.getRecommendedLimit())
                 .interestRateApplied(creditAssessmentResult.getRecommendedInterestRate())
+                .policyVersion(creditAssessmentResult.getPolicyVersion())
                 .build();
     }
 
     public static CreditAssessmentCompletedEvent valueOf(CreditAssessmentResult result, BureauScore bureauScore, AntiFraudScore antiFraudScore) {
         return CreditAssessmentCompletedEvent.builder()
-                .eventId(java.util.UUID.randomUUID().toString())
+                .eventId(TimeOrderedIdGenerator.nextId())
                 .eventTimestamp(java.time.LocalDateTime.now())
                 .applicationId(result.getApplicationId())
                 .cpf(result.getCpf())
                 .email(result.getEmail())
                 .finalAssessmentStatus(result.getStatus())
-                .justification(result.getJustification())
+                .reasonCodes(result.getReasonCodes())
+                .reasonParameters(result.getReasonParameters())
                 .creditScoreUsed(bureauScore.score())
                 .antiFraudScoreUsed(antiFraudScore.fraudScore())
                 .approvedLimit(result.getRecommendedLimit())
                 .interestRateApplied(result.getRecommendedInterestRate())
+                .staleBureauScore(result.isStaleBureauScore())
+                .staleBureauScoreReason(result.getStaleBureauScoreReason())
+                .antiFraudFallback(result.isAntiFraudFallback())
+                .policyVersion(result.getPolicyVersion())
                 .build();
     }
 }
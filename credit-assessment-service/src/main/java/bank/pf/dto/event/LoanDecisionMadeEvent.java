@@ -0,0 +1,15 @@
+package bank.pf.dto.event;
+
+import bank.pf.enums.LoanDecision;
+
+import java.time.LocalDateTime;
+
+// Subset of the decision engine's event that the customer profile snapshot needs; other fields are ignored.
+public record LoanDecisionMadeEvent(
+        String eventId,
+        LocalDateTime eventTimestamp,
+        String applicationId,
+        String cpf,
+        LoanDecision decision
+) {
+}
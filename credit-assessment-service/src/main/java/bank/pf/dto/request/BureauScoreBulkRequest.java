@@ -0,0 +1,8 @@
+package bank.pf.dto.request;
+
+import java.util.List;
+
+public record BureauScoreBulkRequest(
+        List<String> cpfs
+) {
+}
@@ -0,0 +1,11 @@
+package bank.pf.dto.response;
+
+import bank.pf.entity.BureauScore;
+
+import java.util.List;
+
+// CPFs the bureau has no record of are left out of scores rather than failing the whole request.
+public record BureauScoreBulkResponse(
+        List<BureauScore> scores
+) {
+}
@@ -2,9 +2,19 @@ package bank.pf.entity;
 
 import bank.pf.enums.RecommendationType;
 
+// fallback is never sent by the provider: it marks a score computed locally because the provider did not answer in time.
 public record AntiFraudScore(
         String applicationId,
         Integer fraudScore,
-        RecommendationType recommendation
+        RecommendationType recommendation,
+        boolean fallback
 ) {
+
+    public AntiFraudScore(String applicationId, Integer fraudScore, RecommendationType recommendation) {
+        this(applicationId, fraudScore, recommendation, false);
+    }
+
+    public AntiFraudScore withApplicationId(String applicationId) {
+        return new AntiFraudScore(applicationId, fraudScore, recommendation, fallback);
+    }
 }
@@ -0,0 +1,22 @@
+package bank.pf.entity;
+
+// Value stored in the bureau score cache. A not-found answer is cached as well (score == null, notFound == true),
+// and fetchedAt lets the reader decide between fresh, refresh-ahead and stale-if-error.
+public record CachedBureauScore(
+        BureauScore score,
+        boolean notFound,
+        long fetchedAtEpochMillis
+) {
+
+    public static CachedBureauScore positive(BureauScore score, long fetchedAtEpochMillis) {
+        return new CachedBureauScore(score, false, fetchedAtEpochMillis);
+    }
+
+    public static CachedBureauScore negative(long fetchedAtEpochMillis) {
+        return new CachedBureauScore(null, true, fetchedAtEpochMillis);
+    }
+
+    public long ageMillis(long nowEpochMillis) {
+        return nowEpochMillis - fetchedAtEpochMillis;
+    }
+}
@@ -1,12 +1,17 @@
 package bank.pf.entity;
 
 import bank.pf.enums.AssessmentStatus;
+import bank.pf.enums.ReasonCode;
+import bank.pf.enums.ReasonParameter;
+import bank.pf.enums.StaleBureauScoreReason;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
 
 @Data
 @Builder
@@ -18,8 +23,30 @@ public class CreditAssessmentResult {
     private String cpf;
     private String email;
     private AssessmentStatus status;
-    private String justification;
+    // Bitset of ReasonCode masks; the map only holds the parameters of the codes that have one
+    private long reasonCodes;
+    private Map<ReasonParameter, Integer> reasonParameters;
     private int finalScore;
     private BigDecimal recommendedLimit;
     private BigDecimal recommendedInterestRate;
+    private boolean staleBureauScore;
+    private StaleBureauScoreReason staleBureauScoreReason;
+    private boolean antiFraudFallback;
+    private String policyVersion;
+
+    public void addReason(ReasonCode reasonCode) {
+        reasonCodes |= reasonCode.mask();
+    }
+
+    public void addReason(ReasonCode reasonCode, int parameterValue) {
+        addReason(reasonCode);
+        if (reasonParameters == null) {
+            reasonParameters = new EnumMap<>(ReasonParameter.class);
+        }
+        reasonParameters.put(reasonCode.parameter(), parameterValue);
+    }
+
+    public boolean hasReason(ReasonCode reasonCode) {
+        return reasonCode.isSetIn(reasonCodes);
+    }
 }
@@ -0,0 +1,8 @@
+package bank.pf.enums;
+
+public enum LoanDecision {
+
+    APPROVED,
+    REJECTED,
+    PENDING_MANUAL_REVIEW
+}
@@ -0,0 +1,56 @@
+package bank.pf.enums;
+
+import java.util.EnumSet;
+
+// Why an assessment ended as it did, as bits of a long instead of free text. The bit positions are part of the
+// event contract shared with the consumers: never renumber or reuse one, only append. Text is rendered by the
+// consumers that talk to customers (contract-notification-service).
+public enum ReasonCode {
+
+    BUREAU_SCORE_BELOW_MINIMUM(0, ReasonParameter.BUREAU_SCORE),
+    PAYMENT_HISTORY_DELINQUENT(1, null),
+    DEBT_TO_INCOME_ABOVE_LIMIT(2, ReasonParameter.DEBT_TO_INCOME_BASIS_POINTS),
+    DEBT_TO_INCOME_REQUIRES_ATTENTION(3, ReasonParameter.DEBT_TO_INCOME_BASIS_POINTS),
+    FRAUD_SCORE_HIGH(4, ReasonParameter.FRAUD_SCORE),
+    FRAUD_RECOMMENDATION_REJECT(5, ReasonParameter.FRAUD_SCORE),
+    LOW_RISK_PROFILE(6, null),
+    STANDARD_RISK_PROFILE(7, null),
+    HIGH_RISK_PROFILE(8, null),
+    VERY_HIGH_RISK_PROFILE(9, ReasonParameter.BUREAU_SCORE),
+    LIMIT_ADJUSTED(10, null),
+    LIMIT_TOO_LOW_FOR_RISK(11, null),
+    BUREAU_UNAVAILABLE(12, null),
+    ANTI_FRAUD_UNAVAILABLE(13, null),
+    VELOCITY_LIMIT_EXCEEDED(14, ReasonParameter.APPLICATIONS_IN_WINDOW);
+
+    private final int bit;
+    private final ReasonParameter parameter;
+
+    ReasonCode(int bit, ReasonParameter parameter) {
+        this.bit = bit;
+        this.parameter = parameter;
+    }
+
+    public long mask() {
+        return 1L << bit;
+    }
+
+    public ReasonParameter parameter() {
+        return parameter;
+    }
+
+    public boolean isSetIn(long reasonCodes) {
+        return (reasonCodes & mask()) != 0;
+    }
+
+    // For logs and tests; the hot path only ORs masks together.
+    public static EnumSet<ReasonCode> decode(long reasonCodes) {
+        EnumSet<ReasonCode> codes = EnumSet.noneOf(ReasonCode.class);
+        for (ReasonCode code : values()) {
+            if (code.isSetIn(reasonCodes)) {
+                codes.add(code);
+            }
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,10 @@
+package bank.pf.enums;
+
+// Numeric values a reason code can refer to. Ratios are sent as integers in basis points (45.12% -> 4512).
+public enum ReasonParameter {
+
+    BUREAU_SCORE,
+    FRAUD_SCORE,
+    DEBT_TO_INCOME_BASIS_POINTS,
+    APPLICATIONS_IN_WINDOW
+}
@@ -0,0 +1,12 @@
+package bank.pf.enums;
+
+// Why an assessment used a bureau score older than the bureau cache TTL
+public enum StaleBureauScoreReason {
+
+    // The bureau call failed and the cached score was served within the stale-if-error window
+    BUREAU_UNAVAILABLE,
+    // Another caller held the fetch lease, so the expired cached score was served instead of waiting for it
+    FETCH_IN_PROGRESS,
+    // Reused from the customer profile of an earlier application (up to customer-profile.reuse.bureau-max-age old)
+    PROFILE_REUSE;
+}
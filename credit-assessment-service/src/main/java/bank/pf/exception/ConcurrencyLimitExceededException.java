@@ -0,0 +1,8 @@
+package bank.pf.exception;
+
+public class ConcurrencyLimitExceededException extends ServiceException {
+
+    public ConcurrencyLimitExceededException(String dependency, int limit) {
+        super("Concurrency limit of " + limit + " in-flight calls to " + dependency + " reached");
+    }
+}
@@ -0,0 +1,18 @@
+package bank.pf.exception;
+
+import java.util.List;
+
+public class InvalidCreditPolicyException extends ServiceException {
+
+    public InvalidCreditPolicyException(String version, List<String> errors) {
+        super("Invalid credit policy " + version + ": " + String.join("; ", errors));
+    }
+
+    public InvalidCreditPolicyException(String message) {
+        super(message);
+    }
+
+    public InvalidCreditPolicyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,32 @@
+package bank.pf.messaging.consumer;
+
+import bank.pf.dto.event.LoanApplicationReceivedEvent;
+import bank.pf.service.CreditAssessmentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.kafka.consumer.mode", havingValue = "batch")
+public class LoanApplicationBatchEventConsumer {
+
+    private final CreditAssessmentService creditAssessmentService;
+
+    // Exceptions are not swallowed here: if publishing the batch fails, the offsets stay uncommitted and the
+    // records are redelivered (at-least-once, same as record mode with a failed send).
+    @KafkaListener(topics = "${app.kafka.topic.loan-application-received:LoanApplicationReceivedEventTopic}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "batchKafkaListenerContainerFactory")
+    public void handleLoanApplicationReceivedEvents(List<LoanApplicationReceivedEvent> loanApplicationReceivedEvents) {
+        log.info("Received batch of {} LoanApplicationReceivedEvents", loanApplicationReceivedEvents.size());
+        creditAssessmentService.assessCredits(loanApplicationReceivedEvents);
+        log.info("Successfully processed batch of {} applications", loanApplicationReceivedEvents.size());
+    }
+
+}
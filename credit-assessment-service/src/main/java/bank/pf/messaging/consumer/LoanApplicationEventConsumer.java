@@ -4,12 +4,14 @@ import bank.pf.dto.event.LoanApplicationReceivedEvent;
 import bank.pf.service.CreditAssessmentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.kafka.consumer.mode", havingValue = "record", matchIfMissing = true)
 public class LoanApplicationEventConsumer {
 
     private final CreditAssessmentService creditAssessmentService;
@@ -0,0 +1,107 @@
+package bank.pf.messaging.consumer;
+
+import bank.pf.dto.event.LoanApplicationReceivedEvent;
+import bank.pf.service.CreditAssessmentService;
+import bank.pf.util.KeyOrderedExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Semaphore;
+
+// Parallel mode: the poll loop only dispatches. Each record is assessed on a virtual thread, serialized per record
+// key (the application ID), so one partition can have many bureau calls in flight. Records are acknowledged as they
+// complete, in any order; the container (async acks) commits an offset only once every earlier one is acknowledged.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.kafka.consumer.mode", havingValue = "parallel")
+public class LoanApplicationParallelEventConsumer {
+
+    private final CreditAssessmentService creditAssessmentService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.kafka.consumer.parallel.max-in-flight:256}")
+    private int maxInFlight;
+
+    private final KeyOrderedExecutor keyOrderedExecutor = new KeyOrderedExecutor();
+    private final Map<TopicPartition, NavigableSet<Long>> pendingOffsets = new ConcurrentHashMap<>();
+
+    private Semaphore inFlightLimit;
+    private Counter outOfOrderCompletionsCounter;
+
+    @PostConstruct
+    private void init() {
+        inFlightLimit = new Semaphore(maxInFlight);
+        outOfOrderCompletionsCounter = Counter.builder("credit.assessment.consumer.out-of-order.completions")
+                .description("Records that finished while an earlier offset of the same partition was still in flight")
+                .register(meterRegistry);
+        Gauge.builder("credit.assessment.consumer.in-flight", this, consumer -> consumer.maxInFlight - consumer.inFlightLimit.availablePermits())
+                .description("Records dispatched and not yet acknowledged")
+                .register(meterRegistry);
+        Gauge.builder("credit.assessment.consumer.active-keys", keyOrderedExecutor, KeyOrderedExecutor::activeKeys)
+                .description("Application IDs with an assessment in progress")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        keyOrderedExecutor.close();
+    }
+
+    @KafkaListener(topics = "${app.kafka.topic.loan-application-received:LoanApplicationReceivedEventTopic}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "parallelKafkaListenerContainerFactory")
+    public void handleLoanApplicationReceivedEvent(ConsumerRecord<String, LoanApplicationReceivedEvent> record,
+                                                   Acknowledgment acknowledgment) throws InterruptedException {
+        // Blocks the poll loop when max-in-flight records are pending: backpressure instead of unbounded buffering
+        inFlightLimit.acquire();
+        var topicPartition = new TopicPartition(record.topic(), record.partition());
+        pendingOffsets.computeIfAbsent(topicPartition, tp -> new ConcurrentSkipListSet<>()).add(record.offset());
+
+        String key = record.key() != null ? record.key() : record.value().applicationId();
+        keyOrderedExecutor.submit(key, () -> assess(record.value()))
+                .whenComplete((result, failure) -> complete(topicPartition, record.offset(), acknowledgment));
+    }
+
+    private void assess(LoanApplicationReceivedEvent loanApplicationReceivedEvent) {
+        try {
+            log.info("Received LoanApplicationReceivedEvent on topic {}", loanApplicationReceivedEvent);
+            creditAssessmentService.assessCredit(loanApplicationReceivedEvent);
+            log.info("Successfully processed application ID: {}", loanApplicationReceivedEvent.applicationId());
+        } catch (Exception e) {
+            log.error("Error processing LoanApplicationReceivedEvent for application ID: {}. Message: {}", loanApplicationReceivedEvent.applicationId(), e.getMessage());
+        }
+    }
+
+    private void complete(TopicPartition topicPartition, long offset, Acknowledgment acknowledgment) {
+        NavigableSet<Long> pending = pendingOffsets.get(topicPartition);
+        if (pending != null) {
+            Long lowestPending = pending.ceiling(Long.MIN_VALUE);
+            if (lowestPending != null && lowestPending < offset) {
+                outOfOrderCompletionsCounter.increment();
+            }
+            pending.remove(offset);
+        }
+        try {
+            acknowledgment.acknowledge();
+        } finally {
+            inFlightLimit.release();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package bank.pf.messaging.consumer;
+
+import bank.pf.dto.event.LoanDecisionMadeEvent;
+import bank.pf.service.profile.CustomerProfileStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.customer-profile.enabled", havingValue = "true", matchIfMissing = true)
+public class LoanDecisionProfileConsumer {
+
+    private final CustomerProfileStore customerProfileStore;
+
+    @KafkaListener(topics = "${app.kafka.topics.loan-decision-made:LoanDecisionMadeEventTopic}",
+            groupId = "${app.customer-profile.consumer-group-id:credit-assessment-profile-group}",
+            containerFactory = "loanDecisionKafkaListenerContainerFactory")
+    public void handleLoanDecisionMadeEvent(LoanDecisionMadeEvent loanDecisionMadeEvent) {
+        log.info("Recording decision {} for application {} in customer profile", loanDecisionMadeEvent.decision(), loanDecisionMadeEvent.applicationId());
+        customerProfileStore.recordDecision(loanDecisionMadeEvent);
+    }
+
+}
@@ -8,7 +8,9 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 @Slf4j
 @Component
@@ -37,4 +39,27 @@ public class CreditAssessmentEventProducer {
             log.error("Exception occurred while sending CreditAssessmentCompletedEvent for applicationId {}: {}", event.applicationId(), e.getMessage(), e);
         }
     }
+
+    // Used by the batch listener: every event is handed to the producer before a single flush, and the call only
+    // returns once all sends are acknowledged. A failure is rethrown so the container does not commit the batch
+    // offsets and the records are redelivered.
+    public void sendCreditAssessmentCompletedEvents(List<CreditAssessmentCompletedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        log.info("Sending {} CreditAssessmentCompletedEvents to topic: {}", events.size(), topicName);
+        CompletableFuture<?>[] futures = events.stream()
+                .map(event -> kafkaTemplate.send(topicName, event.applicationId(), event))
+                .toArray(CompletableFuture[]::new);
+        kafkaTemplate.flush();
+        try {
+            CompletableFuture.allOf(futures).get();
+            log.info("Successfully sent {} CreditAssessmentCompletedEvents", events.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending " + events.size() + " CreditAssessmentCompletedEvents", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to send CreditAssessmentCompletedEvents: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
 }
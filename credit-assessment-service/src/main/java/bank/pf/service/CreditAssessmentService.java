@@ -4,19 +4,44 @@ import bank.pf.dto.event.CreditAssessmentCompletedEvent;
 import bank.pf.dto.event.LoanApplicationReceivedEvent;
 import bank.pf.entity.AntiFraudScore;
 import bank.pf.entity.BureauScore;
+import bank.pf.entity.CachedBureauScore;
 import bank.pf.entity.CreditAssessmentResult;
 import bank.pf.enums.AssessmentStatus;
+import bank.pf.enums.ReasonCode;
 import bank.pf.exception.*;
 import bank.pf.messaging.producer.CreditAssessmentEventProducer;
 import bank.pf.service.chain.AssessmentRuleExecutor;
 import bank.pf.service.external.AntiFraudService;
+import bank.pf.service.external.BureauScoreLookup;
 import bank.pf.service.external.BureauService;
-import bank.pf.service.strategy.CreditRiskStrategy;
+import bank.pf.service.policy.CompiledCreditPolicy;
+import bank.pf.service.policy.CreditPolicyHolder;
+import bank.pf.service.profile.CustomerProfileSnapshot;
+import bank.pf.service.profile.CustomerProfileStore;
+import bank.pf.service.shadow.ShadowPolicyEvaluator;
+import bank.pf.service.velocity.VelocityCheck;
+import bank.pf.service.velocity.VelocityPreScreen;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
 
 @Slf4j
 @Component
@@ -26,93 +51,255 @@ public class CreditAssessmentService {
     private final BureauService bureauService;
     private final AntiFraudService antiFraudService;
     private final AssessmentRuleExecutor assessmentRuleExecutor;
-    private final List<CreditRiskStrategy> riskStrategies;
+    private final CreditPolicyHolder creditPolicyHolder;
+    private final CustomerProfileStore customerProfileStore;
+    private final ShadowPolicyEvaluator shadowPolicyEvaluator;
+    private final VelocityPreScreen velocityPreScreen;
     private final CreditAssessmentEventProducer creditAssessmentEventProducer;
+    private final MeterRegistry meterRegistry;
 
+    private final ExecutorService virtualThreadExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
-    public void assessCredit(LoanApplicationReceivedEvent loanApplicationReceivedEvent) {
-        log.info("Starting credit assessment for application ID: {}", loanApplicationReceivedEvent.applicationId());
-        var bureauScore = handleBureauScore(loanApplicationReceivedEvent);
-        if (bureauScore == null) return;
+    private Timer bureauPhaseTimer;
+    private Timer antiFraudPhaseTimer;
+    private Timer externalScoresPhaseTimer;
+    private Timer rulesPhaseTimer;
+    private Timer strategyPhaseTimer;
+    private Counter cancelledCallsCounter;
 
-        var antiFraudScore = handleAntiFraudScore(loanApplicationReceivedEvent);
-        if (antiFraudScore == null) return;
+    @Value("${app.credit-assessment.batch.max-concurrency:64}")
+    private int batchMaxConcurrency;
 
-        var creditAssessmentResult = buildCreditAssessmentResult(loanApplicationReceivedEvent, bureauScore);
+    private Semaphore batchConcurrencyLimit;
 
-        assessmentRuleExecutor.buildRuleChain();
-        assessmentRuleExecutor.executeChain(loanApplicationReceivedEvent, bureauScore, antiFraudScore, creditAssessmentResult);
-        handleRiskStrategies(loanApplicationReceivedEvent, creditAssessmentResult, bureauScore);
+    @PostConstruct
+    private void init() {
+        batchConcurrencyLimit = new Semaphore(batchMaxConcurrency);
+        bureauPhaseTimer = phaseTimer("bureau");
+        antiFraudPhaseTimer = phaseTimer("antifraud");
+        externalScoresPhaseTimer = phaseTimer("external-scores");
+        rulesPhaseTimer = phaseTimer("rules");
+        strategyPhaseTimer = phaseTimer("strategy");
+        cancelledCallsCounter = Counter.builder("credit.assessment.external.cancelled")
+                .description("External score calls cancelled because the sibling call failed")
+                .register(meterRegistry);
+    }
 
-        log.info("Final credit assessment for application {}: Status - {}, Justification - {}",
-                loanApplicationReceivedEvent.applicationId(), creditAssessmentResult.getStatus(), creditAssessmentResult.getJustification());
+    @PreDestroy
+    public void shutdown() {
+        virtualThreadExecutor.shutdownNow();
+    }
 
-        CreditAssessmentCompletedEvent completedEvent = CreditAssessmentCompletedEvent.valueOf(creditAssessmentResult, bureauScore, antiFraudScore);
-        creditAssessmentEventProducer.sendCreditAssessmentCompletedEvent(completedEvent);
+    public void assessCredit(LoanApplicationReceivedEvent loanApplicationReceivedEvent) {
+        var profile = customerProfileStore.find(loanApplicationReceivedEvent.cpf());
+        creditAssessmentEventProducer.sendCreditAssessmentCompletedEvent(assess(loanApplicationReceivedEvent, bureauService::getScore, profile));
     }
 
-    private BureauScore handleBureauScore(LoanApplicationReceivedEvent loanApplicationReceivedEvent) {
+    // Batch mode: the customer profiles and the bureau cache for the whole poll are each read in one round trip, the records are assessed
+    // concurrently (bounded by max-concurrency) and all completed events are published together.
+    public void assessCredits(List<LoanApplicationReceivedEvent> loanApplicationReceivedEvents) {
+        List<String> cpfs = loanApplicationReceivedEvents.stream().map(LoanApplicationReceivedEvent::cpf).toList();
+        Map<String, CustomerProfileSnapshot> profiles = customerProfileStore.findAll(cpfs);
+        Map<String, CachedBureauScore> cachedScores = bureauService.readCache(cpfs);
+        Function<String, BureauScoreLookup> bureauLookup = cpf -> bureauService.getScore(cpf, cachedScores.get(cpf));
+
+        List<Future<CreditAssessmentCompletedEvent>> assessments = loanApplicationReceivedEvents.stream()
+                .map(event -> virtualThreadExecutor.submit(() -> assessWithPermit(event, bureauLookup, profiles.get(event.cpf()))))
+                .toList();
+
+        List<CreditAssessmentCompletedEvent> completedEvents = new ArrayList<>(assessments.size());
+        for (int i = 0; i < assessments.size(); i++) {
+            try {
+                completedEvents.add(assessments.get(i).get());
+            } catch (ExecutionException e) {
+                log.error("Error processing LoanApplicationReceivedEvent for application ID: {}. Message: {}",
+                        loanApplicationReceivedEvents.get(i).applicationId(), e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                assessments.forEach(assessment -> assessment.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while assessing a batch of " + assessments.size() + " applications", e);
+            }
+        }
+        creditAssessmentEventProducer.sendCreditAssessmentCompletedEvents(completedEvents);
+    }
+
+    private CreditAssessmentCompletedEvent assessWithPermit(LoanApplicationReceivedEvent loanApplicationReceivedEvent,
+                                                            Function<String, BureauScoreLookup> bureauLookup,
+                                                            CustomerProfileSnapshot profile) throws InterruptedException {
+        batchConcurrencyLimit.acquire();
         try {
-            BureauScore bureauScore = bureauService.getScore(loanApplicationReceivedEvent.cpf());
-            log.info("Bureau score for application {}: {}", loanApplicationReceivedEvent.applicationId(), bureauScore);
-            return bureauScore;
-        } catch (BureauNullResponseException | BureauNotFoundException | BureauApiException e) {
-            log.warn("Could not retrieve bureau score for CPF: {}. Assessment cannot proceed. Reason: {}",
-                    loanApplicationReceivedEvent.cpf(), e.getMessage());
-            CreditAssessmentResult failedResult = CreditAssessmentResult.builder()
-                    .applicationId(loanApplicationReceivedEvent.applicationId())
-                    .cpf(loanApplicationReceivedEvent.cpf())
-                    .status(AssessmentStatus.FAILED)
-                    .justification("Failed to retrieve bureau score: " + e.getMessage())
-                    .build();
-            var failedEvent = CreditAssessmentCompletedEvent.valueOf(failedResult);
-            creditAssessmentEventProducer.sendCreditAssessmentCompletedEvent(failedEvent);
-            log.warn("Credit assessment for application {} rejected due to bureau score failure.", loanApplicationReceivedEvent.applicationId());
-            return null;
+            return assess(loanApplicationReceivedEvent, bureauLookup, profile);
+        } finally {
+            batchConcurrencyLimit.release();
+        }
+    }
+
+    private CreditAssessmentCompletedEvent assess(LoanApplicationReceivedEvent loanApplicationReceivedEvent,
+                                                  Function<String, BureauScoreLookup> bureauLookup,
+                                                  CustomerProfileSnapshot profile) {
+        log.info("Starting credit assessment for application ID: {}", loanApplicationReceivedEvent.applicationId());
+        // One policy snapshot per assessment, so a reload never mixes thresholds of two versions in one decision
+        var policy = creditPolicyHolder.current();
+        // Screened before the bureau and anti-fraud calls, so an application over the velocity limit costs neither
+        var velocityCheck = velocityPreScreen.check(loanApplicationReceivedEvent);
+        if (velocityCheck.rejected()) {
+            return buildVelocityRejectedEvent(loanApplicationReceivedEvent, velocityCheck, policy);
+        }
+        var externalScores = externalScoresPhaseTimer.record(() -> fetchExternalScores(loanApplicationReceivedEvent, bureauLookup, profile, policy));
+        if (externalScores.failedEvent() != null) {
+            return externalScores.failedEvent();
         }
+
+        var bureauScore = externalScores.bureauScoreLookup().score();
+        var antiFraudScore = externalScores.antiFraudScore();
+        var creditAssessmentResult = CreditDecision.initialResult(loanApplicationReceivedEvent, bureauScore, policy);
+        if (externalScores.bureauScoreLookup().stale()) {
+            var staleReason = externalScores.bureauScoreLookup().staleReason();
+            switch (staleReason) {
+                case BUREAU_UNAVAILABLE -> log.warn("Assessing application {} with a stale bureau score: bureau is unavailable.",
+                        loanApplicationReceivedEvent.applicationId());
+                case FETCH_IN_PROGRESS -> log.info("Assessing application {} with a just-expired bureau score: another caller is fetching it.",
+                        loanApplicationReceivedEvent.applicationId());
+                case PROFILE_REUSE -> log.info("Assessing application {} with the bureau score of an earlier application of the same CPF.",
+                        loanApplicationReceivedEvent.applicationId());
+            }
+            creditAssessmentResult.setStaleBureauScore(true);
+            creditAssessmentResult.setStaleBureauScoreReason(staleReason);
+        }
+        if (antiFraudScore.fallback()) {
+            log.warn("Assessing application {} with a local fallback anti-fraud score: provider did not answer in time.", loanApplicationReceivedEvent.applicationId());
+            creditAssessmentResult.setAntiFraudFallback(true);
+        }
+        if (velocityCheck.exceeded()) {
+            creditAssessmentResult.addReason(ReasonCode.VELOCITY_LIMIT_EXCEEDED, velocityCheck.applicationsInWindow());
+        }
+
+        rulesPhaseTimer.record(() -> assessmentRuleExecutor.executeChain(loanApplicationReceivedEvent, bureauScore, antiFraudScore, creditAssessmentResult, policy));
+        strategyPhaseTimer.record(() -> CreditDecision.applyRiskStrategy(loanApplicationReceivedEvent, creditAssessmentResult, bureauScore, policy));
+
+        log.info("Final credit assessment for application {}: Status - {}, Reasons - {}",
+                loanApplicationReceivedEvent.applicationId(), creditAssessmentResult.getStatus(), ReasonCode.decode(creditAssessmentResult.getReasonCodes()));
+
+        shadowPolicyEvaluator.submit(loanApplicationReceivedEvent, bureauScore, antiFraudScore, creditAssessmentResult);
+        customerProfileStore.recordAssessment(loanApplicationReceivedEvent,
+                externalScores.bureauFromProfile() || creditAssessmentResult.isStaleBureauScore() ? null : bureauScore,
+                externalScores.antiFraudFromProfile() || antiFraudScore.fallback() ? null : antiFraudScore,
+                creditAssessmentResult.getStatus());
+
+        return CreditAssessmentCompletedEvent.valueOf(creditAssessmentResult, bureauScore, antiFraudScore);
     }
 
-    private AntiFraudScore handleAntiFraudScore(LoanApplicationReceivedEvent loanApplicationReceivedEvent) {
+    // Bureau and anti-fraud are independent, so both calls run on their own virtual threads and the phase costs
+    // max(bureau, anti-fraud) instead of the sum. The first failure cancels the sibling call and produces the same
+    // FAILED event the sequential flow used to publish.
+    // Scores the customer profile snapshot still holds within the freshness policy are reused instead of fetched.
+    private ExternalScores fetchExternalScores(LoanApplicationReceivedEvent loanApplicationReceivedEvent,
+                                               Function<String, BureauScoreLookup> bureauLookup,
+                                               CustomerProfileSnapshot profile,
+                                               CompiledCreditPolicy policy) {
+        BureauScore profileBureauScore = customerProfileStore.reusableBureauScore(profile);
+        AntiFraudScore profileAntiFraudScore = customerProfileStore.reusableAntiFraudScore(profile, loanApplicationReceivedEvent);
+        Callable<Object> bureauCall = profileBureauScore != null
+                ? () -> BureauScoreLookup.reusedFromProfile(profileBureauScore)
+                : () -> bureauPhaseTimer.recordCallable(() -> bureauLookup.apply(loanApplicationReceivedEvent.cpf()));
+        Callable<Object> antiFraudCall = profileAntiFraudScore != null
+                ? () -> profileAntiFraudScore
+                : () -> antiFraudPhaseTimer.recordCallable(() -> antiFraudService.checkFraud(loanApplicationReceivedEvent));
+
+        var completionService = new ExecutorCompletionService<Object>(virtualThreadExecutor);
+        Future<Object> bureauFuture = completionService.submit(bureauCall);
+        Future<Object> antiFraudFuture = completionService.submit(antiFraudCall);
+
         try {
-            AntiFraudScore antiFraudScore = antiFraudService.checkFraud(loanApplicationReceivedEvent);
+            for (int completed = 0; completed < 2; completed++) {
+                Future<Object> done = completionService.take();
+                try {
+                    done.get();
+                } catch (ExecutionException e) {
+                    cancelIfRunning(done == bureauFuture ? antiFraudFuture : bureauFuture);
+                    return ExternalScores.failed(handleExternalScoreFailure(loanApplicationReceivedEvent, e.getCause(), policy));
+                }
+            }
+            var bureauScoreLookup = (BureauScoreLookup) bureauFuture.resultNow();
+            var antiFraudScore = (AntiFraudScore) antiFraudFuture.resultNow();
+            log.info("Bureau score for application {}: {}", loanApplicationReceivedEvent.applicationId(), bureauScoreLookup.score());
             log.info("Anti-fraud score for application {}: {}", loanApplicationReceivedEvent.applicationId(), antiFraudScore);
-            return antiFraudScore;
-        } catch (AntiFraudNullResponseException | AntiFraudApiException e) {
+            return new ExternalScores(bureauScoreLookup, antiFraudScore, profileBureauScore != null, profileAntiFraudScore != null, null);
+        } catch (InterruptedException e) {
+            cancelIfRunning(bureauFuture);
+            cancelIfRunning(antiFraudFuture);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching external scores for application " + loanApplicationReceivedEvent.applicationId(), e);
+        }
+    }
+
+    private void cancelIfRunning(Future<?> future) {
+        if (future.cancel(true)) {
+            cancelledCallsCounter.increment();
+        }
+    }
+
+    private CreditAssessmentCompletedEvent handleExternalScoreFailure(LoanApplicationReceivedEvent loanApplicationReceivedEvent, Throwable failure,
+                                                                      CompiledCreditPolicy policy) {
+        if (failure instanceof BureauNullResponseException || failure instanceof BureauNotFoundException || failure instanceof BureauApiException) {
+            log.warn("Could not retrieve bureau score for CPF: {}. Assessment cannot proceed. Reason: {}",
+                    loanApplicationReceivedEvent.cpf(), failure.getMessage());
+            log.warn("Credit assessment for application {} rejected due to bureau score failure.", loanApplicationReceivedEvent.applicationId());
+            return buildFailedEvent(loanApplicationReceivedEvent, ReasonCode.BUREAU_UNAVAILABLE, policy);
+        } else if (failure instanceof AntiFraudNullResponseException || failure instanceof AntiFraudApiException) {
             log.warn("Could not retrieve anti-fraud score for application ID: {}. Assessment cannot proceed. Reason: {}",
-                    loanApplicationReceivedEvent.applicationId(), e.getMessage());
-            CreditAssessmentResult failedResult = CreditAssessmentResult.builder()
-                    .applicationId(loanApplicationReceivedEvent.applicationId())
-                    .cpf(loanApplicationReceivedEvent.cpf())
-                    .status(AssessmentStatus.FAILED)
-                    .justification("Failed to retrieve anti-fraud score: " + e.getMessage())
-                    .build();
-            var failedEvent = CreditAssessmentCompletedEvent.valueOf(failedResult);
-            creditAssessmentEventProducer.sendCreditAssessmentCompletedEvent(failedEvent);
+                    loanApplicationReceivedEvent.applicationId(), failure.getMessage());
             log.warn("Credit assessment for application {} rejected due to anti-fraud score failure.", loanApplicationReceivedEvent.applicationId());
-            return null;
+            return buildFailedEvent(loanApplicationReceivedEvent, ReasonCode.ANTI_FRAUD_UNAVAILABLE, policy);
+        } else if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        } else {
+            throw new IllegalStateException(failure);
         }
     }
 
-    private static CreditAssessmentResult buildCreditAssessmentResult(LoanApplicationReceivedEvent loanApplicationReceivedEvent, BureauScore bureauScore) {
-        return CreditAssessmentResult.builder()
+    private static CreditAssessmentCompletedEvent buildFailedEvent(LoanApplicationReceivedEvent loanApplicationReceivedEvent, ReasonCode reasonCode,
+                                                                   CompiledCreditPolicy policy) {
+        CreditAssessmentResult failedResult = CreditAssessmentResult.builder()
                 .applicationId(loanApplicationReceivedEvent.applicationId())
                 .cpf(loanApplicationReceivedEvent.cpf())
-                .email(loanApplicationReceivedEvent.email())
-                .status(AssessmentStatus.APPROVED)
-                .finalScore(bureauScore.score())
+                .status(AssessmentStatus.FAILED)
+                .reasonCodes(reasonCode.mask())
+                .policyVersion(policy.version())
                 .build();
+        return CreditAssessmentCompletedEvent.valueOf(failedResult);
     }
 
-    private void handleRiskStrategies(LoanApplicationReceivedEvent loanApplicationReceivedEvent, CreditAssessmentResult creditAssessmentResult, BureauScore bureauScore) {
-        if (creditAssessmentResult.getStatus() != AssessmentStatus.REJECTED) {
-            CreditRiskStrategy selectedStrategy = riskStrategies.stream()
-                    .filter(strategy -> strategy.appliesTo(bureauScore.score()))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalStateException("No risk strategy found for score: " + bureauScore.score()));
+    private static CreditAssessmentCompletedEvent buildVelocityRejectedEvent(LoanApplicationReceivedEvent loanApplicationReceivedEvent,
+                                                                             VelocityCheck velocityCheck, CompiledCreditPolicy policy) {
+        CreditAssessmentResult rejectedResult = CreditAssessmentResult.builder()
+                .applicationId(loanApplicationReceivedEvent.applicationId())
+                .cpf(loanApplicationReceivedEvent.cpf())
+                .email(loanApplicationReceivedEvent.email())
+                .status(AssessmentStatus.REJECTED)
+                .policyVersion(policy.version())
+                .build();
+        rejectedResult.addReason(ReasonCode.VELOCITY_LIMIT_EXCEEDED, velocityCheck.applicationsInWindow());
+        log.info("Final credit assessment for application {}: Status - {}, Reasons - {} ({} applications per {} in the window)",
+                loanApplicationReceivedEvent.applicationId(), rejectedResult.getStatus(), ReasonCode.decode(rejectedResult.getReasonCodes()),
+                velocityCheck.applicationsInWindow(), velocityCheck.dimension());
+        return CreditAssessmentCompletedEvent.valueOf(rejectedResult);
+    }
 
-            selectedStrategy.assessRisk(loanApplicationReceivedEvent, bureauScore, creditAssessmentResult);
-        }
+    private Timer phaseTimer(String phase) {
+        return Timer.builder("credit.assessment.phase.duration")
+                .description("Latency of each credit assessment phase")
+                .tag("phase", phase)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
     }
 
+    private record ExternalScores(BureauScoreLookup bureauScoreLookup, AntiFraudScore antiFraudScore,
+                                  boolean bureauFromProfile, boolean antiFraudFromProfile,
+                                  CreditAssessmentCompletedEvent failedEvent) {
 
+        static ExternalScores failed(CreditAssessmentCompletedEvent failedEvent) {
+            return new ExternalScores(null, null, false, false, failedEvent);
+        }
+    }
 }
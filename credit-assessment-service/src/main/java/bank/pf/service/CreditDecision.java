@@ -0,0 +1,34 @@
+package bank.pf.service;
+
+import bank.pf.dto.event.LoanApplicationReceivedEvent;
+import bank.pf.entity.BureauScore;
+import bank.pf.entity.CreditAssessmentResult;
+import bank.pf.enums.AssessmentStatus;
+import bank.pf.service.policy.CompiledCreditPolicy;
+
+// The pure steps of a credit decision around the rule chain, shared by live assessments and offline backtests.
+public final class CreditDecision {
+
+    private CreditDecision() {
+    }
+
+    public static CreditAssessmentResult initialResult(LoanApplicationReceivedEvent loanApplicationReceivedEvent, BureauScore bureauScore,
+                                                       CompiledCreditPolicy policy) {
+        return CreditAssessmentResult.builder()
+                .applicationId(loanApplicationReceivedEvent.applicationId())
+                .cpf(loanApplicationReceivedEvent.cpf())
+                .email(loanApplicationReceivedEvent.email())
+                .status(AssessmentStatus.APPROVED)
+                .finalScore(bureauScore.score())
+                .policyVersion(policy.version())
+                .build();
+    }
+
+    public static void applyRiskStrategy(LoanApplicationReceivedEvent loanApplicationReceivedEvent, CreditAssessmentResult creditAssessmentResult,
+                                         BureauScore bureauScore, CompiledCreditPolicy policy) {
+        if (creditAssessmentResult.getStatus() != AssessmentStatus.REJECTED) {
+            var riskBand = policy.riskBandFor(bureauScore.score());
+            riskBand.strategy().assessRisk(loanApplicationReceivedEvent, bureauScore, creditAssessmentResult, riskBand.band());
+        }
+    }
+}
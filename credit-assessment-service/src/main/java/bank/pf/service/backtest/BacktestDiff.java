@@ -0,0 +1,10 @@
+package bank.pf.service.backtest;
+
+// One line of diff.ndjson: an application whose outcome differs between the baseline and the candidate policy.
+public record BacktestDiff(
+        String applicationId,
+        String cpf,
+        BacktestOutcome baseline,
+        BacktestOutcome candidate
+) {
+}
@@ -0,0 +1,9 @@
+package bank.pf.service.backtest;
+
+public enum BacktestInputFormat {
+
+    // One BacktestRecord as plain JSON per line
+    NDJSON,
+    // mongoexport output (one document per line, relaxed or canonical Extended JSON) of BacktestRecord-shaped documents
+    MONGO_EXPORT
+}
@@ -0,0 +1,46 @@
+package bank.pf.service.backtest;
+
+import bank.pf.entity.CreditAssessmentResult;
+import bank.pf.enums.AssessmentStatus;
+
+import java.math.BigDecimal;
+
+// The parts of an assessment a policy change can move. Amounts are compared by value, so 1000.0 and 1000.00 match.
+public record BacktestOutcome(
+        AssessmentStatus status,
+        BigDecimal recommendedLimit,
+        BigDecimal recommendedInterestRate,
+        long reasonCodes
+) {
+
+    public static BacktestOutcome of(CreditAssessmentResult result) {
+        return new BacktestOutcome(result.getStatus(), result.getRecommendedLimit(), result.getRecommendedInterestRate(),
+                result.getReasonCodes());
+    }
+
+    boolean isApproval() {
+        return status == AssessmentStatus.APPROVED || status == AssessmentStatus.ADJUSTED_CONDITIONS;
+    }
+
+    BigDecimal limitOrZero() {
+        return recommendedLimit == null ? BigDecimal.ZERO : recommendedLimit;
+    }
+
+    // Reason codes are informational and not part of the comparison.
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof BacktestOutcome that
+                && status == that.status
+                && sameAmount(recommendedLimit, that.recommendedLimit)
+                && sameAmount(recommendedInterestRate, that.recommendedInterestRate);
+    }
+
+    @Override
+    public int hashCode() {
+        return status.hashCode();
+    }
+
+    private static boolean sameAmount(BigDecimal left, BigDecimal right) {
+        return left == null ? right == null : right != null && left.compareTo(right) == 0;
+    }
+}
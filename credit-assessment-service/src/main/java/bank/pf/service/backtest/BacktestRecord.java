@@ -0,0 +1,14 @@
+package bank.pf.service.backtest;
+
+import bank.pf.dto.event.LoanApplicationReceivedEvent;
+import bank.pf.entity.AntiFraudScore;
+import bank.pf.entity.BureauScore;
+
+// One historical application with the bureau and anti-fraud answers it was assessed with, so a replay needs no
+// external call.
+public record BacktestRecord(
+        LoanApplicationReceivedEvent application,
+        BureauScore bureauScore,
+        AntiFraudScore antiFraudScore
+) {
+}
@@ -0,0 +1,38 @@
+package bank.pf.service.backtest;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+// Written to summary.json at the end of a run. Approvals count APPROVED and ADJUSTED_CONDITIONS outcomes; approved
+// volume is the sum of their recommended limits.
+public record BacktestReport(
+        String baselineVersion,
+        String candidateVersion,
+        long records,
+        long invalidRecords,
+        long changedOutcomes,
+        long baselineApprovals,
+        long candidateApprovals,
+        double baselineApprovalRate,
+        double candidateApprovalRate,
+        BigDecimal baselineApprovedVolume,
+        BigDecimal candidateApprovedVolume,
+        Map<String, Long> transitions,
+        long elapsedMillis,
+        long recordsPerMinute
+) {
+
+    static BacktestReport of(String baselineVersion, String candidateVersion, BacktestSummary summary, long elapsedMillis) {
+        long records = summary.records();
+        long totalRead = records + summary.invalidRecords();
+        return new BacktestReport(baselineVersion, candidateVersion, records, summary.invalidRecords(), summary.changedOutcomes(),
+                summary.baselineApprovals(), summary.candidateApprovals(),
+                rate(summary.baselineApprovals(), records), rate(summary.candidateApprovals(), records),
+                summary.baselineApprovedVolume(), summary.candidateApprovedVolume(), summary.transitions(),
+                elapsedMillis, elapsedMillis == 0 ? totalRead : totalRead * 60_000 / elapsedMillis);
+    }
+
+    private static double rate(long count, long total) {
+        return total == 0 ? 0 : (double) count / total;
+    }
+}
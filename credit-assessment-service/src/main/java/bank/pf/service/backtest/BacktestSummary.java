@@ -0,0 +1,99 @@
+package bank.pf.service.backtest;
+
+import bank.pf.enums.AssessmentStatus;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Per-task accumulator: every fork-join leaf fills its own instance and the results are merged, so workers never
+// share mutable state.
+public final class BacktestSummary {
+
+    private static final AssessmentStatus[] STATUSES = AssessmentStatus.values();
+
+    private long records;
+    private long invalidRecords;
+    private long changedOutcomes;
+    private long baselineApprovals;
+    private long candidateApprovals;
+    private BigDecimal baselineApprovedVolume = BigDecimal.ZERO;
+    private BigDecimal candidateApprovedVolume = BigDecimal.ZERO;
+    private final long[][] transitions = new long[STATUSES.length][STATUSES.length];
+
+    void record(BacktestOutcome baseline, BacktestOutcome candidate) {
+        records++;
+        transitions[baseline.status().ordinal()][candidate.status().ordinal()]++;
+        if (!baseline.equals(candidate)) {
+            changedOutcomes++;
+        }
+        if (baseline.isApproval()) {
+            baselineApprovals++;
+            baselineApprovedVolume = baselineApprovedVolume.add(baseline.limitOrZero());
+        }
+        if (candidate.isApproval()) {
+            candidateApprovals++;
+            candidateApprovedVolume = candidateApprovedVolume.add(candidate.limitOrZero());
+        }
+    }
+
+    void recordInvalid() {
+        invalidRecords++;
+    }
+
+    void merge(BacktestSummary other) {
+        records += other.records;
+        invalidRecords += other.invalidRecords;
+        changedOutcomes += other.changedOutcomes;
+        baselineApprovals += other.baselineApprovals;
+        candidateApprovals += other.candidateApprovals;
+        baselineApprovedVolume = baselineApprovedVolume.add(other.baselineApprovedVolume);
+        candidateApprovedVolume = candidateApprovedVolume.add(other.candidateApprovedVolume);
+        for (int from = 0; from < STATUSES.length; from++) {
+            for (int to = 0; to < STATUSES.length; to++) {
+                transitions[from][to] += other.transitions[from][to];
+            }
+        }
+    }
+
+    public long records() {
+        return records;
+    }
+
+    public long invalidRecords() {
+        return invalidRecords;
+    }
+
+    public long changedOutcomes() {
+        return changedOutcomes;
+    }
+
+    public long baselineApprovals() {
+        return baselineApprovals;
+    }
+
+    public long candidateApprovals() {
+        return candidateApprovals;
+    }
+
+    public BigDecimal baselineApprovedVolume() {
+        return baselineApprovedVolume;
+    }
+
+    public BigDecimal candidateApprovedVolume() {
+        return candidateApprovedVolume;
+    }
+
+    // "BASELINE->CANDIDATE" status pairs that occurred, e.g. "APPROVED->REJECTED": 120
+    public Map<String, Long> transitions() {
+        Map<String, Long> nonZero = new LinkedHashMap<>();
+        for (int from = 0; from < STATUSES.length; from++) {
+            for (int to = 0; to < STATUSES.length; to++) {
+                if (transitions[from][to] > 0) {
+                    nonZero.put(STATUSES[from] + "->" + STATUSES[to], transitions[from][to]);
+                }
+            }
+        }
+        return nonZero;
+    }
+}
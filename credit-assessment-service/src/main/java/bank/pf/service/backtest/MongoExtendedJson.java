@@ -0,0 +1,56 @@
+package bank.pf.service.backtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+// Rewrites the type wrappers mongoexport emits (relaxed and canonical Extended JSON v2) into the plain values the
+// records bind to, in place. _id is dropped: it has no counterpart in BacktestRecord.
+final class MongoExtendedJson {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private MongoExtendedJson() {
+    }
+
+    static JsonNode unwrap(JsonNode node) {
+        if (node instanceof ObjectNode objectNode) {
+            if (objectNode.size() == 1) {
+                JsonNode scalar = unwrapScalar(objectNode);
+                if (scalar != null) {
+                    return scalar;
+                }
+            }
+            objectNode.remove("_id");
+            for (Map.Entry<String, JsonNode> field : objectNode.properties()) {
+                field.setValue(unwrap(field.getValue()));
+            }
+        } else if (node != null && node.isArray()) {
+            for (int i = 0; i < node.size(); i++) {
+                ((ArrayNode) node).set(i, unwrap(node.get(i)));
+            }
+        }
+        return node;
+    }
+
+    private static JsonNode unwrapScalar(ObjectNode wrapper) {
+        String type = wrapper.fieldNames().next();
+        JsonNode value = wrapper.get(type);
+        return switch (type) {
+            case "$numberDecimal", "$numberDouble" -> NODES.numberNode(new BigDecimal(value.asText()));
+            case "$numberLong" -> NODES.numberNode(Long.parseLong(value.asText()));
+            case "$numberInt" -> NODES.numberNode(Integer.parseInt(value.asText()));
+            case "$oid" -> NODES.textNode(value.asText());
+            // Relaxed: {"$date": "2024-05-01T10:00:00Z"}; canonical: {"$date": {"$numberLong": "1714557600000"}}
+            case "$date" -> NODES.textNode(value.isTextual()
+                    ? value.asText()
+                    : Instant.ofEpochMilli(unwrap(value).asLong()).toString());
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,205 @@
+package bank.pf.service.backtest;
+
+import bank.pf.entity.CreditAssessmentResult;
+import bank.pf.service.CreditDecision;
+import bank.pf.service.chain.AssessmentRuleExecutor;
+import bank.pf.service.policy.CompiledCreditPolicy;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+// Replays historical applications against a baseline and a candidate policy with the recorded bureau and anti-fraud
+// answers, so no external service is called. One thread reads the input in chunks; each chunk is a fork-join task
+// split down to split-threshold lines, and every leaf parses and evaluates its lines into its own BacktestSummary.
+// At most parallelism * 4 chunks are in flight; they are joined in input order, so diff.ndjson follows the input
+// and memory stays bounded however large the file is.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PolicyBacktestEngine {
+
+    static final String DIFF_FILE = "diff.ndjson";
+    static final String SUMMARY_FILE = "summary.json";
+
+    private final AssessmentRuleExecutor assessmentRuleExecutor;
+    private final ObjectMapper objectMapper;
+
+    // 0 uses one worker per available processor
+    @Value("${app.backtest.parallelism:0}")
+    private int parallelism;
+
+    @Value("${app.backtest.chunk-size:8192}")
+    private int chunkSize;
+
+    @Value("${app.backtest.split-threshold:512}")
+    private int splitThreshold;
+
+    public BacktestReport run(Path input, BacktestInputFormat format, CompiledCreditPolicy baseline, CompiledCreditPolicy candidate,
+                              Path outputDirectory) throws IOException {
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        var evaluation = new Evaluation(format, baseline, candidate, objectMapper.readerFor(BacktestRecord.class),
+                objectMapper.writerFor(BacktestDiff.class));
+        Files.createDirectories(outputDirectory);
+        log.info("Backtest started. input={}, format={}, baseline={}, candidate={}, workers={}",
+                input, format, baseline.version(), candidate.version(), workers);
+
+        long startTime = System.nanoTime();
+        var summary = new BacktestSummary();
+        try (var pool = new ForkJoinPool(workers);
+             BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             BufferedWriter diffWriter = Files.newBufferedWriter(outputDirectory.resolve(DIFF_FILE), StandardCharsets.UTF_8)) {
+            Deque<ForkJoinTask<ChunkResult>> inFlight = new ArrayDeque<>();
+            int maxInFlight = workers * 4;
+            List<String> chunk = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                chunk.add(line);
+                if (chunk.size() == chunkSize) {
+                    inFlight.addLast(pool.submit(new ChunkTask(evaluation, chunk, 0, chunk.size())));
+                    chunk = new ArrayList<>(chunkSize);
+                    if (inFlight.size() >= maxInFlight) {
+                        drainOldest(inFlight, summary, diffWriter);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                inFlight.addLast(pool.submit(new ChunkTask(evaluation, chunk, 0, chunk.size())));
+            }
+            while (!inFlight.isEmpty()) {
+                drainOldest(inFlight, summary, diffWriter);
+            }
+        }
+
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        var report = BacktestReport.of(baseline.version(), candidate.version(), summary, elapsedMillis);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(outputDirectory.resolve(SUMMARY_FILE).toFile(), report);
+        log.info("Backtest finished in {} ms ({} records/min). records={}, invalid={}, changed={}, approvals {} -> {}",
+                elapsedMillis, report.recordsPerMinute(), report.records(), report.invalidRecords(), report.changedOutcomes(),
+                report.baselineApprovals(), report.candidateApprovals());
+        return report;
+    }
+
+    private static void drainOldest(Deque<ForkJoinTask<ChunkResult>> inFlight, BacktestSummary summary, BufferedWriter diffWriter) throws IOException {
+        ChunkResult result = inFlight.removeFirst().join();
+        summary.merge(result.summary());
+        diffWriter.append(result.diffLines());
+    }
+
+    private record Evaluation(BacktestInputFormat format, CompiledCreditPolicy baseline, CompiledCreditPolicy candidate,
+                              ObjectReader recordReader, ObjectWriter diffWriter) {
+    }
+
+    private record ChunkResult(BacktestSummary summary, StringBuilder diffLines) {
+
+        ChunkResult append(ChunkResult next) {
+            summary.merge(next.summary());
+            diffLines.append(next.diffLines());
+            return this;
+        }
+    }
+
+    private final class ChunkTask extends RecursiveTask<ChunkResult> {
+
+        private final Evaluation evaluation;
+        private final List<String> lines;
+        private final int from;
+        private final int to;
+
+        private ChunkTask(Evaluation evaluation, List<String> lines, int from, int to) {
+            this.evaluation = evaluation;
+            this.lines = lines;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ChunkResult compute() {
+            if (to - from > splitThreshold) {
+                int middle = (from + to) >>> 1;
+                var left = new ChunkTask(evaluation, lines, from, middle);
+                left.fork();
+                ChunkResult right = new ChunkTask(evaluation, lines, middle, to).compute();
+                return left.join().append(right);
+            }
+            var result = new ChunkResult(new BacktestSummary(), new StringBuilder());
+            for (int i = from; i < to; i++) {
+                evaluate(lines.get(i), result);
+            }
+            return result;
+        }
+
+        private void evaluate(String line, ChunkResult result) {
+            BacktestRecord record;
+            BacktestOutcome baselineOutcome;
+            BacktestOutcome candidateOutcome;
+            try {
+                record = parse(line);
+                if (!isComplete(record)) {
+                    result.summary().recordInvalid();
+                    return;
+                }
+                baselineOutcome = replay(record, evaluation.baseline());
+                candidateOutcome = replay(record, evaluation.candidate());
+            } catch (IOException | RuntimeException e) {
+                log.debug("Skipping backtest record that could not be evaluated: {}", e.getMessage());
+                result.summary().recordInvalid();
+                return;
+            }
+            result.summary().record(baselineOutcome, candidateOutcome);
+            if (!baselineOutcome.equals(candidateOutcome)) {
+                var diff = new BacktestDiff(record.application().applicationId(), record.application().cpf(), baselineOutcome, candidateOutcome);
+                try {
+                    result.diffLines().append(evaluation.diffWriter().writeValueAsString(diff)).append('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        private BacktestRecord parse(String line) throws IOException {
+            if (evaluation.format() == BacktestInputFormat.MONGO_EXPORT) {
+                JsonNode document = MongoExtendedJson.unwrap(objectMapper.readTree(line));
+                return evaluation.recordReader().readValue(document);
+            }
+            return evaluation.recordReader().readValue(line);
+        }
+    }
+
+    private BacktestOutcome replay(BacktestRecord record, CompiledCreditPolicy policy) {
+        CreditAssessmentResult result = CreditDecision.initialResult(record.application(), record.bureauScore(), policy);
+        assessmentRuleExecutor.replayChain(record.application(), record.bureauScore(), record.antiFraudScore(), result, policy);
+        CreditDecision.applyRiskStrategy(record.application(), result, record.bureauScore(), policy);
+        return BacktestOutcome.of(result);
+    }
+
+    private static boolean isComplete(BacktestRecord record) {
+        return record != null
+                && record.application() != null
+                && record.bureauScore() != null
+                && record.bureauScore().score() != null
+                && record.antiFraudScore() != null;
+    }
+}
@@ -0,0 +1,59 @@
+package bank.pf.service.backtest;
+
+import bank.pf.service.policy.CreditPolicyHolder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+// Runs one backtest at startup when app.backtest.enabled=true, typically with the backtest profile, which keeps
+// the Kafka consumers off. The candidate policy is required; the baseline defaults to the live policy location.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.backtest.enabled", havingValue = "true")
+public class PolicyBacktestRunner implements ApplicationRunner {
+
+    private final PolicyBacktestEngine policyBacktestEngine;
+    private final CreditPolicyHolder creditPolicyHolder;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Value("${app.backtest.input}")
+    private Path input;
+
+    @Value("${app.backtest.format:ndjson}")
+    private String format;
+
+    @Value("${app.backtest.output-dir:backtest-output}")
+    private Path outputDirectory;
+
+    @Value("${app.backtest.baseline-policy:${app.credit-policy.location}}")
+    private String baselinePolicyLocation;
+
+    @Value("${app.backtest.candidate-policy}")
+    private String candidatePolicyLocation;
+
+    @Value("${app.backtest.exit-on-completion:true}")
+    private boolean exitOnCompletion;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        var baseline = creditPolicyHolder.loadDetached(baselinePolicyLocation);
+        var candidate = creditPolicyHolder.loadDetached(candidatePolicyLocation);
+        var inputFormat = BacktestInputFormat.valueOf(format.trim().toUpperCase().replace('-', '_'));
+
+        var report = policyBacktestEngine.run(input, inputFormat, baseline, candidate, outputDirectory);
+        log.info("Backtest report written to {}: {}", outputDirectory.toAbsolutePath(), report);
+
+        if (exitOnCompletion) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+}
@@ -6,7 +6,8 @@ import bank.pf.entity.AntiFraudScore;
 import bank.pf.entity.BureauScore;
 import bank.pf.entity.CreditAssessmentResult;
 import bank.pf.enums.AssessmentStatus;
-import bank.pf.enums.RecommendationType;
+import bank.pf.enums.ReasonCode;
+import bank.pf.service.policy.CompiledCreditPolicy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -14,19 +15,16 @@ import org.springframework.stereotype.Component;
 @Slf4j
 @Component
 @Order(40)
-public class AntiFraudScoreRule extends AbstractAssessmentRule {
-
-    private static final int HIGH_FRAUD_SCORE_THRESHOLD = 700;
+public class AntiFraudScoreRule implements AssessmentRule {
 
     @Override
-    public void evaluate(LoanApplicationReceivedEvent application, BureauScore bureauScore, AntiFraudScore antiFraudScore, CreditAssessmentResult currentAssessment) {
-        if (antiFraudScore.fraudScore() >= HIGH_FRAUD_SCORE_THRESHOLD) {
+    public void evaluate(LoanApplicationReceivedEvent application, BureauScore bureauScore, AntiFraudScore antiFraudScore, CreditAssessmentResult currentAssessment, CompiledCreditPolicy policy) {
+        if (antiFraudScore.fraudScore() >= policy.highFraudScoreThreshold()) {
             currentAssessment.setStatus(AssessmentStatus.REJECTED);
-            currentAssessment.setJustification("Score antifraude (" + antiFraudScore.fraudScore() + ") indica alto risco de fraude. Recomendação: " + antiFraudScore.recommendation());
-        } else if (RecommendationType.REJECT.equals(antiFraudScore.recommendation())) {
+            currentAssessment.addReason(ReasonCode.FRAUD_SCORE_HIGH, antiFraudScore.fraudScore());
+        } else if (policy.isRejectedFraudRecommendation(antiFraudScore.recommendation())) {
             currentAssessment.setStatus(AssessmentStatus.REJECTED);
-            currentAssessment.setJustification("Recomendação antifraude é de rejeição. Score: " + antiFraudScore.fraudScore());
+            currentAssessment.addReason(ReasonCode.FRAUD_RECOMMENDATION_REJECT, antiFraudScore.fraudScore());
         }
-        evaluateNext(application, bureauScore, antiFraudScore, currentAssessment);
     }
 }
@@ -4,11 +4,11 @@ import bank.pf.dto.event.LoanApplicationReceivedEvent;
 import bank.pf.entity.AntiFraudScore;
 import bank.pf.entity.BureauScore;
 import bank.pf.entity.CreditAssessmentResult;
+import bank.pf.service.policy.CompiledCreditPolicy;
 
+// A single credit rule. Rules only apply their own check, with thresholds taken from the policy snapshot of the
+// current assessment; ordering and short-circuiting on rejection belong to AssessmentRuleExecutor.
 public interface AssessmentRule {
 
-    void setNextRule(AssessmentRule nextRule);
-
-
-    void evaluate(LoanApplicationReceivedEvent application, BureauScore bureauScore, AntiFraudScore antiFraudScore, CreditAssessmentResult currentAssessment);
+    void evaluate(LoanApplicationReceivedEvent application, BureauScore bureauScore, AntiFraudScore antiFraudScore, CreditAssessmentResult currentAssessment, CompiledCreditPolicy policy);
 }
@@ -4,39 +4,88 @@ import bank.pf.dto.event.LoanApplicationReceivedEvent;
 import bank.pf.entity.AntiFraudScore;
 import bank.pf.entity.BureauScore;
 import bank.pf.entity.CreditAssessmentResult;
+import bank.pf.enums.AssessmentStatus;
+import bank.pf.service.policy.CompiledCreditPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+// The @Order'ed rules are compiled once at startup into an immutable array; every assessment walks the same
+// pipeline and stops at the first rule that rejects, exactly like the former linked chain.
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class AssessmentRuleExecutor {
 
     private final List<AssessmentRule> assessmentRules;
-    private AssessmentRule firstRule;
+    private final MeterRegistry meterRegistry;
 
-    public void buildRuleChain() {
-        if (this.assessmentRules == null || this.assessmentRules.isEmpty()) {
-            this.firstRule = null;
-            return;
-        }
-        this.firstRule = this.assessmentRules.getFirst();
-        for (int i = 0; i < this.assessmentRules.size() - 1; i++) {
-            this.assessmentRules.get(i).setNextRule(this.assessmentRules.get(i + 1));
-        }
+    private CompiledRule[] pipeline = new CompiledRule[0];
 
-        if (!this.assessmentRules.isEmpty()) {
-            this.assessmentRules.getLast().setNextRule(null);
-        }
+    @PostConstruct
+    private void compilePipeline() {
+        pipeline = assessmentRules.stream()
+                .map(rule -> compile(rule, ClassUtils.getUserClass(rule).getSimpleName()))
+                .toArray(CompiledRule[]::new);
+        log.info("Credit rule pipeline compiled: {}", Arrays.stream(pipeline).map(CompiledRule::name).toList());
     }
 
     public void executeChain(LoanApplicationReceivedEvent application,
                              BureauScore bureauScore,
                              AntiFraudScore antiFraudScore,
-                             CreditAssessmentResult currentAssessment) {
-        if (firstRule != null) {
-            firstRule.evaluate(application, bureauScore, antiFraudScore, currentAssessment);
+                             CreditAssessmentResult currentAssessment,
+                             CompiledCreditPolicy policy) {
+        for (CompiledRule compiledRule : pipeline) {
+            long start = System.nanoTime();
+            compiledRule.rule().evaluate(application, bureauScore, antiFraudScore, currentAssessment, policy);
+            compiledRule.evaluationTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (currentAssessment.getStatus() == AssessmentStatus.REJECTED) {
+                compiledRule.rejectionCounter().increment();
+                return;
+            }
+        }
+    }
+
+    // Same walk without meters, for offline replays (backtesting) that must not show up in the live rule metrics.
+    public void replayChain(LoanApplicationReceivedEvent application,
+                            BureauScore bureauScore,
+                            AntiFraudScore antiFraudScore,
+                            CreditAssessmentResult currentAssessment,
+                            CompiledCreditPolicy policy) {
+        for (CompiledRule compiledRule : pipeline) {
+            compiledRule.rule().evaluate(application, bureauScore, antiFraudScore, currentAssessment, policy);
+            if (currentAssessment.getStatus() == AssessmentStatus.REJECTED) {
+                return;
+            }
         }
     }
+
+    // Rule names in pipeline order, which the columnar evaluator follows so the first rejecting rule is the same
+    public List<String> currentOrder() {
+        return Arrays.stream(pipeline).map(CompiledRule::name).toList();
+    }
+
+    private CompiledRule compile(AssessmentRule rule, String name) {
+        Timer evaluationTimer = Timer.builder("credit.assessment.rule.duration")
+                .description("Evaluation time of each credit rule")
+                .tag("rule", name)
+                .register(meterRegistry);
+        Counter rejectionCounter = Counter.builder("credit.assessment.rule.rejections")
+                .description("Assessments rejected by each credit rule")
+                .tag("rule", name)
+                .register(meterRegistry);
+        return new CompiledRule(name, rule, evaluationTimer, rejectionCounter);
+    }
+
+    private record CompiledRule(String name, AssessmentRule rule, Timer evaluationTimer, Counter rejectionCounter) {
+    }
 }
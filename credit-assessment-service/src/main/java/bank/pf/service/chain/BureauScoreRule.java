@@ -5,20 +5,20 @@ import bank.pf.entity.AntiFraudScore;
 import bank.pf.entity.BureauScore;
 import bank.pf.entity.CreditAssessmentResult;
 import bank.pf.enums.AssessmentStatus;
+import bank.pf.enums.ReasonCode;
+import bank.pf.service.policy.CompiledCreditPolicy;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 @Component
 @Order(10)
-public class BureauScoreRule extends AbstractAssessmentRule {
+public class BureauScoreRule implements AssessmentRule {
 
     @Override
-    public void evaluate(LoanApplicationReceivedEvent application, BureauScore bureauScore, AntiFraudScore antiFraudScore, CreditAssessmentResult currentAssessment) {
-        if (bureauScore.score() < 300) {
+    public void evaluate(LoanApplicationReceivedEvent application, BureauScore bureauScore, AntiFraudScore antiFraudScore, CreditAssessmentResult currentAssessment, CompiledCreditPolicy policy) {
+        if (bureauScore.score() < policy.minimumBureauScore()) {
             currentAssessment.setStatus(AssessmentStatus.REJECTED);
-            currentAssessment.setJustification("Score de crédito abaixo do mínimo (Score: " + bureauScore.score() + "). ");
+            currentAssessment.addReason(ReasonCode.BUREAU_SCORE_BELOW_MINIMUM, bureauScore.score());
         }
-
-        evaluateNext(application, bureauScore, antiFraudScore, currentAssessment);
     }
 }
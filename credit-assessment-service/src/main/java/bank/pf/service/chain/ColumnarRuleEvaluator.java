@@ -0,0 +1,154 @@
+package bank.pf.service.chain;
+
+import bank.pf.entity.CreditAssessmentResult;
+import bank.pf.enums.AssessmentStatus;
+import bank.pf.enums.PaymentHistoryType;
+import bank.pf.enums.ReasonCode;
+import bank.pf.enums.ReasonParameter;
+import bank.pf.enums.RecommendationType;
+import bank.pf.service.policy.CompiledCreditPolicy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+
+// Bulk counterpart of AssessmentRuleExecutor.replayChain for pre-approval campaigns and backfills: each rule is one
+// loop over the columns of a whole batch, skipping rows an earlier rule rejected, in the executor's current order.
+// DTI is computed in integer cents and basis points with the same HALF_UP rounding as DebtToIncomeRatioRule, so every
+// row ends with the status, reason code and parameter the object chain would give it. Like replayChain it records no
+// meters. A new AssessmentRule needs a kernel here as well; until it has one, evaluate() refuses to run.
+@Component
+@RequiredArgsConstructor
+public class ColumnarRuleEvaluator {
+
+    private static final String BUREAU_SCORE_RULE = "BureauScoreRule";
+    private static final String PAYMENT_HISTORY_RULE = "PaymentHistoryRule";
+    private static final String DEBT_TO_INCOME_RATIO_RULE = "DebtToIncomeRatioRule";
+    private static final String ANTI_FRAUD_SCORE_RULE = "AntiFraudScoreRule";
+    private static final List<String> COLUMNAR_RULES = List.of(BUREAU_SCORE_RULE, PAYMENT_HISTORY_RULE, DEBT_TO_INCOME_RATIO_RULE, ANTI_FRAUD_SCORE_RULE);
+
+    private final AssessmentRuleExecutor assessmentRuleExecutor;
+
+    public ColumnarRuleResults evaluate(RuleColumns columns, CompiledCreditPolicy policy) {
+        List<String> order = assessmentRuleExecutor.currentOrder();
+        if (!COLUMNAR_RULES.containsAll(order)) {
+            throw new IllegalStateException("Rules " + order + " include one without a columnar form " + COLUMNAR_RULES);
+        }
+        var results = new ColumnarRuleResults(columns.size);
+        for (String rule : order) {
+            switch (rule) {
+                case BUREAU_SCORE_RULE -> bureauScore(columns, results, policy);
+                case PAYMENT_HISTORY_RULE -> paymentHistory(columns, results, policy);
+                case DEBT_TO_INCOME_RATIO_RULE -> debtToIncomeRatio(columns, results, policy);
+                case ANTI_FRAUD_SCORE_RULE -> antiFraudScore(columns, results, policy);
+                default -> throw new IllegalStateException("No columnar form for rule " + rule);
+            }
+        }
+        for (RuleColumns.ObjectRow row : columns.objectRowInputs) {
+            evaluateObjectRow(row, results, policy);
+        }
+        return results;
+    }
+
+    private static void bureauScore(RuleColumns columns, ColumnarRuleResults results, CompiledCreditPolicy policy) {
+        int minimumBureauScore = policy.minimumBureauScore();
+        long reasonCode = ReasonCode.BUREAU_SCORE_BELOW_MINIMUM.mask();
+        int[] scores = columns.bureauScores;
+        for (int row = 0; row < columns.size; row++) {
+            if (isPending(columns, results, row) && scores[row] < minimumBureauScore) {
+                results.reject(row, reasonCode, ReasonParameter.BUREAU_SCORE, scores[row]);
+            }
+        }
+    }
+
+    private static void paymentHistory(RuleColumns columns, ColumnarRuleResults results, CompiledCreditPolicy policy) {
+        PaymentHistoryType[] types = PaymentHistoryType.values();
+        boolean[] rejected = new boolean[types.length];
+        for (PaymentHistoryType type : types) {
+            rejected[type.ordinal()] = policy.isRejectedPaymentHistory(type);
+        }
+        long reasonCode = ReasonCode.PAYMENT_HISTORY_DELINQUENT.mask();
+        byte[] histories = columns.paymentHistories;
+        for (int row = 0; row < columns.size; row++) {
+            if (isPending(columns, results, row) && histories[row] != RuleColumns.NO_ORDINAL && rejected[histories[row]]) {
+                results.reject(row, reasonCode, null, 0);
+            }
+        }
+    }
+
+    // payment = HALF_UP(amount / installments) in cents; dti = HALF_UP(10000 * (payment + debts) / income) in basis
+    // points, i.e. the 4-decimal BigDecimal ratio of the object rule. HALF_UP of a non-negative a / b is (2a + b) / 2b.
+    // dti > threshold holds for an integer dti exactly when dti > floor(threshold in basis points).
+    private static void debtToIncomeRatio(RuleColumns columns, ColumnarRuleResults results, CompiledCreditPolicy policy) {
+        long flexibleBasisPoints = floorBasisPoints(policy.maxDebtToIncomeFlexible());
+        long strictBasisPoints = floorBasisPoints(policy.maxDebtToIncomeStrict());
+        long aboveLimit = ReasonCode.DEBT_TO_INCOME_ABOVE_LIMIT.mask();
+        long requiresAttention = ReasonCode.DEBT_TO_INCOME_REQUIRES_ATTENTION.mask();
+        long[] amounts = columns.amountsCents;
+        int[] installments = columns.installments;
+        long[] debts = columns.monthlyDebtsCents;
+        long[] incomes = columns.monthlyIncomesCents;
+        for (int row = 0; row < columns.size; row++) {
+            if (!isPending(columns, results, row)) {
+                continue;
+            }
+            long payment = (2 * amounts[row] + installments[row]) / (2L * installments[row]);
+            long totalDebt = payment + debts[row];
+            long dtiBasisPoints = (20_000 * totalDebt + incomes[row]) / (2 * incomes[row]);
+            if (dtiBasisPoints > flexibleBasisPoints) {
+                results.reject(row, aboveLimit, ReasonParameter.DEBT_TO_INCOME_BASIS_POINTS, (int) dtiBasisPoints);
+            } else if (dtiBasisPoints > strictBasisPoints) {
+                results.reject(row, requiresAttention, ReasonParameter.DEBT_TO_INCOME_BASIS_POINTS, (int) dtiBasisPoints);
+            }
+        }
+    }
+
+    private static void antiFraudScore(RuleColumns columns, ColumnarRuleResults results, CompiledCreditPolicy policy) {
+        RecommendationType[] types = RecommendationType.values();
+        boolean[] rejected = new boolean[types.length];
+        for (RecommendationType type : types) {
+            rejected[type.ordinal()] = policy.isRejectedFraudRecommendation(type);
+        }
+        int highFraudScoreThreshold = policy.highFraudScoreThreshold();
+        long scoreHigh = ReasonCode.FRAUD_SCORE_HIGH.mask();
+        long recommendationReject = ReasonCode.FRAUD_RECOMMENDATION_REJECT.mask();
+        int[] scores = columns.fraudScores;
+        byte[] recommendations = columns.recommendations;
+        for (int row = 0; row < columns.size; row++) {
+            if (!isPending(columns, results, row)) {
+                continue;
+            }
+            if (scores[row] >= highFraudScoreThreshold) {
+                results.reject(row, scoreHigh, ReasonParameter.FRAUD_SCORE, scores[row]);
+            } else if (recommendations[row] != RuleColumns.NO_ORDINAL && rejected[recommendations[row]]) {
+                results.reject(row, recommendationReject, ReasonParameter.FRAUD_SCORE, scores[row]);
+            }
+        }
+    }
+
+    private static boolean isPending(RuleColumns columns, ColumnarRuleResults results, int row) {
+        return results.reasonCodes[row] == 0 && !columns.objectRows[row];
+    }
+
+    private static long floorBasisPoints(BigDecimal ratio) {
+        return ratio.movePointRight(4).setScale(0, RoundingMode.FLOOR).longValueExact();
+    }
+
+    private void evaluateObjectRow(RuleColumns.ObjectRow row, ColumnarRuleResults results, CompiledCreditPolicy policy) {
+        var result = CreditAssessmentResult.builder().status(AssessmentStatus.APPROVED).build();
+        assessmentRuleExecutor.replayChain(row.application(), row.bureauScore(), row.antiFraudScore(), result, policy);
+        if (result.getStatus() != AssessmentStatus.REJECTED) {
+            return;
+        }
+        Map<ReasonParameter, Integer> parameters = result.getReasonParameters();
+        if (parameters == null || parameters.isEmpty()) {
+            results.reject(row.row(), result.getReasonCodes(), null, 0);
+        } else {
+            var parameter = parameters.entrySet().iterator().next();
+            results.reject(row.row(), result.getReasonCodes(), parameter.getKey(), parameter.getValue());
+        }
+    }
+}
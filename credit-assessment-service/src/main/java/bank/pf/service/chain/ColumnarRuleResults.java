@@ -0,0 +1,79 @@
+package bank.pf.service.chain;
+
+import bank.pf.entity.CreditAssessmentResult;
+import bank.pf.enums.AssessmentStatus;
+import bank.pf.enums.ReasonParameter;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Rule chain outcome of every row of a RuleColumns batch. A row is rejected by at most one rule, so it carries at
+// most one reason parameter.
+public final class ColumnarRuleResults {
+
+    private static final ReasonParameter[] PARAMETERS = ReasonParameter.values();
+
+    final long[] reasonCodes;
+    final byte[] parameters;
+    final int[] parameterValues;
+
+    ColumnarRuleResults(int size) {
+        this.reasonCodes = new long[size];
+        this.parameters = new byte[size];
+        this.parameterValues = new int[size];
+        Arrays.fill(parameters, RuleColumns.NO_ORDINAL);
+    }
+
+    public int size() {
+        return reasonCodes.length;
+    }
+
+    // Every rejecting rule sets a reason code, so a row without one passed the whole chain
+    public boolean isRejected(int row) {
+        return reasonCodes[row] != 0;
+    }
+
+    public AssessmentStatus status(int row) {
+        return isRejected(row) ? AssessmentStatus.REJECTED : AssessmentStatus.APPROVED;
+    }
+
+    public long reasonCodes(int row) {
+        return reasonCodes[row];
+    }
+
+    // null when the row has no parameter, like CreditAssessmentResult.getReasonParameters()
+    public Map<ReasonParameter, Integer> reasonParameters(int row) {
+        if (parameters[row] == RuleColumns.NO_ORDINAL) {
+            return null;
+        }
+        Map<ReasonParameter, Integer> reasonParameters = new EnumMap<>(ReasonParameter.class);
+        reasonParameters.put(PARAMETERS[parameters[row]], parameterValues[row]);
+        return reasonParameters;
+    }
+
+    // Turns an APPROVED initial result into what the object rule chain would have left in it
+    public void applyTo(int row, CreditAssessmentResult result) {
+        if (!isRejected(row)) {
+            return;
+        }
+        result.setStatus(AssessmentStatus.REJECTED);
+        result.setReasonCodes(result.getReasonCodes() | reasonCodes[row]);
+        Map<ReasonParameter, Integer> reasonParameters = reasonParameters(row);
+        if (reasonParameters != null) {
+            if (result.getReasonParameters() == null) {
+                result.setReasonParameters(reasonParameters);
+            } else {
+                result.getReasonParameters().putAll(reasonParameters);
+            }
+        }
+    }
+
+    void reject(int row, long reasonCode, ReasonParameter parameter, int parameterValue) {
+        reasonCodes[row] = reasonCode;
+        if (parameter != null) {
+            parameters[row] = (byte) parameter.ordinal();
+            parameterValues[row] = parameterValue;
+        }
+    }
+}
@@ -5,22 +5,20 @@ import bank.pf.entity.AntiFraudScore;
 import bank.pf.entity.BureauScore;
 import bank.pf.entity.CreditAssessmentResult;
 import bank.pf.enums.AssessmentStatus;
-import bank.pf.enums.PaymentHistoryType;
+import bank.pf.enums.ReasonCode;
+import bank.pf.service.policy.CompiledCreditPolicy;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 @Component
 @Order(20)
-public class PaymentHistoryRule extends AbstractAssessmentRule {
+public class PaymentHistoryRule implements AssessmentRule {
 
     @Override
-    public void evaluate(LoanApplicationReceivedEvent application, BureauScore bureauScore, AntiFraudScore antiFraudScore, CreditAssessmentResult currentAssessment) {
-        var paymentHistory = bureauScore.paymentHistory();
-        if (PaymentHistoryType.POOR_OVERDUE_60_DAYS.equals(paymentHistory)) {
+    public void evaluate(LoanApplicationReceivedEvent application, BureauScore bureauScore, AntiFraudScore antiFraudScore, CreditAssessmentResult currentAssessment, CompiledCreditPolicy policy) {
+        if (policy.isRejectedPaymentHistory(bureauScore.paymentHistory())) {
             currentAssessment.setStatus(AssessmentStatus.REJECTED);
-            currentAssessment.setJustification("Histórico de pagamento com atrasos significativos. ");
+            currentAssessment.addReason(ReasonCode.PAYMENT_HISTORY_DELINQUENT);
         }
-
-        evaluateNext(application, bureauScore, antiFraudScore, currentAssessment);
     }
 }
@@ -0,0 +1,138 @@
+package bank.pf.service.chain;
+
+import bank.pf.dto.event.LoanApplicationReceivedEvent;
+import bank.pf.entity.AntiFraudScore;
+import bank.pf.entity.BureauScore;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// A batch of rule inputs laid out as primitive columns, one array per field the credit rules read, with money in
+// cents. A row whose values have no exact column form (a null, a negative or sub-cent amount, no income or
+// installments) is kept as objects instead and evaluated by the object path, so results never depend on the layout.
+public final class RuleColumns {
+
+    static final byte NO_ORDINAL = -1;
+    // Keeps the DTI rounding numerator, 2 * 10000 * total debt + income, within a long
+    private static final long MAX_CENTS = Long.MAX_VALUE / 40_000;
+
+    final int size;
+    final int[] bureauScores;
+    final byte[] paymentHistories;
+    final long[] amountsCents;
+    final int[] installments;
+    final long[] monthlyDebtsCents;
+    final long[] monthlyIncomesCents;
+    final int[] fraudScores;
+    final byte[] recommendations;
+    // Rows evaluated by the object path, and their inputs
+    final boolean[] objectRows;
+    final List<ObjectRow> objectRowInputs;
+
+    private RuleColumns(Builder builder) {
+        this.size = builder.size;
+        this.bureauScores = Arrays.copyOf(builder.bureauScores, size);
+        this.paymentHistories = Arrays.copyOf(builder.paymentHistories, size);
+        this.amountsCents = Arrays.copyOf(builder.amountsCents, size);
+        this.installments = Arrays.copyOf(builder.installments, size);
+        this.monthlyDebtsCents = Arrays.copyOf(builder.monthlyDebtsCents, size);
+        this.monthlyIncomesCents = Arrays.copyOf(builder.monthlyIncomesCents, size);
+        this.fraudScores = Arrays.copyOf(builder.fraudScores, size);
+        this.recommendations = Arrays.copyOf(builder.recommendations, size);
+        this.objectRows = Arrays.copyOf(builder.objectRows, size);
+        this.objectRowInputs = List.copyOf(builder.objectRowInputs);
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(Math.max(expectedSize, 16));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int objectRowCount() {
+        return objectRowInputs.size();
+    }
+
+    record ObjectRow(int row, LoanApplicationReceivedEvent application, BureauScore bureauScore, AntiFraudScore antiFraudScore) {
+    }
+
+    public static final class Builder {
+
+        private int size;
+        private int[] bureauScores;
+        private byte[] paymentHistories;
+        private long[] amountsCents;
+        private int[] installments;
+        private long[] monthlyDebtsCents;
+        private long[] monthlyIncomesCents;
+        private int[] fraudScores;
+        private byte[] recommendations;
+        private boolean[] objectRows;
+        private final List<ObjectRow> objectRowInputs = new ArrayList<>();
+
+        private Builder(int capacity) {
+            allocate(capacity);
+        }
+
+        // Rows are numbered in the order they are added
+        public Builder add(LoanApplicationReceivedEvent application, BureauScore bureauScore, AntiFraudScore antiFraudScore) {
+            if (size == bureauScores.length) {
+                allocate(size * 2);
+            }
+            long amountCents = toCents(application.amountRequested());
+            long monthlyDebtsCents = toCents(bureauScore.monthlyDebts());
+            long monthlyIncomeCents = toCents(application.monthlyIncome());
+            Integer numberOfInstallments = application.numberOfInstallments();
+            if (bureauScore.score() == null || antiFraudScore.fraudScore() == null || numberOfInstallments == null
+                    || numberOfInstallments <= 0 || amountCents < 0 || monthlyDebtsCents < 0 || monthlyIncomeCents <= 0
+                    || amountCents + monthlyDebtsCents > MAX_CENTS) {
+                objectRows[size] = true;
+                objectRowInputs.add(new ObjectRow(size, application, bureauScore, antiFraudScore));
+            } else {
+                this.bureauScores[size] = bureauScore.score();
+                this.paymentHistories[size] = bureauScore.paymentHistory() == null ? NO_ORDINAL : (byte) bureauScore.paymentHistory().ordinal();
+                this.amountsCents[size] = amountCents;
+                this.installments[size] = numberOfInstallments;
+                this.monthlyDebtsCents[size] = monthlyDebtsCents;
+                this.monthlyIncomesCents[size] = monthlyIncomeCents;
+                this.fraudScores[size] = antiFraudScore.fraudScore();
+                this.recommendations[size] = antiFraudScore.recommendation() == null ? NO_ORDINAL : (byte) antiFraudScore.recommendation().ordinal();
+            }
+            size++;
+            return this;
+        }
+
+        public RuleColumns build() {
+            return new RuleColumns(this);
+        }
+
+        private void allocate(int capacity) {
+            bureauScores = bureauScores == null ? new int[capacity] : Arrays.copyOf(bureauScores, capacity);
+            paymentHistories = paymentHistories == null ? new byte[capacity] : Arrays.copyOf(paymentHistories, capacity);
+            amountsCents = amountsCents == null ? new long[capacity] : Arrays.copyOf(amountsCents, capacity);
+            installments = installments == null ? new int[capacity] : Arrays.copyOf(installments, capacity);
+            monthlyDebtsCents = monthlyDebtsCents == null ? new long[capacity] : Arrays.copyOf(monthlyDebtsCents, capacity);
+            monthlyIncomesCents = monthlyIncomesCents == null ? new long[capacity] : Arrays.copyOf(monthlyIncomesCents, capacity);
+            fraudScores = fraudScores == null ? new int[capacity] : Arrays.copyOf(fraudScores, capacity);
+            recommendations = recommendations == null ? new byte[capacity] : Arrays.copyOf(recommendations, capacity);
+            objectRows = objectRows == null ? new boolean[capacity] : Arrays.copyOf(objectRows, capacity);
+        }
+
+        // Exact value in cents, or -1 when there is none (null, negative, finer than a cent or too large)
+        private static long toCents(BigDecimal value) {
+            if (value == null || value.signum() < 0) {
+                return -1;
+            }
+            try {
+                long cents = value.movePointRight(2).longValueExact();
+                return cents <= MAX_CENTS ? cents : -1;
+            } catch (ArithmeticException e) {
+                return -1;
+            }
+        }
+    }
+}
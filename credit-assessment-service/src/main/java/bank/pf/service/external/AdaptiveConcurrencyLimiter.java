@@ -0,0 +1,249 @@
+package bank.pf.service.external;
+
+import bank.pf.exception.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ClosedByInterruptException;
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Caps the calls in flight to one dependency at a limit that follows its observed latency (AIMD):
+// - the no-load latency is the lowest latency seen over the last two windows of window-size samples, so it follows
+//   the provider's capacity through the day;
+// - a call slower than latency-tolerance * no-load latency, or one that timed out or failed, cuts the limit by
+//   backoff-ratio;
+// - a fast call made while at least half the limit was in use raises it by 1/limit, i.e. about +1 per limit calls.
+// Callers over the limit wait up to max-wait in a queue of at most max-queue; beyond that they are rejected at once.
+// With enabled=false every call gets a permit and nothing is tracked.
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int UNTRACKED = -1;
+
+    private final String dependency;
+    private final Settings settings;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private int queued;
+
+    private long currentWindowMinNanos = Long.MAX_VALUE;
+    private long previousWindowMinNanos = Long.MAX_VALUE;
+    private int currentWindowSamples;
+    private long lastDecreaseNanos = System.nanoTime();
+
+    private final Counter rejectionCounter;
+
+    public AdaptiveConcurrencyLimiter(String dependency, Settings settings, MeterRegistry meterRegistry) {
+        this.dependency = dependency;
+        this.settings = settings;
+        this.limit = settings.initialLimit();
+        Gauge.builder("external.concurrency.limit", this, AdaptiveConcurrencyLimiter::currentLimit)
+                .description("Current adaptive limit of concurrent calls")
+                .tag("dependency", dependency)
+                .register(meterRegistry);
+        Gauge.builder("external.concurrency.inflight", this, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Calls currently in flight")
+                .tag("dependency", dependency)
+                .register(meterRegistry);
+        Gauge.builder("external.concurrency.queued", this, AdaptiveConcurrencyLimiter::queued)
+                .description("Calls waiting for a permit")
+                .tag("dependency", dependency)
+                .register(meterRegistry);
+        rejectionCounter = Counter.builder("external.concurrency.rejections")
+                .description("Calls rejected because the limit and the wait queue were full")
+                .tag("dependency", dependency)
+                .register(meterRegistry);
+    }
+
+    public Permit acquire() {
+        if (!settings.enabled()) {
+            return new Permit(UNTRACKED, 0);
+        }
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                return grant();
+            }
+            if (queued >= settings.maxQueue()) {
+                throw reject();
+            }
+            queued++;
+            try {
+                long remainingNanos = settings.maxWait().toNanos();
+                while (inFlight >= (int) limit) {
+                    if (remainingNanos <= 0) {
+                        throw reject();
+                    }
+                    remainingNanos = permitReleased.awaitNanos(remainingNanos);
+                }
+                return grant();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw reject();
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int currentLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int queued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Permit grant() {
+        inFlight++;
+        return new Permit(inFlight, System.nanoTime());
+    }
+
+    private ConcurrencyLimitExceededException reject() {
+        rejectionCounter.increment();
+        return new ConcurrencyLimitExceededException(dependency, (int) limit);
+    }
+
+    private void release(Permit permit, boolean dropped, boolean adjustLimit) {
+        long latencyNanos = System.nanoTime() - permit.startNanos;
+        lock.lock();
+        try {
+            inFlight--;
+            if (adjustLimit) {
+                adjust(latencyNanos, permit, dropped);
+            }
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adjust(long latencyNanos, Permit permit, boolean dropped) {
+        if (!dropped) {
+            recordLatency(latencyNanos);
+        }
+        long noLoadNanos = Math.min(currentWindowMinNanos, previousWindowMinNanos);
+        if (dropped || latencyNanos > noLoadNanos * settings.latencyTolerance()) {
+            // Calls already in flight at the last cut saw the same overload: one cut per congestion episode
+            if (permit.startNanos - lastDecreaseNanos >= 0) {
+                limit = Math.max(settings.minLimit(), limit * settings.backoffRatio());
+                lastDecreaseNanos = System.nanoTime();
+            }
+        } else if (permit.inFlightAtStart * 2 >= limit) {
+            limit = Math.min(settings.maxLimit(), limit + 1 / limit);
+        }
+    }
+
+    // True when a call failed because its caller interrupted it, e.g. the assessment cancelled it after the sibling
+    // call failed. A socket timeout is an InterruptedIOException too, but it is a real failure of the dependency.
+    public static boolean isCancellation(Throwable failure) {
+        if (Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedException || cause instanceof ClosedByInterruptException
+                    || cause instanceof InterruptedIOException && !(cause instanceof SocketTimeoutException)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void recordLatency(long latencyNanos) {
+        currentWindowMinNanos = Math.min(currentWindowMinNanos, latencyNanos);
+        if (++currentWindowSamples >= settings.windowSize()) {
+            previousWindowMinNanos = currentWindowMinNanos;
+            currentWindowMinNanos = Long.MAX_VALUE;
+            currentWindowSamples = 0;
+        }
+    }
+
+    // success() for an answer (including "not found"), dropped() for a timeout or failure, which is what the limit
+    // backs off on, cancelled() for a call abandoned by the caller, which says nothing about the dependency.
+    // Only the first call counts, so callers can call dropped() in a finally after success().
+    public final class Permit {
+
+        private final int inFlightAtStart;
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(int inFlightAtStart, long startNanos) {
+            this.inFlightAtStart = inFlightAtStart;
+            this.startNanos = startNanos;
+        }
+
+        public void success() {
+            releaseOnce(false, true);
+        }
+
+        public void dropped() {
+            releaseOnce(true, true);
+        }
+
+        public void cancelled() {
+            releaseOnce(false, false);
+        }
+
+        // dropped(), or cancelled() when the failure was the caller abandoning the call
+        public void failed(Throwable failure) {
+            if (isCancellation(failure)) {
+                cancelled();
+            } else {
+                dropped();
+            }
+        }
+
+        private void releaseOnce(boolean dropped, boolean adjustLimit) {
+            if (!released && inFlightAtStart != UNTRACKED) {
+                released = true;
+                release(this, dropped, adjustLimit);
+            }
+        }
+    }
+
+    public record Settings(
+            boolean enabled,
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            int maxQueue,
+            Duration maxWait,
+            double latencyTolerance,
+            double backoffRatio,
+            int windowSize
+    ) {
+
+        public static Settings defaults() {
+            return new Settings(true, 20, 1, 200, 100, Duration.ofMillis(50), 2.0, 0.9, 500);
+        }
+    }
+}
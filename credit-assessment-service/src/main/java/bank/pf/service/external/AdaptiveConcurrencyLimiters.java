@@ -0,0 +1,37 @@
+package bank.pf.service.external;
+
+import bank.pf.service.external.AdaptiveConcurrencyLimiter.Settings;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Builds one limiter per dependency from app.concurrency-limit.<dependency>.*, falling back to Settings.defaults().
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdaptiveConcurrencyLimiters {
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    public AdaptiveConcurrencyLimiter create(String dependency) {
+        Settings defaults = Settings.defaults();
+        String prefix = "app.concurrency-limit." + dependency + ".";
+        Settings settings = new Settings(
+                environment.getProperty(prefix + "enabled", Boolean.class, defaults.enabled()),
+                environment.getProperty(prefix + "initial-limit", Integer.class, defaults.initialLimit()),
+                environment.getProperty(prefix + "min-limit", Integer.class, defaults.minLimit()),
+                environment.getProperty(prefix + "max-limit", Integer.class, defaults.maxLimit()),
+                environment.getProperty(prefix + "max-queue", Integer.class, defaults.maxQueue()),
+                environment.getProperty(prefix + "max-wait", Duration.class, defaults.maxWait()),
+                environment.getProperty(prefix + "latency-tolerance", Double.class, defaults.latencyTolerance()),
+                environment.getProperty(prefix + "backoff-ratio", Double.class, defaults.backoffRatio()),
+                environment.getProperty(prefix + "window-size", Integer.class, defaults.windowSize()));
+        log.info("Adaptive concurrency limit for {}: {}", dependency, settings);
+        return new AdaptiveConcurrencyLimiter(dependency, settings, meterRegistry);
+    }
+}
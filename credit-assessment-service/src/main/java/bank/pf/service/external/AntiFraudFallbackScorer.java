@@ -0,0 +1,45 @@
+package bank.pf.service.external;
+
+import bank.pf.dto.event.LoanApplicationReceivedEvent;
+import bank.pf.entity.AntiFraudScore;
+import bank.pf.enums.RecommendationType;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.Period;
+
+// Deterministic local stand-in for the anti-fraud provider. It only looks at the application itself, so the same
+// application always gets the same score. Signals push the score towards the policy's high-fraud threshold instead
+// of rejecting outright. The recommendation is always MANUAL_REVIEW, because nobody has vouched for the applicant.
+@Component
+public class AntiFraudFallbackScorer {
+
+    static final int BASE_SCORE = 400;
+    static final int MAX_SCORE = 1000;
+
+    private static final BigDecimal HIGH_LOAN_TO_INCOME = BigDecimal.valueOf(20);
+    private static final BigDecimal ELEVATED_LOAN_TO_INCOME = BigDecimal.valueOf(10);
+    private static final int YOUNG_APPLICANT_AGE = 21;
+
+    public AntiFraudScore score(LoanApplicationReceivedEvent applicationData) {
+        int score = BASE_SCORE;
+        BigDecimal monthlyIncome = applicationData.monthlyIncome();
+        if (monthlyIncome == null || monthlyIncome.signum() <= 0) {
+            score += 300;
+        } else if (applicationData.amountRequested() != null) {
+            BigDecimal loanToIncome = applicationData.amountRequested().divide(monthlyIncome, 2, RoundingMode.HALF_UP);
+            if (loanToIncome.compareTo(HIGH_LOAN_TO_INCOME) > 0) {
+                score += 200;
+            } else if (loanToIncome.compareTo(ELEVATED_LOAN_TO_INCOME) > 0) {
+                score += 100;
+            }
+        }
+        LocalDate dateOfBirth = applicationData.dateOfBirth();
+        if (dateOfBirth == null || Period.between(dateOfBirth, LocalDate.now()).getYears() < YOUNG_APPLICANT_AGE) {
+            score += 100;
+        }
+        return new AntiFraudScore(applicationData.applicationId(), Math.min(score, MAX_SCORE), RecommendationType.MANUAL_REVIEW, true);
+    }
+}
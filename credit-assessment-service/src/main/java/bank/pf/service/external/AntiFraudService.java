@@ -6,26 +6,148 @@ import bank.pf.dto.request.AntiFraudScoreRequest;
 import bank.pf.entity.AntiFraudScore;
 import bank.pf.exception.AntiFraudApiException;
 import bank.pf.exception.AntiFraudNullResponseException;
+import bank.pf.exception.ConcurrencyLimitExceededException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+
+// Calls the anti-fraud provider within a latency budget over a pooled HTTP client. When the budget runs out or the
+// call fails, the assessment continues with AntiFraudFallbackScorer instead of failing.
+// Provider answers are cached for a short TTL by CPF and amount band, so retries and duplicate events for the same
+// request reuse them. Fallback scores are never cached, so the next attempt asks the provider again.
+// Provider calls hold a permit of the adaptive "anti-fraud" concurrency limit; a call rejected by the limit is
+// answered by the fallback scorer like a timeout, without reaching the provider.
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AntiFraudService {
 
     private final WireMockSetupConfig wireMockSetupConfig;
+    private final AntiFraudFallbackScorer antiFraudFallbackScorer;
+    private final MeterRegistry meterRegistry;
+    private final AdaptiveConcurrencyLimiters adaptiveConcurrencyLimiters;
+
+    @Value("${app.anti-fraud.timeout:300ms}")
+    private Duration timeout;
+
+    @Value("${app.anti-fraud.connect-timeout:200ms}")
+    private Duration connectTimeout;
+
+    @Value("${app.anti-fraud.fallback.enabled:true}")
+    private boolean fallbackEnabled;
+
+    @Value("${app.anti-fraud.cache.ttl:60s}")
+    private Duration cacheTtl;
+
+    @Value("${app.anti-fraud.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${app.anti-fraud.cache.amount-band-width:1000}")
+    private BigDecimal amountBandWidth;
+
+    private RestClient restClient;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private Cache<String, AntiFraudScore> cache;
+
+    private Counter providerCounter;
+    private Counter cacheCounter;
+    private Counter fallbackCounter;
+    private Counter timeoutFallbackCounter;
+    private Counter errorFallbackCounter;
+    private Counter limitedFallbackCounter;
+
+    @PostConstruct
+    private void init() {
+        var httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        var requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(timeout);
+        restClient = RestClient.builder()
+                .baseUrl(wireMockSetupConfig.getBaseUrl())
+                .requestFactory(requestFactory)
+                .build();
+
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "antiFraudScore");
+        providerCounter = checkCounter("provider");
+        cacheCounter = checkCounter("cache");
+        fallbackCounter = checkCounter("fallback");
+        timeoutFallbackCounter = fallbackCounter("timeout");
+        errorFallbackCounter = fallbackCounter("error");
+        limitedFallbackCounter = fallbackCounter("limited");
+        concurrencyLimiter = adaptiveConcurrencyLimiters.create("anti-fraud");
+        log.info("Anti-fraud client started. timeout={}, fallbackEnabled={}, cacheTtl={}, amountBandWidth={}",
+                timeout, fallbackEnabled, cacheTtl, amountBandWidth);
+    }
 
     public AntiFraudScore checkFraud(LoanApplicationReceivedEvent applicationData) {
+        String cacheKey = cacheKey(applicationData);
+        AntiFraudScore cachedScore = cache.getIfPresent(cacheKey);
+        if (cachedScore != null) {
+            cacheCounter.increment();
+            log.info("Anti-fraud score for application ID {} served from cache.", applicationData.applicationId());
+            return cachedScore.withApplicationId(applicationData.applicationId());
+        }
+
+        try {
+            AntiFraudScore antiFraudScore = callProvider(applicationData);
+            providerCounter.increment();
+            cache.put(cacheKey, antiFraudScore);
+            return antiFraudScore;
+        } catch (AntiFraudNullResponseException | AntiFraudApiException e) {
+            // A cancelled call's result is discarded by the caller, so it needs no fallback score
+            if (!fallbackEnabled || AdaptiveConcurrencyLimiter.isCancellation(e)) {
+                throw e;
+            }
+            boolean timedOut = isTimeout(e);
+            boolean limited = e.getCause() instanceof ConcurrencyLimitExceededException;
+            fallbackCounter.increment();
+            (limited ? limitedFallbackCounter : timedOut ? timeoutFallbackCounter : errorFallbackCounter).increment();
+            AntiFraudScore fallbackScore = antiFraudFallbackScorer.score(applicationData);
+            log.warn("Anti-fraud provider {} for application ID {}. Using local fallback score {}.",
+                    limited ? "at its concurrency limit" : timedOut ? "exceeded " + timeout.toMillis() + "ms" : "failed",
+                    applicationData.applicationId(), fallbackScore.fraudScore());
+            return fallbackScore;
+        }
+    }
+
+    private AntiFraudScore callProvider(LoanApplicationReceivedEvent applicationData) {
+        AdaptiveConcurrencyLimiter.Permit permit = null;
         try {
+            permit = concurrencyLimiter.acquire();
             log.info("Checking fraud for application ID: {}", applicationData.applicationId());
             var antiFraudScoreRequest = AntiFraudScoreRequest.valueOf(applicationData);
-            var antiFraudScore = wireMockSetupConfig.getRestClient().post()
+            var antiFraudScore = restClient.post()
                     .uri("/api/antifraud/check")
                     .body(antiFraudScoreRequest)
                     .retrieve()
                     .body(AntiFraudScore.class);
+            permit.success();
 
             if (antiFraudScore != null) {
                 log.info("Successfully received anti-fraud antiFraudScore for application ID {}: {}", applicationData.applicationId(), antiFraudScore);
@@ -37,10 +159,51 @@ public class AntiFraudService {
             log.error("Received null response from anti-fraud service for application ID {}: {}", applicationData.applicationId(), e.getMessage());
             throw e;
         } catch (Exception e) {
-            log.error("Error during anti-fraud check for application ID {}: {}", applicationData.applicationId(), e.getMessage(), e);
+            if (permit != null) {
+                permit.failed(e);
+            }
+            if (AdaptiveConcurrencyLimiter.isCancellation(e)) {
+                log.debug("Anti-fraud check for application ID {} cancelled: {}", applicationData.applicationId(), e.getMessage());
+            } else {
+                log.error("Error during anti-fraud check for application ID {}: {}", applicationData.applicationId(), e.getMessage());
+            }
             throw new AntiFraudApiException(applicationData.applicationId(), e);
+        } finally {
+            if (permit != null) {
+                permit.dropped();
+            }
         }
     }
 
+    // Amounts within the same band-width bucket share a cache entry: the provider's answer for R$ 5.200 is reused for
+    // a retry at R$ 5.200 or a resubmission at R$ 5.900, but not for R$ 6.000.
+    private String cacheKey(LoanApplicationReceivedEvent applicationData) {
+        BigDecimal amount = applicationData.amountRequested() == null ? BigDecimal.ZERO : applicationData.amountRequested();
+        return applicationData.cpf() + ":" + amount.divide(amountBandWidth, 0, RoundingMode.FLOOR).toPlainString();
+    }
 
+    // The JDK request factory enforces the read timeout by cancelling the response future, which depending on timing
+    // surfaces as HttpTimeoutException or as the bare CancellationException.
+    private static boolean isTimeout(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpTimeoutException || cause instanceof SocketTimeoutException || cause instanceof CancellationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Counter checkCounter(String source) {
+        return Counter.builder("antifraud.checks")
+                .description("Anti-fraud scores by where they came from")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    private Counter fallbackCounter(String reason) {
+        return Counter.builder("antifraud.fallbacks")
+                .description("Anti-fraud checks answered by the local fallback scorer")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
 }
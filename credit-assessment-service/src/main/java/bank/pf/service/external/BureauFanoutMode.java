@@ -0,0 +1,9 @@
+package bank.pf.service.external;
+
+public enum BureauFanoutMode {
+
+    // The first score returned by any provider is used
+    FIRST_RESPONSE,
+    // Scores returned by quorum providers (or by the deadline) are merged
+    BEST_OF
+}
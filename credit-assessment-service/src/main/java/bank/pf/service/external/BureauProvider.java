@@ -0,0 +1,14 @@
+package bank.pf.service.external;
+
+import java.time.Duration;
+
+// One bureau queried by MultiBureauClient. path is relative to the bureau base URL and holds a {cpf} placeholder.
+// stubDelay and stubJitter only shape the local WireMock stub: each stubbed answer takes stubDelay plus up to stubJitter.
+public record BureauProvider(
+        String name,
+        String path,
+        Duration timeout,
+        Duration stubDelay,
+        Duration stubJitter
+) {
+}
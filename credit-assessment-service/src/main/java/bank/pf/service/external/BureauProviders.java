@@ -0,0 +1,38 @@
+package bank.pf.service.external;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+// Reads the bureaus listed in app.bureau-fanout.providers from app.bureau-fanout.provider.<name>.*.
+@Component
+@RequiredArgsConstructor
+public class BureauProviders {
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(1);
+
+    private final Environment environment;
+
+    public List<BureauProvider> all() {
+        String[] names = environment.getProperty("app.bureau-fanout.providers", String[].class, new String[0]);
+        return Arrays.stream(names)
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(this::provider)
+                .toList();
+    }
+
+    private BureauProvider provider(String name) {
+        String prefix = "app.bureau-fanout.provider." + name + ".";
+        return new BureauProvider(
+                name,
+                environment.getProperty(prefix + "path", "/api/bureau/" + name + "/score/{cpf}"),
+                environment.getProperty(prefix + "timeout", Duration.class, DEFAULT_TIMEOUT),
+                environment.getProperty(prefix + "stub-delay", Duration.class, Duration.ZERO),
+                environment.getProperty(prefix + "stub-jitter", Duration.class, Duration.ZERO));
+    }
+}
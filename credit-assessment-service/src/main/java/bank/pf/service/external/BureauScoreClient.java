@@ -0,0 +1,384 @@
+package bank.pf.service.external;
+
+import bank.pf.config.WireMockSetupConfig;
+import bank.pf.dto.request.BureauScoreBulkRequest;
+import bank.pf.dto.response.BureauScoreBulkResponse;
+import bank.pf.entity.BureauScore;
+import bank.pf.exception.BureauApiException;
+import bank.pf.exception.BureauNotFoundException;
+import bank.pf.exception.BureauNullResponseException;
+import bank.pf.exception.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// HTTP client for the bureau score API. With batching enabled, concurrent lookups are collected for up to
+// max-delay-ms or max-batch-size CPFs and sent as one bulk request; each caller's future is completed with its own
+// score. Lookups for a CPF already waiting in the queue share that request. A failed bulk call falls back to one
+// request per CPF, so a bulk outage costs latency rather than answers. Each collected batch is sent from its own
+// virtual thread while the flusher goes on collecting; the "bureau-bulk" limit bounds how many are in flight.
+// A caller gives up after wait-timeout or when interrupted; a queued CPF nobody waits for any more is not sent.
+// Single requests hold a permit of the adaptive "bureau" concurrency limit and bulk requests one of "bureau-bulk", so
+// the slower bulk calls do not set the no-load latency the single calls are compared against.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BureauScoreClient {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final WireMockSetupConfig wireMockSetupConfig;
+    private final MeterRegistry meterRegistry;
+    private final AdaptiveConcurrencyLimiters adaptiveConcurrencyLimiters;
+
+    @Value("${app.bureau-client.batch.enabled:true}")
+    private boolean batchingEnabled;
+
+    @Value("${app.bureau-client.batch.max-batch-size:50}")
+    private int maxBatchSize;
+
+    @Value("${app.bureau-client.batch.max-delay-ms:5}")
+    private long maxDelayMillis;
+
+    @Value("${app.bureau-client.batch.queue-capacity:4096}")
+    private int queueCapacity;
+
+    @Value("${app.bureau-client.batch.wait-timeout:2s}")
+    private Duration waitTimeout;
+
+    private final Map<String, PendingLookup> pendingByCpf = new ConcurrentHashMap<>();
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private AdaptiveConcurrencyLimiter bulkConcurrencyLimiter;
+    private BlockingQueue<PendingLookup> queue;
+    private Thread flusherThread;
+    private ExecutorService bulkExecutor;
+    private volatile boolean running;
+
+    private DistributionSummary batchSizeSummary;
+    private Timer bulkRequestTimer;
+    private Counter sizeTriggeredFlushCounter;
+    private Counter delayTriggeredFlushCounter;
+    private Counter coalescedCounter;
+    private Counter fallbackCounter;
+    private Counter overflowCounter;
+    private Counter abandonedCounter;
+
+    @PostConstruct
+    public void start() {
+        concurrencyLimiter = adaptiveConcurrencyLimiters.create("bureau");
+        if (!batchingEnabled) {
+            log.info("Bureau micro-batching disabled. Scores will be fetched one request per CPF.");
+            return;
+        }
+        bulkConcurrencyLimiter = adaptiveConcurrencyLimiters.create("bureau-bulk");
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        bulkExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        initMetrics();
+        running = true;
+        flusherThread = Thread.ofVirtual().name("bureau-batch-flusher").start(this::runFlushLoop);
+        log.info("Bureau micro-batching started. maxBatchSize={}, maxDelayMs={}, queueCapacity={}",
+                maxBatchSize, maxDelayMillis, queueCapacity);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        flusherThread.join(TimeUnit.SECONDS.toMillis(5));
+        bulkExecutor.shutdown();
+        bulkExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        log.info("Bureau micro-batching stopped.");
+    }
+
+    // Blocks the calling (virtual) thread until the score is known. Throws BureauNotFoundException when the bureau
+    // has no record of the CPF, BureauNullResponseException or BureauApiException otherwise.
+    public BureauScore fetch(String cpf) {
+        if (!running) {
+            return fetchSingle(cpf);
+        }
+        PendingLookup pending = enqueue(cpf);
+        try {
+            return pending.future().get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new BureauApiException(cpf, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abandon(pending);
+            throw new BureauApiException(cpf, e);
+        } catch (TimeoutException e) {
+            abandon(pending);
+            throw new BureauApiException(cpf, e);
+        }
+    }
+
+    private PendingLookup enqueue(String cpf) {
+        while (true) {
+            var pending = new PendingLookup(cpf, new CompletableFuture<>(), System.nanoTime(), new AtomicInteger(1));
+            var alreadyPending = pendingByCpf.putIfAbsent(cpf, pending);
+            if (alreadyPending == null) {
+                if (!running || !queue.offer(pending)) {
+                    overflowCounter.increment();
+                    log.warn("Bureau batch queue full. Fetching CPF {} individually.", cpf);
+                    completeIndividually(pending);
+                }
+                return pending;
+            }
+            // A lookup whose last caller just gave up is being removed; start a new one instead of joining it
+            if (alreadyPending.join()) {
+                coalescedCounter.increment();
+                return alreadyPending;
+            }
+            pendingByCpf.remove(cpf, alreadyPending);
+        }
+    }
+
+    // The caller stops waiting; once no caller is left the lookup is dropped from the map and skipped by the flush
+    private void abandon(PendingLookup pending) {
+        if (pending.leave()) {
+            abandonedCounter.increment();
+            pendingByCpf.remove(pending.cpf(), pending);
+            pending.future().cancel(false);
+        }
+    }
+
+    private void initMetrics() {
+        batchSizeSummary = DistributionSummary.builder("bureau.client.batch.size")
+                .description("Number of CPFs sent per bulk bureau request")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        bulkRequestTimer = Timer.builder("bureau.client.bulk.duration")
+                .description("Duration of each bulk bureau request")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        sizeTriggeredFlushCounter = Counter.builder("bureau.client.batch.flushes")
+                .tag("trigger", "size")
+                .register(meterRegistry);
+        delayTriggeredFlushCounter = Counter.builder("bureau.client.batch.flushes")
+                .tag("trigger", "delay")
+                .register(meterRegistry);
+        coalescedCounter = Counter.builder("bureau.client.batch.coalesced")
+                .description("Lookups that joined a request already queued for the same CPF")
+                .register(meterRegistry);
+        fallbackCounter = Counter.builder("bureau.client.batch.fallbacks")
+                .description("Bulk requests that failed and were retried one CPF at a time")
+                .register(meterRegistry);
+        overflowCounter = Counter.builder("bureau.client.batch.overflows")
+                .description("Lookups that bypassed the queue because it was full")
+                .register(meterRegistry);
+        abandonedCounter = Counter.builder("bureau.client.batch.abandoned")
+                .description("Queued lookups dropped because every caller timed out or was interrupted")
+                .register(meterRegistry);
+        Gauge.builder("bureau.client.batch.queue.depth", queue, BlockingQueue::size)
+                .description("Lookups waiting for the next bulk request")
+                .register(meterRegistry);
+    }
+
+    private void runFlushLoop() {
+        List<PendingLookup> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingLookup first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collectUntilFullOrDeadline(batch, first.enqueuedAtNanos() + TimeUnit.MILLISECONDS.toNanos(maxDelayMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                queue.drainTo(batch);
+            } finally {
+                if (!batch.isEmpty()) {
+                    dispatch(List.copyOf(batch));
+                    batch.clear();
+                }
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+
+    private void collectUntilFullOrDeadline(List<PendingLookup> batch, long deadlineNanos) throws InterruptedException {
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remainingNanos = deadlineNanos - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remainingNanos <= 0) {
+                break;
+            }
+            PendingLookup next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        if (batch.size() >= maxBatchSize) {
+            sizeTriggeredFlushCounter.increment();
+        } else {
+            delayTriggeredFlushCounter.increment();
+        }
+    }
+
+    private void dispatch(List<PendingLookup> collected) {
+        List<PendingLookup> batch = collected.stream().filter(pending -> !pending.future().isDone()).toList();
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            bulkExecutor.execute(() -> flush(batch));
+        } catch (RejectedExecutionException e) {
+            // Only after stop() gave up waiting; answer the remaining callers from here
+            flush(batch);
+        }
+    }
+
+    private void flush(List<PendingLookup> batch) {
+        batchSizeSummary.record(batch.size());
+        Map<String, BureauScore> scoresByCpf;
+        long startTime = System.nanoTime();
+        try {
+            scoresByCpf = fetchBulk(batch.stream().map(PendingLookup::cpf).toList());
+            bulkRequestTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        } catch (ConcurrencyLimitExceededException e) {
+            // Retrying one request per CPF would only add load to a bureau that is already at its limit
+            log.warn("Bulk bureau request for {} CPFs rejected: {}", batch.size(), e.getMessage());
+            for (PendingLookup pending : batch) {
+                pendingByCpf.remove(pending.cpf(), pending);
+                pending.future().completeExceptionally(new BureauApiException(pending.cpf(), e));
+            }
+            return;
+        } catch (Exception e) {
+            bulkRequestTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            fallbackCounter.increment();
+            log.warn("Bulk bureau request for {} CPFs failed: {}. Fetching individually.", batch.size(), e.getMessage());
+            // Individual requests run concurrently so one slow CPF does not hold up the rest of the batch
+            batch.forEach(pending -> Thread.ofVirtual().start(() -> completeIndividually(pending)));
+            return;
+        }
+
+        log.info("Bulk bureau request resolved {} of {} CPFs.", scoresByCpf.size(), batch.size());
+        for (PendingLookup pending : batch) {
+            BureauScore score = scoresByCpf.get(pending.cpf());
+            pendingByCpf.remove(pending.cpf(), pending);
+            if (score != null) {
+                pending.future().complete(score);
+            } else {
+                pending.future().completeExceptionally(new BureauNotFoundException(pending.cpf()));
+            }
+        }
+    }
+
+    private Map<String, BureauScore> fetchBulk(List<String> cpfs) {
+        var permit = bulkConcurrencyLimiter.acquire();
+        BureauScoreBulkResponse response;
+        try {
+            response = wireMockSetupConfig.getRestClient().post()
+                    .uri("/api/bureau/score/bulk")
+                    .body(new BureauScoreBulkRequest(cpfs))
+                    .retrieve()
+                    .body(BureauScoreBulkResponse.class);
+            permit.success();
+        } catch (RuntimeException e) {
+            permit.failed(e);
+            throw e;
+        } finally {
+            permit.dropped();
+        }
+        if (response == null || response.scores() == null) {
+            throw new IllegalStateException("Bulk bureau request returned an empty body");
+        }
+        Map<String, BureauScore> scoresByCpf = new HashMap<>(response.scores().size() * 2);
+        for (BureauScore score : response.scores()) {
+            if (score != null && score.cpf() != null) {
+                scoresByCpf.put(score.cpf(), score);
+            }
+        }
+        return scoresByCpf;
+    }
+
+    private void completeIndividually(PendingLookup pending) {
+        try {
+            BureauScore score = fetchSingle(pending.cpf());
+            pendingByCpf.remove(pending.cpf(), pending);
+            pending.future().complete(score);
+        } catch (RuntimeException e) {
+            pendingByCpf.remove(pending.cpf(), pending);
+            pending.future().completeExceptionally(e);
+        }
+    }
+
+    private BureauScore fetchSingle(String cpf) {
+        AdaptiveConcurrencyLimiter.Permit permit = null;
+        try {
+            permit = concurrencyLimiter.acquire();
+            var score = wireMockSetupConfig.getRestClient().get()
+                    .uri("/api/bureau/score/{cpf}", cpf)
+                    .retrieve()
+                    .body(BureauScore.class);
+            permit.success();
+            if (score == null) {
+                throw new BureauNullResponseException(cpf);
+            }
+            return score;
+        } catch (BureauNullResponseException e) {
+            throw e;
+        } catch (HttpClientErrorException.NotFound e) {
+            // An answer, not a sign of overload
+            permit.success();
+            throw new BureauNotFoundException(cpf, e);
+        } catch (Exception e) {
+            if (permit != null) {
+                permit.failed(e);
+            }
+            throw new BureauApiException(cpf, e);
+        } finally {
+            if (permit != null) {
+                permit.dropped();
+            }
+        }
+    }
+
+    // waiters counts the callers of this lookup; 0 means the last one left and it can no longer be joined
+    private record PendingLookup(String cpf, CompletableFuture<BureauScore> future, long enqueuedAtNanos, AtomicInteger waiters) {
+
+        boolean join() {
+            return waiters.getAndUpdate(count -> count == 0 ? 0 : count + 1) > 0;
+        }
+
+        // True for the last caller to leave
+        boolean leave() {
+            return waiters.decrementAndGet() == 0;
+        }
+    }
+}
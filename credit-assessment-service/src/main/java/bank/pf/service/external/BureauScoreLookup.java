@@ -0,0 +1,28 @@
+package bank.pf.service.external;
+
+import bank.pf.entity.BureauScore;
+import bank.pf.enums.StaleBureauScoreReason;
+
+// staleReason is null for a score within the cache TTL, else why an older one was served.
+public record BureauScoreLookup(BureauScore score, StaleBureauScoreReason staleReason) {
+
+    public static BureauScoreLookup fresh(BureauScore score) {
+        return new BureauScoreLookup(score, null);
+    }
+
+    public static BureauScoreLookup staleIfError(BureauScore score) {
+        return new BureauScoreLookup(score, StaleBureauScoreReason.BUREAU_UNAVAILABLE);
+    }
+
+    public static BureauScoreLookup staleWhileFetching(BureauScore score) {
+        return new BureauScoreLookup(score, StaleBureauScoreReason.FETCH_IN_PROGRESS);
+    }
+
+    public static BureauScoreLookup reusedFromProfile(BureauScore score) {
+        return new BureauScoreLookup(score, StaleBureauScoreReason.PROFILE_REUSE);
+    }
+
+    public boolean stale() {
+        return staleReason != null;
+    }
+}
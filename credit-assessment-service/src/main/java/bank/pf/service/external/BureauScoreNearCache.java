@@ -0,0 +1,171 @@
+package bank.pf.service.external;
+
+import bank.pf.entity.CachedBureauScore;
+import bank.pf.util.TimeOrderedIdGenerator;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Bounded in-process tier in front of Redis. Whenever a replica writes a new score to Redis it publishes the CPF
+// on the invalidation channel and every other replica drops its local copy. A publish that races with a concurrent
+// Redis read can leave a stale entry behind, which is why the local TTL stays shorter than the Redis TTL.
+// Until the invalidation channel is subscribed the near tier is bypassed, since nothing would evict its entries.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BureauScoreNearCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "bureauScore:invalidate";
+    private static final String MESSAGE_SEPARATOR = "|";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.bureau-cache.near.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.bureau-cache.near.ttl:10s}")
+    private Duration ttl;
+
+    @Value("${app.bureau-cache.near.subscribe-retry-ms:5000}")
+    private long subscribeRetryMillis;
+
+    private final String instanceId = TimeOrderedIdGenerator.nextId();
+    private final List<Consumer<String>> invalidationListeners = new CopyOnWriteArrayList<>();
+
+    private Cache<String, CachedBureauScore> cache;
+    private Counter hitCounter;
+    private Counter missCounter;
+    private Counter bypassCounter;
+    private volatile boolean subscribed;
+    private Thread subscriberThread;
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @PostConstruct
+    private void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "bureauScoreNear");
+        hitCounter = lookupCounter(meterRegistry, "near", "hit");
+        missCounter = lookupCounter(meterRegistry, "near", "miss");
+        bypassCounter = lookupCounter(meterRegistry, "near", "bypass");
+        // Not a Spring-managed lifecycle bean: it is started here once Redis is reachable, so the service still boots
+        // during a Redis outage.
+        redisMessageListenerContainer = createListenerContainer();
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+        subscriberThread = Thread.ofVirtual().name("bureau-near-cache-subscriber").start(this::subscribeWithRetry);
+        log.info("Bureau score near cache started. maxSize={}, ttl={}, instanceId={}", maxSize, ttl, instanceId);
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        if (subscriberThread != null) {
+            subscriberThread.interrupt();
+        }
+        redisMessageListenerContainer.destroy();
+    }
+
+    RedisMessageListenerContainer createListenerContainer() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.afterPropertiesSet();
+        return container;
+    }
+
+    private void subscribeWithRetry() {
+        while (!subscribed && !Thread.currentThread().isInterrupted()) {
+            try {
+                redisMessageListenerContainer.start();
+                subscribed = true;
+                log.info("Subscribed to near cache invalidation channel {}", INVALIDATION_CHANNEL);
+            } catch (Exception e) {
+                log.warn("Could not subscribe to {} ({}). Near cache bypassed, retrying in {}ms.",
+                        INVALIDATION_CHANNEL, e.getMessage(), subscribeRetryMillis);
+                try {
+                    Thread.sleep(subscribeRetryMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    // Lookups are reported per tier so the hit ratio of each one can be read separately.
+    public static Counter lookupCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("bureau.score.cache.lookups")
+                .description("Bureau score cache lookups by tier and result")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public CachedBureauScore get(String cpf) {
+        if (!subscribed) {
+            bypassCounter.increment();
+            return null;
+        }
+        CachedBureauScore entry = cache.getIfPresent(cpf);
+        (entry != null ? hitCounter : missCounter).increment();
+        return entry;
+    }
+
+    public void put(String cpf, CachedBureauScore entry) {
+        if (subscribed) {
+            cache.put(cpf, entry);
+        }
+    }
+
+    // Called after this replica wrote a new value to Redis: the local copy is already fresh, the others are not.
+    public void publishInvalidation(String cpf) {
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, instanceId + MESSAGE_SEPARATOR + cpf);
+        } catch (Exception e) {
+            log.warn("Error publishing near cache invalidation for CPF {}: {}", cpf, e.getMessage());
+        }
+    }
+
+    public void invalidate(String cpf) {
+        cache.invalidate(cpf);
+    }
+
+    // Told the CPF of every invalidation published by another replica, i.e. whenever it wrote a new value to Redis.
+    public void addInvalidationListener(Consumer<String> listener) {
+        invalidationListeners.add(listener);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(MESSAGE_SEPARATOR);
+        if (separator < 0 || body.startsWith(instanceId + MESSAGE_SEPARATOR)) {
+            return;
+        }
+        String cpf = body.substring(separator + 1);
+        invalidate(cpf);
+        invalidationListeners.forEach(listener -> listener.accept(cpf));
+    }
+}
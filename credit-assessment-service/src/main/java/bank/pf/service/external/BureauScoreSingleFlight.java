@@ -0,0 +1,192 @@
+package bank.pf.service.external;
+
+import bank.pf.util.TimeOrderedIdGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+
+// Collapses concurrent bureau fetches of one CPF across all replicas into a single call. The first caller takes a
+// short Redis lease (SET NX PX) and fetches; the others wait until the holder's write reaches them - its near cache
+// invalidation message, or a local notification when the holder runs in this replica - and then read the fresh entry.
+// The lease expires by itself after lease-ttl, so a replica that dies mid-fetch only delays the others by that much.
+// When Redis cannot be reached every caller is its own leader, as before.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BureauScoreSingleFlight {
+
+    private static final String LEASE_PREFIX = "bureauScoreLease:";
+    // Deletes the lease only if it is still ours: after lease-ttl another replica may hold it
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final BureauScoreNearCache bureauScoreNearCache;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.bureau-cache.single-flight.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.bureau-cache.single-flight.lease-ttl:2s}")
+    private Duration leaseTtl;
+
+    @Value("${app.bureau-cache.single-flight.wait-timeout:500ms}")
+    private Duration waitTimeout;
+
+    private final Map<String, Waiters> waitersByCpf = new ConcurrentHashMap<>();
+
+    private Counter leaderCounter;
+    private Counter unavailableCounter;
+    private Counter collapsedCounter;
+    private Counter leaderFailedCounter;
+    private Counter staleCounter;
+    private Counter timeoutCounter;
+    private Timer waitTimer;
+
+    @PostConstruct
+    private void init() {
+        leaderCounter = callCounter("leader");
+        unavailableCounter = callCounter("lease-unavailable");
+        collapsedCounter = callCounter("collapsed");
+        leaderFailedCounter = callCounter("leader-failed");
+        staleCounter = callCounter("stale");
+        timeoutCounter = callCounter("wait-timeout");
+        waitTimer = Timer.builder("bureau.score.singleflight.wait")
+                .description("Time a collapsed bureau lookup waited for the replica fetching the same CPF")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        bureauScoreNearCache.addInvalidationListener(this::notifyWaiters);
+    }
+
+    // Returns the lease to fetch with, or null when another caller (here or in another replica) is already fetching.
+    public Lease tryAcquire(String cpf) {
+        if (!enabled) {
+            return new Lease(cpf, null);
+        }
+        try {
+            // One token per lease, so a caller whose lease expired cannot release the one a later caller took
+            String token = TimeOrderedIdGenerator.nextId();
+            Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(LEASE_PREFIX + cpf, token, leaseTtl);
+            if (Boolean.TRUE.equals(acquired)) {
+                leaderCounter.increment();
+                return new Lease(cpf, token);
+            }
+            return null;
+        } catch (Exception e) {
+            unavailableCounter.increment();
+            log.warn("Could not take bureau fetch lease for CPF {}: {}. Fetching without it.", cpf, e.getMessage());
+            return new Lease(cpf, null);
+        }
+    }
+
+    // Waits up to wait-timeout for the lease holder to finish. resultAvailable is checked once the wait is registered,
+    // so a result written between tryAcquire and this call is not missed. Returns false on timeout. Being woken only
+    // means the holder is done, not that it succeeded: the caller reports which with recordCollapsed or recordLeaderFailed.
+    public boolean awaitResult(String cpf, BooleanSupplier resultAvailable) {
+        long startTime = System.nanoTime();
+        CompletableFuture<Void> waiter = waitersByCpf.merge(cpf, new Waiters(new CompletableFuture<>(), 1), Waiters::join).future();
+        try {
+            if (!resultAvailable.getAsBoolean()) {
+                waiter.get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            return true;
+        } catch (TimeoutException e) {
+            timeoutCounter.increment();
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return false;
+        } finally {
+            // Other callers may wait on the same future: the entry goes once the last of them leaves
+            waitersByCpf.computeIfPresent(cpf, (key, waiters) -> waiters.future() == waiter ? waiters.leave() : waiters);
+            waitTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // A caller that waited for the lease holder and read the entry it wrote
+    public void recordCollapsed() {
+        collapsedCounter.increment();
+    }
+
+    // A caller that waited for the lease holder but found no entry after it finished, and fetches itself
+    public void recordLeaderFailed() {
+        leaderFailedCounter.increment();
+    }
+
+    // A caller that found a lease held and answered with its expired entry instead of waiting
+    public void recordStaleServed() {
+        staleCounter.increment();
+    }
+
+    private void notifyWaiters(String cpf) {
+        Waiters waiters = waitersByCpf.remove(cpf);
+        if (waiters != null) {
+            waiters.future().complete(null);
+        }
+    }
+
+    private Counter callCounter(String role) {
+        return Counter.builder("bureau.score.singleflight.calls")
+                .description("Bureau fetches by single-flight role: leader, or collapsed onto another caller's fetch")
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+
+    // The callers of one CPF waiting for the same lease holder
+    private record Waiters(CompletableFuture<Void> future, int count) {
+
+        Waiters join(Waiters joining) {
+            return new Waiters(future, count + joining.count());
+        }
+
+        Waiters leave() {
+            return count == 1 ? null : new Waiters(future, count - 1);
+        }
+    }
+
+    public final class Lease implements AutoCloseable {
+
+        private final String cpf;
+        // Null when the fetch goes ahead without a lease
+        private final String token;
+
+        private Lease(String cpf, String token) {
+            this.cpf = cpf;
+            this.token = token;
+        }
+
+        // Wakes local waiters (remote ones are woken by the near cache invalidation of the write) and frees the lease,
+        // also after a failed fetch, so the next caller tries again at once instead of after lease-ttl.
+        @Override
+        public void close() {
+            notifyWaiters(cpf);
+            if (token == null) {
+                return;
+            }
+            try {
+                stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(LEASE_PREFIX + cpf), token);
+            } catch (Exception e) {
+                log.warn("Could not release bureau fetch lease for CPF {}: {}", cpf, e.getMessage());
+            }
+        }
+    }
+}
@@ -1,75 +1,276 @@
 package bank.pf.service.external;
 
-import bank.pf.config.WireMockSetupConfig;
 import bank.pf.entity.BureauScore;
+import bank.pf.entity.CachedBureauScore;
 import bank.pf.exception.BureauApiException;
 import bank.pf.exception.BureauNotFoundException;
 import bank.pf.exception.BureauNullResponseException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BureauService {
 
-    private final WireMockSetupConfig wireMockSetupConfig;
-    private final RedisTemplate<String, BureauScore> bureauScoreRedisTemplate;
-    private static final String BUREAU_SCORE_CACHE_PREFIX = "bureauScore:";
-    private static final long CACHE_TTL_SECONDS = 24;
+    private final BureauScoreClient bureauScoreClient;
+    private final MultiBureauClient multiBureauClient;
+    private final RedisTemplate<String, CachedBureauScore> bureauScoreRedisTemplate;
+    private final BureauScoreNearCache bureauScoreNearCache;
+    private final BureauScoreSingleFlight bureauScoreSingleFlight;
+    private final MeterRegistry meterRegistry;
+    private static final String BUREAU_SCORE_CACHE_PREFIX = "bureauScoreEntry:";
 
-    public BureauScore getScore(String cpf) {
+    // A positive entry is fresh for positive-ttl. Once it is older than refresh-ahead-factor * positive-ttl, a hit
+    // triggers a background refresh, so hot CPFs are renewed before they expire. After positive-ttl the entry is
+    // only kept (for stale-if-error) to answer when the bureau itself is failing.
+    @Value("${app.bureau-cache.positive-ttl:24s}")
+    private Duration positiveTtl;
+
+    @Value("${app.bureau-cache.negative-ttl:30s}")
+    private Duration negativeTtl;
+
+    @Value("${app.bureau-cache.refresh-ahead-factor:0.8}")
+    private double refreshAheadFactor;
+
+    @Value("${app.bureau-cache.stale-if-error:5m}")
+    private Duration staleIfError;
+
+    private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<String> refreshesInFlight = ConcurrentHashMap.newKeySet();
+
+    private Counter redisHitCounter;
+    private Counter redisMissCounter;
+    private Counter negativeHitCounter;
+    private Counter refreshAheadCounter;
+    private Counter staleServedCounter;
+
+    @PostConstruct
+    private void initMetrics() {
+        redisHitCounter = BureauScoreNearCache.lookupCounter(meterRegistry, "redis", "hit");
+        redisMissCounter = BureauScoreNearCache.lookupCounter(meterRegistry, "redis", "miss");
+        negativeHitCounter = policyCounter("negative-hit");
+        refreshAheadCounter = policyCounter("refresh-ahead");
+        staleServedCounter = policyCounter("stale-if-error");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    public BureauScoreLookup getScore(String cpf) {
+        return getScore(cpf, readCache(cpf));
+    }
+
+    // Applies the cache policy to an entry the caller already read (null = not cached), e.g. from readCache(Collection).
+    public BureauScoreLookup getScore(String cpf, CachedBureauScore cached) {
         log.info("WiremockBureauService.getScore called with cpf: {}", cpf);
-        String cacheKey = BUREAU_SCORE_CACHE_PREFIX + cpf;
+        long now = System.currentTimeMillis();
+        if (cached != null) {
+            long age = cached.ageMillis(now);
+            if (cached.notFound()) {
+                if (age < negativeTtl.toMillis()) {
+                    negativeHitCounter.increment();
+                    log.info("Bureau score for CPF {} cached as not found.", cpf);
+                    throw new BureauNotFoundException(cpf);
+                }
+            } else if (age < positiveTtl.toMillis()) {
+                if (age >= positiveTtl.toMillis() * refreshAheadFactor) {
+                    scheduleRefresh(cpf);
+                }
+                return BureauScoreLookup.fresh(cached.score());
+            } else if (age < positiveTtl.plus(staleIfError).toMillis()) {
+                var lease = bureauScoreSingleFlight.tryAcquire(cpf);
+                if (lease == null) {
+                    bureauScoreSingleFlight.recordStaleServed();
+                    log.info("Bureau score for CPF {} is being fetched elsewhere. Serving cached score fetched {}ms ago.", cpf, age);
+                    return BureauScoreLookup.staleWhileFetching(cached.score());
+                }
+                try (lease) {
+                    return BureauScoreLookup.fresh(fetchAndCache(cpf));
+                } catch (BureauApiException | BureauNullResponseException e) {
+                    staleServedCounter.increment();
+                    log.warn("Bureau unavailable for CPF {}. Serving cached score fetched {}ms ago.", cpf, age);
+                    return BureauScoreLookup.staleIfError(cached.score());
+                }
+            }
+        }
+        return BureauScoreLookup.fresh(fetchCollapsed(cpf));
+    }
+
+    // Nothing usable cached: one caller across the replicas fetches, the others wait for its write and read it back.
+    // Without a result in time (the holder failed or is slow) they fetch themselves.
+    private BureauScore fetchCollapsed(String cpf) {
+        var lease = bureauScoreSingleFlight.tryAcquire(cpf);
+        if (lease != null) {
+            try (lease) {
+                return fetchAndCache(cpf);
+            }
+        }
+        if (bureauScoreSingleFlight.awaitResult(cpf, () -> freshEntry(cpf) != null)) {
+            CachedBureauScore entry = freshEntry(cpf);
+            if (entry != null) {
+                bureauScoreSingleFlight.recordCollapsed();
+                log.info("Bureau score for CPF {} fetched by another caller.", cpf);
+                if (entry.notFound()) {
+                    throw new BureauNotFoundException(cpf);
+                }
+                return entry.score();
+            }
+            bureauScoreSingleFlight.recordLeaderFailed();
+        }
+        log.info("No bureau score for CPF {} from the caller holding the lease. Fetching it.", cpf);
+        return fetchAndCache(cpf);
+    }
+
+    private CachedBureauScore freshEntry(String cpf) {
+        CachedBureauScore entry = readCache(cpf);
+        if (entry == null) {
+            return null;
+        }
+        Duration ttl = entry.notFound() ? negativeTtl : positiveTtl;
+        return entry.ageMillis(System.currentTimeMillis()) < ttl.toMillis() ? entry : null;
+    }
+
+    private CachedBureauScore readCache(String cpf) {
+        var nearCachedScore = bureauScoreNearCache.get(cpf);
+        if (nearCachedScore != null) {
+            log.info("Bureau score for CPF {} found in near cache.", cpf);
+            return nearCachedScore;
+        }
 
         try {
-            var cachedScore = bureauScoreRedisTemplate.opsForValue().get(cacheKey);
+            var cachedScore = bureauScoreRedisTemplate.opsForValue().get(BUREAU_SCORE_CACHE_PREFIX + cpf);
             if (cachedScore != null) {
+                redisHitCounter.increment();
                 log.info("Bureau score for CPF {} found in cache.", cpf);
+                bureauScoreNearCache.put(cpf, cachedScore);
                 return cachedScore;
             }
+            redisMissCounter.increment();
         } catch (Exception e) {
             log.warn("Error accessing Redis cache for bureau score (CPF: {}): {}", cpf, e.getMessage());
         }
+        return null;
+    }
 
-        log.info("Fetching bureau score for CPF {} from external service.", cpf);
+    // Resolves a whole batch with one MGET for everything the near cache does not hold.
+    public Map<String, CachedBureauScore> readCache(Collection<String> cpfs) {
+        Map<String, CachedBureauScore> entries = new HashMap<>();
+        List<String> nearMisses = new ArrayList<>();
+        for (String cpf : new LinkedHashSet<>(cpfs)) {
+            var nearCachedScore = bureauScoreNearCache.get(cpf);
+            if (nearCachedScore != null) {
+                entries.put(cpf, nearCachedScore);
+            } else {
+                nearMisses.add(cpf);
+            }
+        }
+        if (nearMisses.isEmpty()) {
+            return entries;
+        }
+
+        int nearHits = entries.size();
         try {
-            var score = wireMockSetupConfig.getRestClient().get()
-                    .uri("/api/bureau/score/{cpf}", cpf)
-                    .retrieve()
-                    .body(BureauScore.class);
-
-            if (score != null) {
-                log.info("Successfully fetched bureau score for CPF {}: {}", cpf, score);
-                savingBureauScoreInCache(cpf, cacheKey, score);
-                return score;
+            List<CachedBureauScore> cachedScores = bureauScoreRedisTemplate.opsForValue()
+                    .multiGet(nearMisses.stream().map(cpf -> BUREAU_SCORE_CACHE_PREFIX + cpf).toList());
+            for (int i = 0; i < nearMisses.size(); i++) {
+                CachedBureauScore cachedScore = cachedScores == null ? null : cachedScores.get(i);
+                if (cachedScore != null) {
+                    redisHitCounter.increment();
+                    entries.put(nearMisses.get(i), cachedScore);
+                    bureauScoreNearCache.put(nearMisses.get(i), cachedScore);
+                } else {
+                    redisMissCounter.increment();
+                }
             }
-            throw new BureauNullResponseException(cpf);
+            log.info("Bureau cache batch lookup: {} CPFs, {} from near cache, {} from Redis.",
+                    nearHits + nearMisses.size(), nearHits, entries.size() - nearHits);
+        } catch (Exception e) {
+            log.warn("Error accessing Redis cache for bureau score batch of {} CPFs: {}", nearMisses.size(), e.getMessage());
+        }
+        return entries;
+    }
+
+    // Refresh-ahead runs at most once per CPF per replica, and is skipped when another replica holds the fetch lease;
+    // callers keep using the cached score meanwhile.
+    private void scheduleRefresh(String cpf) {
+        if (!refreshesInFlight.add(cpf)) {
+            return;
+        }
+        refreshAheadCounter.increment();
+        refreshExecutor.submit(() -> {
+            try (var lease = bureauScoreSingleFlight.tryAcquire(cpf)) {
+                if (lease != null) {
+                    fetchAndCache(cpf);
+                }
+            } catch (Exception e) {
+                log.warn("Refresh-ahead of bureau score for CPF {} failed: {}", cpf, e.getMessage());
+            } finally {
+                refreshesInFlight.remove(cpf);
+            }
+        });
+    }
+
+    private BureauScore fetchAndCache(String cpf) {
+        log.info("Fetching bureau score for CPF {} from external service.", cpf);
+        try {
+            // With the fan-out enabled the configured bureaus replace the single bureau endpoint
+            var score = multiBureauClient.isEnabled() ? multiBureauClient.fetch(cpf) : bureauScoreClient.fetch(cpf);
+            log.info("Successfully fetched bureau score for CPF {}: {}", cpf, score);
+            savingBureauScoreInCache(cpf, CachedBureauScore.positive(score, System.currentTimeMillis()), positiveTtl.plus(staleIfError));
+            return score;
         } catch (BureauNullResponseException e) {
             log.error("Received null response from bureau service for CPF {}: {}", cpf, e.getMessage());
             throw e;
-        } catch (HttpClientErrorException.NotFound e) {
-            log.warn("Bureau score not found for CPF {}: {}", cpf, e.getStatusCode());
-            throw new BureauNotFoundException(cpf, e);
+        } catch (BureauNotFoundException e) {
+            log.warn("Bureau score not found for CPF {}", cpf);
+            savingBureauScoreInCache(cpf, CachedBureauScore.negative(System.currentTimeMillis()), negativeTtl);
+            throw e;
+        } catch (BureauApiException e) {
+            log.error("Error fetching bureau score for CPF {}: {}", cpf, e.getMessage(), e);
+            throw e;
         } catch (Exception e) {
             log.error("Error fetching bureau score for CPF {}: {}", cpf, e.getMessage(), e);
             throw new BureauApiException(cpf, e);
         }
     }
 
-    private void savingBureauScoreInCache(String cpf, String cacheKey, BureauScore score) {
+    private void savingBureauScoreInCache(String cpf, CachedBureauScore entry, Duration redisTtl) {
         try {
-            bureauScoreRedisTemplate.opsForValue().set(cacheKey, score, CACHE_TTL_SECONDS, TimeUnit.SECONDS);
+            bureauScoreRedisTemplate.opsForValue().set(BUREAU_SCORE_CACHE_PREFIX + cpf, entry, redisTtl);
             log.info("Bureau score for CPF {} saved to cache.", cpf);
+            bureauScoreNearCache.publishInvalidation(cpf);
         } catch (Exception e) {
             log.warn("Error saving bureau score to Redis cache (CPF: {}): {}", cpf, e.getMessage());
         }
+        bureauScoreNearCache.put(cpf, entry);
     }
 
-
+    private Counter policyCounter(String outcome) {
+        return Counter.builder("bureau.score.cache.policy")
+                .description("Bureau cache policy decisions")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 }
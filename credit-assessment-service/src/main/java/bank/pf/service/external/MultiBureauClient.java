@@ -0,0 +1,253 @@
+package bank.pf.service.external;
+
+import bank.pf.config.WireMockSetupConfig;
+import bank.pf.entity.BureauScore;
+import bank.pf.exception.BureauApiException;
+import bank.pf.exception.BureauNotFoundException;
+import bank.pf.exception.BureauNullResponseException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.math.BigDecimal;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Queries every configured bureau in parallel (one virtual thread per provider) instead of the single bureau endpoint.
+// FIRST_RESPONSE returns the first score any provider answers with; BEST_OF waits until quorum providers answered or
+// the deadline passed and merges the scores it has (see merge). Calls still running once the answer is chosen are
+// cancelled, which aborts their HTTP exchange. Each provider holds a permit of its own "bureau-<name>" concurrency limit.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MultiBureauClient {
+
+    private final WireMockSetupConfig wireMockSetupConfig;
+    private final BureauProviders bureauProviders;
+    private final AdaptiveConcurrencyLimiters adaptiveConcurrencyLimiters;
+    private final MeterRegistry meterRegistry;
+
+    @Getter
+    @Value("${app.bureau-fanout.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.bureau-fanout.mode:first-response}")
+    private String mode;
+
+    @Value("${app.bureau-fanout.deadline:800ms}")
+    private Duration deadline;
+
+    // 0 waits for every provider
+    @Value("${app.bureau-fanout.quorum:0}")
+    private int quorum;
+
+    private BureauFanoutMode fanoutMode;
+    private List<ProviderClient> providerClients;
+    private ExecutorService executor;
+    private Timer fanoutTimer;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        fanoutMode = BureauFanoutMode.valueOf(mode.trim().toUpperCase().replace('-', '_'));
+        providerClients = bureauProviders.all().stream().map(this::providerClient).toList();
+        if (providerClients.isEmpty()) {
+            throw new IllegalStateException("app.bureau-fanout.enabled is set but app.bureau-fanout.providers is empty");
+        }
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        fanoutTimer = Timer.builder("bureau.fanout.duration")
+                .description("Time to a bureau answer across all providers")
+                .tag("mode", fanoutMode.name())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        log.info("Bureau fan-out started. mode={}, deadline={}, quorum={}, providers={}",
+                fanoutMode, deadline, requiredAnswers(), providerClients.stream().map(ProviderClient::name).toList());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    // Same contract as BureauScoreClient.fetch: BureauNotFoundException when no provider has a score and at least one
+    // of them answered "not found", BureauApiException when they all failed or none answered before the deadline.
+    public BureauScore fetch(String cpf) {
+        long startTime = System.nanoTime();
+        long deadlineNanos = startTime + deadline.toNanos();
+        CompletionService<ProviderAnswer> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<ProviderAnswer>> calls = new ArrayList<>(providerClients.size());
+        for (ProviderClient client : providerClients) {
+            calls.add(completionService.submit(() -> client.fetch(cpf)));
+        }
+
+        List<BureauScore> scores = new ArrayList<>(providerClients.size());
+        List<RuntimeException> failures = new ArrayList<>();
+        try {
+            int required = requiredAnswers();
+            for (int pending = calls.size(); pending > 0 && scores.size() < required; pending--) {
+                long remainingNanos = deadlineNanos - System.nanoTime();
+                Future<ProviderAnswer> done = remainingNanos > 0 ? completionService.poll(remainingNanos, TimeUnit.NANOSECONDS) : null;
+                if (done == null) {
+                    break;
+                }
+                ProviderAnswer answer = done.get();
+                if (answer.score() != null) {
+                    scores.add(answer.score());
+                } else {
+                    failures.add(answer.failure());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BureauApiException(cpf, e);
+        } catch (ExecutionException e) {
+            throw new BureauApiException(cpf, e.getCause());
+        } finally {
+            cancelRemaining(calls);
+            fanoutTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+
+        if (!scores.isEmpty()) {
+            return fanoutMode == BureauFanoutMode.FIRST_RESPONSE ? scores.getFirst() : merge(cpf, scores);
+        }
+        if (failures.stream().anyMatch(BureauNotFoundException.class::isInstance)) {
+            throw new BureauNotFoundException(cpf);
+        }
+        throw new BureauApiException(cpf, failures.isEmpty()
+                ? new TimeoutException("No bureau answered within " + deadline.toMillis() + "ms")
+                : failures.getFirst());
+    }
+
+    // Conservative merge: the lowest score with its assessment and payment history, a restriction if any bureau
+    // reports one, and the highest monthly debts any bureau knows of.
+    static BureauScore merge(String cpf, List<BureauScore> scores) {
+        BureauScore lowest = scores.stream()
+                .filter(score -> score.score() != null)
+                .min(Comparator.comparingInt(BureauScore::score))
+                .orElse(scores.getFirst());
+        boolean hasRestrictions = scores.stream().anyMatch(BureauScore::hasRestrictions);
+        BigDecimal monthlyDebts = scores.stream()
+                .map(BureauScore::monthlyDebts)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        return new BureauScore(cpf, lowest.score(), lowest.assessment(), hasRestrictions, lowest.paymentHistory(), monthlyDebts);
+    }
+
+    private int requiredAnswers() {
+        if (fanoutMode == BureauFanoutMode.FIRST_RESPONSE) {
+            return 1;
+        }
+        return quorum > 0 ? Math.min(quorum, providerClients.size()) : providerClients.size();
+    }
+
+    private void cancelRemaining(List<Future<ProviderAnswer>> calls) {
+        for (int i = 0; i < calls.size(); i++) {
+            if (calls.get(i).cancel(true)) {
+                recordCall(providerClients.get(i).name(), "cancelled");
+            }
+        }
+    }
+
+    private void recordCall(String provider, String outcome) {
+        meterRegistry.counter("bureau.fanout.calls", "provider", provider, "outcome", outcome).increment();
+    }
+
+    private ProviderClient providerClient(BureauProvider provider) {
+        var httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        var requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(provider.timeout());
+        var restClient = RestClient.builder()
+                .baseUrl(wireMockSetupConfig.getBaseUrl())
+                .requestFactory(requestFactory)
+                .build();
+        return new ProviderClient(provider, restClient, adaptiveConcurrencyLimiters.create("bureau-" + provider.name()));
+    }
+
+    // Either score or failure is set
+    private record ProviderAnswer(BureauScore score, RuntimeException failure) {
+    }
+
+    private final class ProviderClient {
+
+        private final BureauProvider provider;
+        private final RestClient restClient;
+        private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+        private ProviderClient(BureauProvider provider, RestClient restClient, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+            this.provider = provider;
+            this.restClient = restClient;
+            this.concurrencyLimiter = concurrencyLimiter;
+        }
+
+        private String name() {
+            return provider.name();
+        }
+
+        // Never throws: the outcome is returned so the fan-out knows which provider it came from
+        private ProviderAnswer fetch(String cpf) {
+            AdaptiveConcurrencyLimiter.Permit permit = null;
+            try {
+                permit = concurrencyLimiter.acquire();
+                var score = restClient.get()
+                        .uri(provider.path(), cpf)
+                        .retrieve()
+                        .body(BureauScore.class);
+                permit.success();
+                if (score == null) {
+                    recordCall(name(), "failed");
+                    return new ProviderAnswer(null, new BureauNullResponseException(cpf));
+                }
+                recordCall(name(), "answered");
+                return new ProviderAnswer(score, null);
+            } catch (HttpClientErrorException.NotFound e) {
+                permit.success();
+                recordCall(name(), "not_found");
+                return new ProviderAnswer(null, new BureauNotFoundException(cpf, e));
+            } catch (Exception e) {
+                if (AdaptiveConcurrencyLimiter.isCancellation(e)) {
+                    // Cancelled by the fan-out, counted there; says nothing about the provider's health
+                    if (permit != null) {
+                        permit.cancelled();
+                    }
+                    return new ProviderAnswer(null, new BureauApiException(cpf, e));
+                }
+                log.warn("Bureau {} failed for CPF {}: {}", name(), cpf, e.getMessage());
+                recordCall(name(), "failed");
+                return new ProviderAnswer(null, new BureauApiException(cpf, e));
+            } finally {
+                if (permit != null) {
+                    permit.dropped();
+                }
+            }
+        }
+    }
+}
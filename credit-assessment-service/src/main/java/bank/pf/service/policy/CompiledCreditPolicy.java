@@ -0,0 +1,97 @@
+package bank.pf.service.policy;
+
+import bank.pf.enums.PaymentHistoryType;
+import bank.pf.enums.RecommendationType;
+import bank.pf.service.policy.CreditPolicyDefinition.RiskBand;
+import bank.pf.service.strategy.CreditRiskStrategy;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Immutable, evaluation-ready form of a credit policy. Enum sets become ordinal-indexed flags and the risk bands a
+// table indexed by score, so the hot path does array reads only; a reload swaps the whole object at once.
+public final class CompiledCreditPolicy {
+
+    static final int MAX_INDEXED_SCORE = 1000;
+
+    private final String version;
+    private final int minimumBureauScore;
+    private final boolean[] rejectedPaymentHistories;
+    private final BigDecimal maxDebtToIncomeStrict;
+    private final BigDecimal maxDebtToIncomeFlexible;
+    private final int highFraudScoreThreshold;
+    private final boolean[] rejectedFraudRecommendations;
+    private final List<CompiledRiskBand> riskBands;
+    private final CompiledRiskBand[] riskBandsByScore;
+
+    CompiledCreditPolicy(String version,
+                         int minimumBureauScore,
+                         boolean[] rejectedPaymentHistories,
+                         BigDecimal maxDebtToIncomeStrict,
+                         BigDecimal maxDebtToIncomeFlexible,
+                         int highFraudScoreThreshold,
+                         boolean[] rejectedFraudRecommendations,
+                         List<CompiledRiskBand> riskBands) {
+        this.version = version;
+        this.minimumBureauScore = minimumBureauScore;
+        this.rejectedPaymentHistories = rejectedPaymentHistories;
+        this.maxDebtToIncomeStrict = maxDebtToIncomeStrict;
+        this.maxDebtToIncomeFlexible = maxDebtToIncomeFlexible;
+        this.highFraudScoreThreshold = highFraudScoreThreshold;
+        this.rejectedFraudRecommendations = rejectedFraudRecommendations;
+        this.riskBands = List.copyOf(riskBands);
+        this.riskBandsByScore = new CompiledRiskBand[MAX_INDEXED_SCORE + 1];
+        for (int score = 0; score <= MAX_INDEXED_SCORE; score++) {
+            riskBandsByScore[score] = scan(score);
+        }
+    }
+
+    public String version() {
+        return version;
+    }
+
+    public int minimumBureauScore() {
+        return minimumBureauScore;
+    }
+
+    public boolean isRejectedPaymentHistory(PaymentHistoryType paymentHistory) {
+        return paymentHistory != null && rejectedPaymentHistories[paymentHistory.ordinal()];
+    }
+
+    public BigDecimal maxDebtToIncomeStrict() {
+        return maxDebtToIncomeStrict;
+    }
+
+    public BigDecimal maxDebtToIncomeFlexible() {
+        return maxDebtToIncomeFlexible;
+    }
+
+    public int highFraudScoreThreshold() {
+        return highFraudScoreThreshold;
+    }
+
+    public boolean isRejectedFraudRecommendation(RecommendationType recommendation) {
+        return recommendation != null && rejectedFraudRecommendations[recommendation.ordinal()];
+    }
+
+    // The compiler guarantees the bands cover every score, so this never returns null for a compiled policy.
+    public CompiledRiskBand riskBandFor(int score) {
+        return score >= 0 && score <= MAX_INDEXED_SCORE ? riskBandsByScore[score] : scan(score);
+    }
+
+    private CompiledRiskBand scan(int score) {
+        for (CompiledRiskBand riskBand : riskBands) {
+            if (riskBand.covers(score)) {
+                return riskBand;
+            }
+        }
+        return null;
+    }
+
+    public record CompiledRiskBand(RiskBand band, CreditRiskStrategy strategy) {
+
+        boolean covers(int score) {
+            return (band.minScore() == null || score >= band.minScore()) && (band.maxScore() == null || score <= band.maxScore());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package bank.pf.service.policy;
+
+import bank.pf.enums.PaymentHistoryType;
+import bank.pf.enums.RecommendationType;
+import bank.pf.exception.InvalidCreditPolicyException;
+import bank.pf.service.policy.CompiledCreditPolicy.CompiledRiskBand;
+import bank.pf.service.policy.CreditPolicyDefinition.RiskBand;
+import bank.pf.service.policy.CreditPolicyDefinition.Rules;
+import bank.pf.service.strategy.CreditRiskStrategy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Validates a policy definition and compiles it. Every problem is collected so a rejected reload reports all of
+// them at once; a policy is only ever published when it compiles cleanly.
+@Component
+@RequiredArgsConstructor
+public class CreditPolicyCompiler {
+
+    // Strategy beans by name, e.g. "lowRiskStrategy"
+    private final Map<String, CreditRiskStrategy> riskStrategies;
+
+    public CompiledCreditPolicy compile(CreditPolicyDefinition definition) {
+        List<String> errors = new ArrayList<>();
+        if (definition.version() == null || definition.version().isBlank()) {
+            errors.add("version is required");
+        }
+        Rules rules = definition.rules();
+        if (rules == null) {
+            errors.add("rules are required");
+        } else {
+            validateRules(rules, errors);
+        }
+        List<CompiledRiskBand> riskBands = compileRiskBands(definition.riskBands(), errors);
+        if (!errors.isEmpty()) {
+            throw new InvalidCreditPolicyException(definition.version(), errors);
+        }
+
+        return new CompiledCreditPolicy(
+                definition.version(),
+                rules.minimumBureauScore(),
+                flags(rules.rejectedPaymentHistories(), PaymentHistoryType.values().length),
+                rules.maxDebtToIncomeStrict(),
+                rules.maxDebtToIncomeFlexible(),
+                rules.highFraudScoreThreshold(),
+                flags(rules.rejectedFraudRecommendations(), RecommendationType.values().length),
+                riskBands);
+    }
+
+    private static void validateRules(Rules rules, List<String> errors) {
+        if (rules.minimumBureauScore() == null) {
+            errors.add("rules.minimumBureauScore is required");
+        }
+        if (rules.highFraudScoreThreshold() == null) {
+            errors.add("rules.highFraudScoreThreshold is required");
+        }
+        BigDecimal strict = rules.maxDebtToIncomeStrict();
+        BigDecimal flexible = rules.maxDebtToIncomeFlexible();
+        if (strict == null || strict.signum() <= 0 || flexible == null || flexible.signum() <= 0) {
+            errors.add("rules.maxDebtToIncomeStrict and rules.maxDebtToIncomeFlexible must be positive");
+        } else if (strict.compareTo(flexible) > 0) {
+            errors.add("rules.maxDebtToIncomeStrict must not exceed rules.maxDebtToIncomeFlexible");
+        }
+    }
+
+    // Bands must cover every score exactly once: sorted by minScore, the first is open below, the last open above
+    // and each one starts right after the previous one ends.
+    private List<CompiledRiskBand> compileRiskBands(List<RiskBand> bands, List<String> errors) {
+        if (bands == null || bands.isEmpty()) {
+            errors.add("at least one risk band is required");
+            return List.of();
+        }
+        List<RiskBand> sorted = bands.stream()
+                .sorted(Comparator.comparing(RiskBand::minScore, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .toList();
+        if (sorted.getFirst().minScore() != null) {
+            errors.add("the lowest risk band must have no minScore");
+        }
+        if (sorted.getLast().maxScore() != null) {
+            errors.add("the highest risk band must have no maxScore");
+        }
+
+        List<CompiledRiskBand> compiled = new ArrayList<>(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            RiskBand band = sorted.get(i);
+            if (band.minScore() != null && band.maxScore() != null && band.minScore() > band.maxScore()) {
+                errors.add("risk band " + band.name() + " has minScore greater than maxScore");
+            }
+            if (i > 0) {
+                RiskBand previous = sorted.get(i - 1);
+                if (previous.maxScore() == null || band.minScore() == null || band.minScore() != previous.maxScore() + 1) {
+                    errors.add("risk bands " + previous.name() + " and " + band.name() + " must be contiguous without overlap");
+                }
+            }
+            CreditRiskStrategy strategy = band.strategy() == null ? null : riskStrategies.get(band.strategy());
+            if (strategy == null) {
+                errors.add("risk band " + band.name() + " references unknown strategy " + band.strategy());
+                continue;
+            }
+            try {
+                strategy.validate(band);
+            } catch (IllegalArgumentException e) {
+                errors.add(e.getMessage());
+            }
+            compiled.add(new CompiledRiskBand(band, strategy));
+        }
+        return compiled;
+    }
+
+    private static <E extends Enum<E>> boolean[] flags(Set<E> values, int size) {
+        boolean[] flags = new boolean[size];
+        if (values != null) {
+            values.forEach(value -> flags[value.ordinal()] = true);
+        }
+        return flags;
+    }
+}
@@ -0,0 +1,47 @@
+package bank.pf.service.policy;
+
+import bank.pf.enums.PaymentHistoryType;
+import bank.pf.enums.RecommendationType;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+// Declarative credit policy as written in credit-policy.json. It is only a description: CreditPolicyCompiler
+// validates it and turns it into a CompiledCreditPolicy before anything reads it.
+public record CreditPolicyDefinition(
+        String version,
+        Rules rules,
+        List<RiskBand> riskBands
+) {
+
+    public record Rules(
+            Integer minimumBureauScore,
+            Set<PaymentHistoryType> rejectedPaymentHistories,
+            BigDecimal maxDebtToIncomeStrict,
+            BigDecimal maxDebtToIncomeFlexible,
+            Integer highFraudScoreThreshold,
+            Set<RecommendationType> rejectedFraudRecommendations
+    ) {
+    }
+
+    // A score band [minScore, maxScore] (both inclusive, null means unbounded) handled by the named strategy bean.
+    // Which of the numeric parameters are required depends on the strategy.
+    public record RiskBand(
+            String name,
+            String strategy,
+            Integer minScore,
+            Integer maxScore,
+            BigDecimal incomeMultiplier,
+            BigDecimal maxLoanAmount,
+            BigDecimal interestRate,
+            BigDecimal minAcceptableLoanRatio
+    ) {
+
+        public void requirePositive(String parameter, BigDecimal value) {
+            if (value == null || value.signum() <= 0) {
+                throw new IllegalArgumentException("risk band " + name + " requires a positive " + parameter);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package bank.pf.service.policy;
+
+import bank.pf.exception.InvalidCreditPolicyException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+// Holds the active credit policy. The file at app.credit-policy.location is polled and, when its content changes,
+// parsed, validated and compiled off the hot path; only a fully compiled policy is swapped in, in a single write.
+// An invalid file (or a content change that keeps the same version) is rejected and the current policy stays active.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CreditPolicyHolder {
+
+    private final CreditPolicyCompiler creditPolicyCompiler;
+    private final ObjectMapper objectMapper;
+    private final ResourceLoader resourceLoader;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.credit-policy.location:classpath:credit-policy.json}")
+    private String location;
+
+    private volatile CompiledCreditPolicy current;
+    private byte[] currentContent;
+    private byte[] lastRejectedContent;
+
+    private Counter appliedReloadsCounter;
+    private Counter rejectedReloadsCounter;
+
+    // A missing or invalid policy at startup fails the application: there is no safe policy to fall back to.
+    @PostConstruct
+    private void init() throws IOException {
+        appliedReloadsCounter = Counter.builder("credit.policy.reloads")
+                .tag("result", "applied")
+                .register(meterRegistry);
+        rejectedReloadsCounter = Counter.builder("credit.policy.reloads")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+        currentContent = read();
+        current = creditPolicyCompiler.compile(parse(currentContent));
+        log.info("Credit policy {} loaded from {}", current.version(), location);
+    }
+
+    public CompiledCreditPolicy current() {
+        return current;
+    }
+
+    @Scheduled(fixedDelayString = "${app.credit-policy.reload-interval-ms:10000}",
+            initialDelayString = "${app.credit-policy.reload-interval-ms:10000}")
+    public synchronized void reloadIfChanged() {
+        byte[] content;
+        try {
+            content = read();
+        } catch (IOException e) {
+            log.warn("Could not read credit policy from {}: {}. Keeping version {}.", location, e.getMessage(), current.version());
+            return;
+        }
+        if (Arrays.equals(content, currentContent) || Arrays.equals(content, lastRejectedContent)) {
+            return;
+        }
+
+        try {
+            CreditPolicyDefinition definition = parse(content);
+            if (current.version().equals(definition.version())) {
+                throw new InvalidCreditPolicyException("Credit policy content changed but version " + definition.version()
+                        + " was not bumped");
+            }
+            CompiledCreditPolicy compiled = creditPolicyCompiler.compile(definition);
+            String previousVersion = current.version();
+            current = compiled;
+            currentContent = content;
+            lastRejectedContent = null;
+            appliedReloadsCounter.increment();
+            log.info("Credit policy reloaded: {} -> {}", previousVersion, compiled.version());
+        } catch (InvalidCreditPolicyException e) {
+            lastRejectedContent = content;
+            rejectedReloadsCounter.increment();
+            log.error("Credit policy reload rejected, keeping version {}: {}", current.version(), e.getMessage());
+        }
+    }
+
+    // Reads, validates and compiles the policy at policyLocation without activating it, e.g. to compare two
+    // policies offline.
+    public CompiledCreditPolicy loadDetached(String policyLocation) throws IOException {
+        return creditPolicyCompiler.compile(parse(read(policyLocation)));
+    }
+
+    private byte[] read() throws IOException {
+        return read(location);
+    }
+
+    private byte[] read(String policyLocation) throws IOException {
+        try (InputStream inputStream = resourceLoader.getResource(policyLocation).getInputStream()) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    private CreditPolicyDefinition parse(byte[] content) {
+        try {
+            return objectMapper.readerFor(CreditPolicyDefinition.class)
+                    .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(content);
+        } catch (IOException e) {
+            throw new InvalidCreditPolicyException("Credit policy is not valid JSON: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package bank.pf.service.profile;
+
+import bank.pf.entity.AntiFraudScore;
+import bank.pf.entity.BureauScore;
+import bank.pf.enums.AssessmentStatus;
+import bank.pf.enums.LoanDecision;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+// What we already know about a CPF from earlier applications. Each section can be missing independently (e.g. a
+// decision event may arrive for a CPF whose assessment predates the snapshot store), so every field is nullable.
+public record CustomerProfileSnapshot(
+        String cpf,
+        BureauScore bureauScore,
+        Long bureauFetchedAtEpochMillis,
+        AntiFraudScore antiFraudScore,
+        BigDecimal antiFraudAmountRequested,
+        Long antiFraudCheckedAtEpochMillis,
+        String lastAssessmentApplicationId,
+        AssessmentStatus lastAssessmentStatus,
+        Long lastAssessedAtEpochMillis,
+        List<PriorDecision> priorDecisions
+) {
+
+    public BigDecimal monthlyDebts() {
+        return bureauScore == null ? null : bureauScore.monthlyDebts();
+    }
+
+    public boolean hasBureauScoreYoungerThan(Duration maxAge, long nowEpochMillis) {
+        return bureauScore != null && bureauFetchedAtEpochMillis != null
+                && nowEpochMillis - bureauFetchedAtEpochMillis < maxAge.toMillis();
+    }
+
+    // The anti-fraud answer only covers amounts up to the one it was given for: a larger request is a new risk.
+    public boolean hasAntiFraudScoreCovering(BigDecimal amountRequested, Duration maxAge, long nowEpochMillis) {
+        return antiFraudScore != null && antiFraudCheckedAtEpochMillis != null && antiFraudAmountRequested != null
+                && amountRequested != null && amountRequested.compareTo(antiFraudAmountRequested) <= 0
+                && nowEpochMillis - antiFraudCheckedAtEpochMillis < maxAge.toMillis();
+    }
+
+    public record PriorDecision(String applicationId, LoanDecision decision, long decidedAtEpochMillis) {
+    }
+}
@@ -0,0 +1,293 @@
+package bank.pf.service.profile;
+
+import bank.pf.dto.event.LoanApplicationReceivedEvent;
+import bank.pf.dto.event.LoanDecisionMadeEvent;
+import bank.pf.entity.AntiFraudScore;
+import bank.pf.entity.BureauScore;
+import bank.pf.enums.AssessmentStatus;
+import bank.pf.enums.AssessmentType;
+import bank.pf.enums.LoanDecision;
+import bank.pf.enums.PaymentHistoryType;
+import bank.pf.enums.RecommendationType;
+import bank.pf.service.profile.CustomerProfileSnapshot.PriorDecision;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+// One Redis hash per CPF (customerProfile:{cpf}) with what earlier applications already revealed: latest bureau data,
+// last anti-fraud answer, last assessment and every final decision. Writers only HSET the section they own, so the
+// assessment path and the decision consumer never overwrite each other, and a snapshot is always one HGETALL away.
+// Decisions are stored one field per application, which keeps replays of the same decision event idempotent.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CustomerProfileStore {
+
+    private static final String KEY_PREFIX = "customerProfile:";
+    private static final String DECISION_FIELD_PREFIX = "decision.";
+    private static final String VALUE_SEPARATOR = "|";
+
+    private static final String BUREAU_SCORE = "bureau.score";
+    private static final String BUREAU_ASSESSMENT = "bureau.assessment";
+    private static final String BUREAU_HAS_RESTRICTIONS = "bureau.hasRestrictions";
+    private static final String BUREAU_PAYMENT_HISTORY = "bureau.paymentHistory";
+    private static final String BUREAU_MONTHLY_DEBTS = "bureau.monthlyDebts";
+    private static final String BUREAU_FETCHED_AT = "bureau.fetchedAt";
+    private static final String ANTI_FRAUD_SCORE = "antiFraud.score";
+    private static final String ANTI_FRAUD_RECOMMENDATION = "antiFraud.recommendation";
+    private static final String ANTI_FRAUD_AMOUNT_REQUESTED = "antiFraud.amountRequested";
+    private static final String ANTI_FRAUD_CHECKED_AT = "antiFraud.checkedAt";
+    private static final String ASSESSMENT_APPLICATION_ID = "assessment.applicationId";
+    private static final String ASSESSMENT_STATUS = "assessment.status";
+    private static final String ASSESSMENT_AT = "assessment.at";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.customer-profile.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.customer-profile.ttl:30d}")
+    private Duration ttl;
+
+    @Value("${app.customer-profile.reuse.bureau-max-age:72h}")
+    private Duration bureauMaxAge;
+
+    @Value("${app.customer-profile.reuse.anti-fraud-max-age:1h}")
+    private Duration antiFraudMaxAge;
+
+    private Counter hitCounter;
+    private Counter missCounter;
+    private Counter errorCounter;
+    private Counter bureauReuseCounter;
+    private Counter antiFraudReuseCounter;
+
+    @PostConstruct
+    private void init() {
+        hitCounter = lookupCounter("hit");
+        missCounter = lookupCounter("miss");
+        errorCounter = lookupCounter("error");
+        bureauReuseCounter = reuseCounter("bureau");
+        antiFraudReuseCounter = reuseCounter("anti-fraud");
+        log.info("Customer profile store enabled={}, ttl={}, bureauMaxAge={}, antiFraudMaxAge={}",
+                enabled, ttl, bureauMaxAge, antiFraudMaxAge);
+    }
+
+    public CustomerProfileSnapshot find(String cpf) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            return toSnapshot(cpf, stringRedisTemplate.opsForHash().entries(KEY_PREFIX + cpf));
+        } catch (Exception e) {
+            errorCounter.increment();
+            log.warn("Error reading customer profile for CPF {}: {}", cpf, e.getMessage());
+            return null;
+        }
+    }
+
+    // One pipelined round trip for a whole batch; CPFs without a profile are absent from the result.
+    public Map<String, CustomerProfileSnapshot> findAll(Collection<String> cpfs) {
+        Map<String, CustomerProfileSnapshot> snapshots = new HashMap<>();
+        if (!enabled || cpfs.isEmpty()) {
+            return snapshots;
+        }
+        List<String> distinctCpfs = new ArrayList<>(new LinkedHashSet<>(cpfs));
+        try {
+            List<Object> hashes = stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    for (String cpf : distinctCpfs) {
+                        operations.opsForHash().entries((K) (KEY_PREFIX + cpf));
+                    }
+                    return null;
+                }
+            });
+            for (int i = 0; i < distinctCpfs.size(); i++) {
+                @SuppressWarnings("unchecked")
+                Map<Object, Object> hash = (Map<Object, Object>) hashes.get(i);
+                CustomerProfileSnapshot snapshot = toSnapshot(distinctCpfs.get(i), hash);
+                if (snapshot != null) {
+                    snapshots.put(distinctCpfs.get(i), snapshot);
+                }
+            }
+        } catch (Exception e) {
+            errorCounter.increment(distinctCpfs.size());
+            log.warn("Error reading customer profiles for a batch of {} CPFs: {}", distinctCpfs.size(), e.getMessage());
+        }
+        return snapshots;
+    }
+
+    public BureauScore reusableBureauScore(CustomerProfileSnapshot snapshot) {
+        if (snapshot == null || !snapshot.hasBureauScoreYoungerThan(bureauMaxAge, System.currentTimeMillis())) {
+            return null;
+        }
+        bureauReuseCounter.increment();
+        return snapshot.bureauScore();
+    }
+
+    public AntiFraudScore reusableAntiFraudScore(CustomerProfileSnapshot snapshot, LoanApplicationReceivedEvent applicationData) {
+        if (snapshot == null || !snapshot.hasAntiFraudScoreCovering(applicationData.amountRequested(), antiFraudMaxAge, System.currentTimeMillis())) {
+            return null;
+        }
+        antiFraudReuseCounter.increment();
+        return snapshot.antiFraudScore().withApplicationId(applicationData.applicationId());
+    }
+
+    // bureauScore / antiFraudScore are null when they were themselves reused from the snapshot (or are not
+    // trustworthy, e.g. a stale or fallback score): rewriting them would reset their age and keep them fresh forever.
+    public void recordAssessment(LoanApplicationReceivedEvent applicationData, BureauScore bureauScore, AntiFraudScore antiFraudScore,
+                                 AssessmentStatus status) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Map<String, String> fields = new HashMap<>();
+        if (bureauScore != null) {
+            putIfNotNull(fields, BUREAU_SCORE, bureauScore.score());
+            putIfNotNull(fields, BUREAU_ASSESSMENT, bureauScore.assessment());
+            fields.put(BUREAU_HAS_RESTRICTIONS, String.valueOf(bureauScore.hasRestrictions()));
+            putIfNotNull(fields, BUREAU_PAYMENT_HISTORY, bureauScore.paymentHistory());
+            putIfNotNull(fields, BUREAU_MONTHLY_DEBTS, bureauScore.monthlyDebts() == null ? null : bureauScore.monthlyDebts().toPlainString());
+            fields.put(BUREAU_FETCHED_AT, String.valueOf(now));
+        }
+        if (antiFraudScore != null && applicationData.amountRequested() != null) {
+            putIfNotNull(fields, ANTI_FRAUD_SCORE, antiFraudScore.fraudScore());
+            putIfNotNull(fields, ANTI_FRAUD_RECOMMENDATION, antiFraudScore.recommendation());
+            fields.put(ANTI_FRAUD_AMOUNT_REQUESTED, applicationData.amountRequested().toPlainString());
+            fields.put(ANTI_FRAUD_CHECKED_AT, String.valueOf(now));
+        }
+        fields.put(ASSESSMENT_APPLICATION_ID, applicationData.applicationId());
+        fields.put(ASSESSMENT_STATUS, status.name());
+        fields.put(ASSESSMENT_AT, String.valueOf(now));
+        write(applicationData.cpf(), fields);
+    }
+
+    public void recordDecision(LoanDecisionMadeEvent decisionEvent) {
+        if (!enabled || decisionEvent.cpf() == null || decisionEvent.applicationId() == null || decisionEvent.decision() == null) {
+            return;
+        }
+        long decidedAt = decisionEvent.eventTimestamp() == null
+                ? System.currentTimeMillis()
+                : decisionEvent.eventTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        write(decisionEvent.cpf(), Map.of(DECISION_FIELD_PREFIX + decisionEvent.applicationId(),
+                decisionEvent.decision().name() + VALUE_SEPARATOR + decidedAt));
+    }
+
+    private void write(String cpf, Map<String, String> fields) {
+        String key = KEY_PREFIX + cpf;
+        try {
+            stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    operations.opsForHash().putAll((K) key, fields);
+                    operations.expire((K) key, ttl);
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Error updating customer profile for CPF {}: {}", cpf, e.getMessage());
+        }
+    }
+
+    private CustomerProfileSnapshot toSnapshot(String cpf, Map<Object, Object> hash) {
+        if (hash == null || hash.isEmpty()) {
+            missCounter.increment();
+            return null;
+        }
+        hitCounter.increment();
+        Map<String, String> fields = new HashMap<>(hash.size() * 2);
+        hash.forEach((field, value) -> fields.put(field.toString(), value.toString()));
+
+        BureauScore bureauScore = fields.containsKey(BUREAU_FETCHED_AT)
+                ? new BureauScore(cpf,
+                        toInteger(fields.get(BUREAU_SCORE)),
+                        toEnum(AssessmentType.class, fields.get(BUREAU_ASSESSMENT)),
+                        Boolean.parseBoolean(fields.get(BUREAU_HAS_RESTRICTIONS)),
+                        toEnum(PaymentHistoryType.class, fields.get(BUREAU_PAYMENT_HISTORY)),
+                        toBigDecimal(fields.get(BUREAU_MONTHLY_DEBTS)))
+                : null;
+        AntiFraudScore antiFraudScore = fields.containsKey(ANTI_FRAUD_CHECKED_AT)
+                ? new AntiFraudScore(null, toInteger(fields.get(ANTI_FRAUD_SCORE)),
+                        toEnum(RecommendationType.class, fields.get(ANTI_FRAUD_RECOMMENDATION)))
+                : null;
+
+        List<PriorDecision> priorDecisions = new ArrayList<>();
+        fields.forEach((field, value) -> {
+            if (field.startsWith(DECISION_FIELD_PREFIX)) {
+                int separator = value.indexOf(VALUE_SEPARATOR);
+                priorDecisions.add(new PriorDecision(field.substring(DECISION_FIELD_PREFIX.length()),
+                        LoanDecision.valueOf(value.substring(0, separator)), Long.parseLong(value.substring(separator + 1))));
+            }
+        });
+        priorDecisions.sort(Comparator.comparingLong(PriorDecision::decidedAtEpochMillis));
+
+        return new CustomerProfileSnapshot(cpf,
+                bureauScore,
+                toLong(fields.get(BUREAU_FETCHED_AT)),
+                antiFraudScore,
+                toBigDecimal(fields.get(ANTI_FRAUD_AMOUNT_REQUESTED)),
+                toLong(fields.get(ANTI_FRAUD_CHECKED_AT)),
+                fields.get(ASSESSMENT_APPLICATION_ID),
+                toEnum(AssessmentStatus.class, fields.get(ASSESSMENT_STATUS)),
+                toLong(fields.get(ASSESSMENT_AT)),
+                List.copyOf(priorDecisions));
+    }
+
+    private static void putIfNotNull(Map<String, String> fields, String field, Object value) {
+        if (value != null) {
+            fields.put(field, value instanceof Enum<?> constant ? constant.name() : value.toString());
+        }
+    }
+
+    private static Integer toInteger(String value) {
+        return value == null ? null : Integer.valueOf(value);
+    }
+
+    private static Long toLong(String value) {
+        return value == null ? null : Long.valueOf(value);
+    }
+
+    private static BigDecimal toBigDecimal(String value) {
+        return value == null ? null : new BigDecimal(value);
+    }
+
+    private static <E extends Enum<E>> E toEnum(Class<E> type, String value) {
+        return value == null ? null : Enum.valueOf(type, value);
+    }
+
+    private Counter lookupCounter(String result) {
+        return Counter.builder("customer.profile.lookups")
+                .description("Customer profile snapshot reads")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter reuseCounter(String section) {
+        return Counter.builder("customer.profile.reuse")
+                .description("External calls skipped because the customer profile snapshot was fresh enough")
+                .tag("section", section)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,225 @@
+package bank.pf.service.shadow;
+
+import bank.pf.dto.event.LoanApplicationReceivedEvent;
+import bank.pf.entity.AntiFraudScore;
+import bank.pf.entity.BureauScore;
+import bank.pf.entity.CreditAssessmentResult;
+import bank.pf.service.CreditDecision;
+import bank.pf.service.backtest.BacktestDiff;
+import bank.pf.service.backtest.BacktestOutcome;
+import bank.pf.service.chain.AssessmentRuleExecutor;
+import bank.pf.service.policy.CompiledCreditPolicy;
+import bank.pf.service.policy.CreditPolicyHolder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Evaluates every live assessment a second time against the candidate policy at app.shadow-policy.location, without
+// influencing the decision. The live path only offers the inputs to a bounded queue; when it is full the shadow
+// evaluation is dropped (shed) instead of waiting. A few low-priority platform threads drain the queue with the
+// meter-free rule chain, so neither queueing nor evaluation shows up in the live latency or rule metrics.
+// Divergences are counted per status transition; a sample of them is logged as JSON on the bank.pf.shadow.diffs logger.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShadowPolicyEvaluator {
+
+    private static final Logger DIFF_LOG = LoggerFactory.getLogger("bank.pf.shadow.diffs");
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final AssessmentRuleExecutor assessmentRuleExecutor;
+    private final CreditPolicyHolder creditPolicyHolder;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.shadow-policy.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.shadow-policy.location:}")
+    private String location;
+
+    @Value("${app.shadow-policy.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${app.shadow-policy.workers:1}")
+    private int workers;
+
+    @Value("${app.shadow-policy.diff-sample-rate:0.01}")
+    private double diffSampleRate;
+
+    private volatile CompiledCreditPolicy candidate;
+    private BlockingQueue<ShadowRequest> queue;
+    private final List<Thread> workerThreads = new ArrayList<>();
+    private volatile boolean running;
+
+    private Counter matchCounter;
+    private Counter divergedCounter;
+    private Counter shedCounter;
+    private Counter errorCounter;
+    private Timer lagTimer;
+
+    // An unreadable candidate disables shadow mode instead of failing startup: it must never cost the live service.
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            candidate = creditPolicyHolder.loadDetached(location);
+        } catch (IOException | RuntimeException e) {
+            log.error("Shadow policy could not be loaded from {}: {}. Shadow evaluation disabled.", location, e.getMessage());
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        initMetrics();
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            Thread worker = Thread.ofPlatform()
+                    .name("shadow-policy-" + i)
+                    .daemon(true)
+                    .priority(Thread.MIN_PRIORITY)
+                    .start(this::runWorker);
+            workerThreads.add(worker);
+        }
+        log.info("Shadow policy {} loaded from {}. workers={}, queueCapacity={}, diffSampleRate={}",
+                candidate.version(), location, workers, queueCapacity, diffSampleRate);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (Thread worker : workerThreads) {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    // Picks up a new candidate version; the file is re-read rather than diffed because it is small and polled rarely.
+    @Scheduled(fixedDelayString = "${app.credit-policy.reload-interval-ms:10000}",
+            initialDelayString = "${app.credit-policy.reload-interval-ms:10000}")
+    public void reloadIfChanged() {
+        if (!running) {
+            return;
+        }
+        try {
+            CompiledCreditPolicy reloaded = creditPolicyHolder.loadDetached(location);
+            if (!reloaded.version().equals(candidate.version())) {
+                log.info("Shadow policy reloaded: {} -> {}", candidate.version(), reloaded.version());
+                candidate = reloaded;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Shadow policy reload from {} failed, keeping version {}: {}", location, candidate.version(), e.getMessage());
+        }
+    }
+
+    // Called on the live path after the decision is final. Never blocks and never throws.
+    public void submit(LoanApplicationReceivedEvent application, BureauScore bureauScore, AntiFraudScore antiFraudScore,
+                       CreditAssessmentResult liveResult) {
+        if (!running) {
+            return;
+        }
+        var request = new ShadowRequest(application, bureauScore, antiFraudScore, liveResult.getPolicyVersion(),
+                BacktestOutcome.of(liveResult), System.nanoTime());
+        if (!queue.offer(request)) {
+            shedCounter.increment();
+        }
+    }
+
+    private void initMetrics() {
+        matchCounter = Counter.builder("shadow.policy.evaluations")
+                .description("Live assessments evaluated against the shadow policy")
+                .tag("result", "match")
+                .register(meterRegistry);
+        divergedCounter = Counter.builder("shadow.policy.evaluations")
+                .description("Live assessments evaluated against the shadow policy")
+                .tag("result", "diverged")
+                .register(meterRegistry);
+        shedCounter = Counter.builder("shadow.policy.shed")
+                .description("Shadow evaluations dropped because the queue was full")
+                .register(meterRegistry);
+        errorCounter = Counter.builder("shadow.policy.errors")
+                .description("Shadow evaluations that threw")
+                .register(meterRegistry);
+        lagTimer = Timer.builder("shadow.policy.lag")
+                .description("Time from the live decision to its shadow evaluation")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("shadow.policy.queue.depth", queue, BlockingQueue::size)
+                .description("Live assessments waiting for shadow evaluation")
+                .register(meterRegistry);
+    }
+
+    private void runWorker() {
+        while (running) {
+            try {
+                ShadowRequest request = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (request != null) {
+                    evaluate(request);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                errorCounter.increment();
+                log.debug("Shadow evaluation failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void evaluate(ShadowRequest request) {
+        CompiledCreditPolicy policy = candidate;
+        CreditAssessmentResult result = CreditDecision.initialResult(request.application(), request.bureauScore(), policy);
+        assessmentRuleExecutor.replayChain(request.application(), request.bureauScore(), request.antiFraudScore(), result, policy);
+        CreditDecision.applyRiskStrategy(request.application(), result, request.bureauScore(), policy);
+        BacktestOutcome shadowOutcome = BacktestOutcome.of(result);
+
+        if (shadowOutcome.equals(request.liveOutcome())) {
+            matchCounter.increment();
+        } else {
+            divergedCounter.increment();
+            // Bounded cardinality: one series per status pair
+            meterRegistry.counter("shadow.policy.divergences",
+                    "live", request.liveOutcome().status().name(),
+                    "shadow", shadowOutcome.status().name()).increment();
+            if (ThreadLocalRandom.current().nextDouble() < diffSampleRate) {
+                logDiff(request, policy, shadowOutcome);
+            }
+        }
+        lagTimer.record(System.nanoTime() - request.submittedAtNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void logDiff(ShadowRequest request, CompiledCreditPolicy policy, BacktestOutcome shadowOutcome) {
+        var diff = new BacktestDiff(request.application().applicationId(), request.application().cpf(), request.liveOutcome(), shadowOutcome);
+        try {
+            DIFF_LOG.info("live={} shadow={} diff={}", request.livePolicyVersion(), policy.version(), objectMapper.writeValueAsString(diff));
+        } catch (JsonProcessingException e) {
+            log.debug("Could not serialize shadow diff for application {}: {}", request.application().applicationId(), e.getMessage());
+        }
+    }
+
+    private record ShadowRequest(LoanApplicationReceivedEvent application, BureauScore bureauScore, AntiFraudScore antiFraudScore,
+                         String livePolicyVersion, BacktestOutcome liveOutcome, long submittedAtNanos) {
+    }
+}
@@ -3,9 +3,13 @@ package bank.pf.service.strategy;
 import bank.pf.dto.event.LoanApplicationReceivedEvent;
 import bank.pf.entity.BureauScore;
 import bank.pf.entity.CreditAssessmentResult;
+import bank.pf.service.policy.CreditPolicyDefinition.RiskBand;
 
+// Score ranges and the numeric parameters of each strategy come from the risk band of the credit policy.
 public interface CreditRiskStrategy {
-    void assessRisk(LoanApplicationReceivedEvent applicationData, BureauScore bureauScore, CreditAssessmentResult ongoingAssessment);
+    void assessRisk(LoanApplicationReceivedEvent applicationData, BureauScore bureauScore, CreditAssessmentResult ongoingAssessment, RiskBand riskBand);
 
-    boolean appliesTo(int score);
+    // Called by the policy compiler; throws IllegalArgumentException when the band lacks a parameter this strategy uses.
+    default void validate(RiskBand riskBand) {
+    }
 }
@@ -4,6 +4,8 @@ import bank.pf.dto.event.LoanApplicationReceivedEvent;
 import bank.pf.entity.BureauScore;
 import bank.pf.entity.CreditAssessmentResult;
 import bank.pf.enums.AssessmentStatus;
+import bank.pf.enums.ReasonCode;
+import bank.pf.service.policy.CreditPolicyDefinition.RiskBand;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -12,37 +14,35 @@ import java.math.RoundingMode;
 @Component("highRiskStrategy")
 public class HighRiskStrategy implements CreditRiskStrategy {
 
-    private static final BigDecimal MAX_LOAN_AMOUNT_CAP = new BigDecimal("1000000.00");
-    private static final BigDecimal INCOME_MULTIPLIER = new BigDecimal("1.5");
-    private static final BigDecimal INTEREST_RATE = new BigDecimal("0.18");
-    private static final BigDecimal MIN_ACCEPTABLE_LOAN_AMOUNT_RATIO = new BigDecimal("0.5");
-
     @Override
-    public void assessRisk(LoanApplicationReceivedEvent applicationData, BureauScore bureauScore, CreditAssessmentResult ongoingAssessment) {
-        ongoingAssessment.setJustification((ongoingAssessment.getJustification() == null ? "" : ongoingAssessment.getJustification()) + "High risk profile identified, conditions adjusted.");
+    public void assessRisk(LoanApplicationReceivedEvent applicationData, BureauScore bureauScore, CreditAssessmentResult ongoingAssessment, RiskBand riskBand) {
+        ongoingAssessment.addReason(ReasonCode.HIGH_RISK_PROFILE);
         ongoingAssessment.setStatus(AssessmentStatus.ADJUSTED_CONDITIONS);
 
-        var incomeBasedLimit = applicationData.monthlyIncome().multiply(INCOME_MULTIPLIER);
-        var recommendedLimit = incomeBasedLimit.min(MAX_LOAN_AMOUNT_CAP);
+        var incomeBasedLimit = applicationData.monthlyIncome().multiply(riskBand.incomeMultiplier());
+        var recommendedLimit = incomeBasedLimit.min(riskBand.maxLoanAmount());
         recommendedLimit = recommendedLimit.min(applicationData.amountRequested());
 
-        BigDecimal minimumOffer = applicationData.amountRequested().multiply(MIN_ACCEPTABLE_LOAN_AMOUNT_RATIO);
+        BigDecimal minimumOffer = applicationData.amountRequested().multiply(riskBand.minAcceptableLoanRatio());
         if (recommendedLimit.compareTo(minimumOffer) < 0) {
             ongoingAssessment.setStatus(AssessmentStatus.REJECTED);
-            ongoingAssessment.setJustification(ongoingAssessment.getJustification() + "Calculated limit too low for high-risk profile.");
+            ongoingAssessment.addReason(ReasonCode.LIMIT_TOO_LOW_FOR_RISK);
             ongoingAssessment.setRecommendedLimit(BigDecimal.ZERO); // Sem recomendação de limite neste caso
             ongoingAssessment.setRecommendedInterestRate(BigDecimal.ZERO);
         } else {
             ongoingAssessment.setRecommendedLimit(recommendedLimit.setScale(2, RoundingMode.HALF_EVEN));
-            ongoingAssessment.setRecommendedInterestRate(INTEREST_RATE.setScale(4, RoundingMode.HALF_EVEN));
+            ongoingAssessment.setRecommendedInterestRate(riskBand.interestRate().setScale(4, RoundingMode.HALF_EVEN));
             if (recommendedLimit.compareTo(applicationData.amountRequested()) < 0) {
-                ongoingAssessment.setJustification(ongoingAssessment.getJustification() + "Recommended limit significantly adjusted. ");
+                ongoingAssessment.addReason(ReasonCode.LIMIT_ADJUSTED);
             }
         }
     }
 
     @Override
-    public boolean appliesTo(int score) {
-        return score >= 300 && score < 501;
+    public void validate(RiskBand riskBand) {
+        riskBand.requirePositive("incomeMultiplier", riskBand.incomeMultiplier());
+        riskBand.requirePositive("maxLoanAmount", riskBand.maxLoanAmount());
+        riskBand.requirePositive("interestRate", riskBand.interestRate());
+        riskBand.requirePositive("minAcceptableLoanRatio", riskBand.minAcceptableLoanRatio());
     }
 }
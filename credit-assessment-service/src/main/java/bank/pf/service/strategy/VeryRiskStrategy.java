@@ -4,6 +4,8 @@ import bank.pf.dto.event.LoanApplicationReceivedEvent;
 import bank.pf.entity.BureauScore;
 import bank.pf.entity.CreditAssessmentResult;
 import bank.pf.enums.AssessmentStatus;
+import bank.pf.enums.ReasonCode;
+import bank.pf.service.policy.CreditPolicyDefinition.RiskBand;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -12,15 +14,10 @@ import java.math.BigDecimal;
 public class VeryRiskStrategy implements CreditRiskStrategy {
 
     @Override
-    public void assessRisk(LoanApplicationReceivedEvent applicationData, BureauScore bureauScore, CreditAssessmentResult ongoingAssessment) {
+    public void assessRisk(LoanApplicationReceivedEvent applicationData, BureauScore bureauScore, CreditAssessmentResult ongoingAssessment, RiskBand riskBand) {
         ongoingAssessment.setStatus(AssessmentStatus.REJECTED);
-        ongoingAssessment.setJustification((ongoingAssessment.getJustification() == null ? "" : ongoingAssessment.getJustification()) + "Credit score too low (" + bureauScore.score() + "). Automatic rejection.");
+        ongoingAssessment.addReason(ReasonCode.VERY_HIGH_RISK_PROFILE, bureauScore.score());
         ongoingAssessment.setRecommendedLimit(BigDecimal.ZERO);
         ongoingAssessment.setRecommendedInterestRate(BigDecimal.ZERO);
     }
-
-    @Override
-    public boolean appliesTo(int score) {
-        return score < 300;
-    }
 }
@@ -0,0 +1,61 @@
+package bank.pf.service.velocity;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Events of one key over the last buckets x bucketMillis, kept as a ring of time buckets. Each slot packs the epoch of
+// its bucket (time / bucketMillis) in the high bits and the bucket's count in the low COUNT_BITS, so moving a slot to
+// a new bucket and counting in it is a single CAS, without locks and without a reset racing an increment. Slots whose
+// epoch fell out of the window are skipped when summing and reused by the next increment that lands on them. The
+// window slides one bucket at a time, so a count covers between (buckets - 1) and buckets bucket widths.
+final class SlidingWindowCounter {
+
+    private static final int COUNT_BITS = 20;
+    private static final long MAX_COUNT = (1L << COUNT_BITS) - 1;
+
+    private final AtomicLongArray slots;
+    private final long bucketMillis;
+
+    SlidingWindowCounter(int buckets, long bucketMillis) {
+        this.slots = new AtomicLongArray(buckets);
+        this.bucketMillis = bucketMillis;
+    }
+
+    // Counts one event at nowMillis and returns the events in the window ending with it. A caller whose clock read
+    // lags a whole window behind the slot's bucket counts into that bucket rather than resetting it.
+    long incrementAndSum(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        slots.updateAndGet(slot(epoch), slot -> epochOf(slot) >= epoch
+                ? pack(epochOf(slot), Math.min(countOf(slot) + 1, MAX_COUNT))
+                : pack(epoch, 1));
+        return sum(epoch);
+    }
+
+    private long sum(long epoch) {
+        long oldestEpoch = epoch - slots.length();
+        long total = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            long slot = slots.get(i);
+            long slotEpoch = epochOf(slot);
+            if (slotEpoch > oldestEpoch && slotEpoch <= epoch) {
+                total += countOf(slot);
+            }
+        }
+        return total;
+    }
+
+    private int slot(long epoch) {
+        return (int) (epoch % slots.length());
+    }
+
+    private static long pack(long epoch, long count) {
+        return epoch << COUNT_BITS | count;
+    }
+
+    private static long epochOf(long slot) {
+        return slot >>> COUNT_BITS;
+    }
+
+    private static long countOf(long slot) {
+        return slot & MAX_COUNT;
+    }
+}
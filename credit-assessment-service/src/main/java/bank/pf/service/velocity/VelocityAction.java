@@ -0,0 +1,9 @@
+package bank.pf.service.velocity;
+
+public enum VelocityAction {
+
+    // The application is rejected before any external call
+    REJECT,
+    // The application is assessed as usual and carries VELOCITY_LIMIT_EXCEEDED for review downstream
+    FLAG
+}
@@ -0,0 +1,16 @@
+package bank.pf.service.velocity;
+
+// Outcome of the velocity pre-screen for one application. dimension and applicationsInWindow describe the first
+// threshold exceeded (cpf before email); action is null when none was.
+public record VelocityCheck(VelocityAction action, String dimension, int applicationsInWindow) {
+
+    static final VelocityCheck PASSED = new VelocityCheck(null, null, 0);
+
+    public boolean exceeded() {
+        return action != null;
+    }
+
+    public boolean rejected() {
+        return action == VelocityAction.REJECT;
+    }
+}
@@ -0,0 +1,196 @@
+package bank.pf.service.velocity;
+
+import bank.pf.dto.event.LoanApplicationReceivedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+// Counts applications per CPF and per email over a sliding window and stops (or flags) the ones above the configured
+// thresholds before the bureau and anti-fraud calls, which are paid per request and are what a fraud ring resubmitting
+// within minutes costs us. Counters live in this replica only: loan applications are partitioned by application ID,
+// so with several replicas each one sees its share of a key's applications and thresholds are per replica.
+// Every application is counted, including the rejected ones, so a ring that keeps submitting stays over the limit.
+// Each application ID is counted once: a redelivery (a batch retried after a failed publish, a rebalance) gets the
+// outcome of its first check back instead of counting the CPF and email again.
+// max-keys bounds the keys held per dimension; a key idle for a whole window has nothing left to count and expires.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VelocityPreScreen {
+
+    private static final String CPF = "cpf";
+    private static final String EMAIL = "email";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.velocity.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.velocity.action:reject}")
+    private String action;
+
+    @Value("${app.velocity.window:10m}")
+    private Duration window;
+
+    @Value("${app.velocity.bucket:30s}")
+    private Duration bucket;
+
+    @Value("${app.velocity.max-keys:50000}")
+    private long maxKeys;
+
+    // Most applications one CPF (or email) may submit within the window; 0 turns the dimension off
+    @Value("${app.velocity.cpf-threshold:5}")
+    private int cpfThreshold;
+
+    @Value("${app.velocity.email-threshold:5}")
+    private int emailThreshold;
+
+    private VelocityAction velocityAction;
+    private int buckets;
+    private Cache<String, SlidingWindowCounter> cpfCounters;
+    private Cache<String, SlidingWindowCounter> emailCounters;
+    private Cache<String, VelocityCheck> checkedApplications;
+
+    private Counter passedCounter;
+    private Counter rejectedCounter;
+    private Counter flaggedCounter;
+    private Counter cpfExceededCounter;
+    private Counter emailExceededCounter;
+    private DistributionSummary cpfCountSummary;
+    private DistributionSummary emailCountSummary;
+
+    @PostConstruct
+    private void init() {
+        if (!enabled) {
+            return;
+        }
+        velocityAction = VelocityAction.valueOf(action.trim().toUpperCase(Locale.ROOT));
+        if (bucket.toMillis() <= 0 || window.compareTo(bucket) < 0) {
+            throw new IllegalStateException("app.velocity.window (" + window + ") must be at least one app.velocity.bucket (" + bucket + ")");
+        }
+        buckets = (int) Math.ceilDiv(window.toMillis(), bucket.toMillis());
+        cpfCounters = counters(CPF);
+        emailCounters = counters(EMAIL);
+        checkedApplications = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(window.plus(bucket))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, checkedApplications, "velocity-application");
+        passedCounter = applicationCounter("passed");
+        rejectedCounter = applicationCounter("rejected");
+        flaggedCounter = applicationCounter("flagged");
+        cpfExceededCounter = exceededCounter(CPF);
+        emailExceededCounter = exceededCounter(EMAIL);
+        cpfCountSummary = countSummary(CPF);
+        emailCountSummary = countSummary(EMAIL);
+        Gauge.builder("velocity.window", () -> (double) buckets * bucket.toMillis() / 1000)
+                .description("Span of the velocity pre-screen sliding window")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        thresholdGauge(CPF, cpfThreshold);
+        thresholdGauge(EMAIL, emailThreshold);
+        log.info("Velocity pre-screen started. action={}, window={} ({} buckets of {}), cpfThreshold={}, emailThreshold={}, maxKeys={}",
+                velocityAction, window, buckets, bucket, cpfThreshold, emailThreshold, maxKeys);
+    }
+
+    public VelocityCheck check(LoanApplicationReceivedEvent application) {
+        return check(application, System.currentTimeMillis());
+    }
+
+    VelocityCheck check(LoanApplicationReceivedEvent application, long nowMillis) {
+        if (!enabled) {
+            return VelocityCheck.PASSED;
+        }
+        if (application.applicationId() == null) {
+            return countAndCompare(application, nowMillis);
+        }
+        return checkedApplications.get(application.applicationId(), applicationId -> countAndCompare(application, nowMillis));
+    }
+
+    private VelocityCheck countAndCompare(LoanApplicationReceivedEvent application, long nowMillis) {
+        // Both keys are counted before either is compared, so one dimension going over never hides the other's traffic
+        int cpfCount = count(cpfCounters, cpfThreshold, application.cpf(), nowMillis, cpfCountSummary);
+        int emailCount = count(emailCounters, emailThreshold, normalizedEmail(application.email()), nowMillis, emailCountSummary);
+        VelocityCheck check;
+        if (cpfThreshold > 0 && cpfCount > cpfThreshold) {
+            cpfExceededCounter.increment();
+            check = new VelocityCheck(velocityAction, CPF, cpfCount);
+        } else if (emailThreshold > 0 && emailCount > emailThreshold) {
+            emailExceededCounter.increment();
+            check = new VelocityCheck(velocityAction, EMAIL, emailCount);
+        } else {
+            passedCounter.increment();
+            return VelocityCheck.PASSED;
+        }
+        (check.rejected() ? rejectedCounter : flaggedCounter).increment();
+        log.warn("Application {} is over the {} velocity limit: {} applications in the last {}. Action: {}",
+                application.applicationId(), check.dimension(), check.applicationsInWindow(), window, velocityAction);
+        return check;
+    }
+
+    private int count(Cache<String, SlidingWindowCounter> counters, int threshold, String key, long nowMillis,
+                      DistributionSummary countSummary) {
+        if (threshold <= 0 || key == null || key.isBlank()) {
+            return 0;
+        }
+        long count = counters.get(key, k -> new SlidingWindowCounter(buckets, bucket.toMillis())).incrementAndSum(nowMillis);
+        countSummary.record(count);
+        return (int) Math.min(count, Integer.MAX_VALUE);
+    }
+
+    private static String normalizedEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Cache<String, SlidingWindowCounter> counters(String dimension) {
+        Cache<String, SlidingWindowCounter> counters = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(window.plus(bucket))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counters, "velocity-" + dimension);
+        return counters;
+    }
+
+    private Counter applicationCounter(String outcome) {
+        return Counter.builder("velocity.prescreen.applications")
+                .description("Applications by velocity pre-screen outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Counter exceededCounter(String dimension) {
+        return Counter.builder("velocity.prescreen.exceeded")
+                .description("Applications over the velocity threshold, by the dimension that exceeded it")
+                .tag("dimension", dimension)
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary countSummary(String dimension) {
+        return DistributionSummary.builder("velocity.window.applications")
+                .description("Applications of the same key within the window, including the current one")
+                .tag("dimension", dimension)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private void thresholdGauge(String dimension, int threshold) {
+        Gauge.builder("velocity.threshold", () -> threshold)
+                .description("Most applications per key the velocity pre-screen lets through within the window")
+                .tag("dimension", dimension)
+                .register(meterRegistry);
+    }
+}
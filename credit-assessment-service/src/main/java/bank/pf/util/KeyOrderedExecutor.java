@@ -0,0 +1,36 @@
+package bank.pf.util;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Runs tasks on virtual threads with a per-key FIFO guarantee: tasks sharing a key run one after another in
+// submission order, tasks with different keys run concurrently. Each key keeps only the tail of its chain, which is
+// dropped as soon as it completes, so idle keys cost nothing.
+public final class KeyOrderedExecutor implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+
+    public CompletableFuture<Void> submit(String key, Runnable task) {
+        CompletableFuture<Void> completion = tails.compute(key, (k, tail) -> tail == null
+                ? CompletableFuture.runAsync(task, executor)
+                // handle(...) so a failed predecessor does not skip the next task of the same key
+                : tail.handle((result, failure) -> null).thenRunAsync(task, executor));
+        completion.whenComplete((result, failure) -> tails.remove(key, completion));
+        return completion;
+    }
+
+    public int activeKeys() {
+        return tails.size();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
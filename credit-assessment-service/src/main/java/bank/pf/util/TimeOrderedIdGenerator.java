@@ -0,0 +1,46 @@
+package bank.pf.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Generates version 7 UUIDs (RFC 9562): 48-bit epoch millis, 12-bit monotonic sequence and 62 random bits.
+// The string form sorts in creation order, so index inserts always land on the right edge of the B-tree.
+public final class TimeOrderedIdGenerator {
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final long VARIANT_RFC_9562 = 0x8000000000000000L;
+
+    // (epochMillis << 12) | sequence. When the sequence overflows within one millisecond the increment carries into
+    // the timestamp, keeping IDs strictly increasing without locking.
+    private static final AtomicLong LAST_TIMESTAMP_AND_SEQUENCE = new AtomicLong();
+
+    private TimeOrderedIdGenerator() {
+    }
+
+    public static String nextId() {
+        return next().toString();
+    }
+
+    public static UUID next() {
+        long timestampAndSequence = nextTimestampAndSequence(System.currentTimeMillis());
+        long mostSignificantBits = ((timestampAndSequence >>> SEQUENCE_BITS) << 16)
+                | VERSION_7
+                | (timestampAndSequence & ((1L << SEQUENCE_BITS) - 1));
+        long leastSignificantBits = (ThreadLocalRandom.current().nextLong() & VARIANT_MASK) | VARIANT_RFC_9562;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    private static long nextTimestampAndSequence(long epochMillis) {
+        long candidate = epochMillis << SEQUENCE_BITS;
+        while (true) {
+            long last = LAST_TIMESTAMP_AND_SEQUENCE.get();
+            long next = candidate > last ? candidate : last + 1;
+            if (LAST_TIMESTAMP_AND_SEQUENCE.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package bank.pf.config;
+
+import bank.pf.entity.BureauScore;
+import bank.pf.entity.CachedBureauScore;
+import bank.pf.enums.AssessmentType;
+import bank.pf.enums.PaymentHistoryType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompactBureauScoreRedisSerializerTest {
+
+    private static final int BENCHMARK_ITERATIONS = 200_000;
+    private static final long FETCHED_AT = 1_760_000_000_000L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CompactBureauScoreRedisSerializer compactSerializer = new CompactBureauScoreRedisSerializer(objectMapper, true);
+    private final CompactBureauScoreRedisSerializer jsonSerializer = new CompactBureauScoreRedisSerializer(objectMapper, false);
+
+    @Test
+    void shouldRoundTripPositiveEntry() {
+        // Given
+        CachedBureauScore entry = givenPositiveEntry("01234567890", new BigDecimal("1500.50"));
+
+        // When
+        byte[] bytes = compactSerializer.serialize(entry);
+
+        // Then
+        assertThat(bytes[0]).isEqualTo(CompactBureauScoreRedisSerializer.VERSION_1);
+        assertThat(compactSerializer.deserialize(bytes)).isEqualTo(entry);
+    }
+
+    @Test
+    void shouldRoundTripNegativeEntry() {
+        // Given
+        CachedBureauScore entry = CachedBureauScore.negative(FETCHED_AT);
+
+        // When
+        CachedBureauScore decoded = compactSerializer.deserialize(compactSerializer.serialize(entry));
+
+        // Then
+        assertThat(decoded).isEqualTo(entry);
+    }
+
+    @Test
+    void shouldKeepValuesThatDoNotFitTheCompactEncodingExact() {
+        // Given
+        CachedBureauScore entry = CachedBureauScore.positive(new BureauScore("123.456.789-01", null, null, false, null,
+                new BigDecimal("99.12345")), FETCHED_AT);
+
+        // When
+        CachedBureauScore decoded = compactSerializer.deserialize(compactSerializer.serialize(entry));
+
+        // Then
+        assertThat(decoded).isEqualTo(entry);
+    }
+
+    @Test
+    void shouldReadLegacyJsonEntriesWhileWritingCompact() {
+        // Given
+        CachedBureauScore entry = givenPositiveEntry("12345678901", new BigDecimal("500.00"));
+        byte[] legacyJson = jsonSerializer.serialize(entry);
+
+        // When
+        CachedBureauScore decoded = compactSerializer.deserialize(legacyJson);
+
+        // Then
+        assertThat(legacyJson[0]).isEqualTo((byte) '{');
+        assertThat(decoded).isEqualTo(entry);
+        assertThat(jsonSerializer.deserialize(compactSerializer.serialize(entry))).isEqualTo(entry);
+    }
+
+    @Test
+    void shouldRejectUnknownFormatVersion() {
+        // Given
+        byte[] bytes = compactSerializer.serialize(givenPositiveEntry("12345678901", BigDecimal.TEN));
+        bytes[0] = 2;
+
+        // When / Then
+        assertThrows(SerializationException.class, () -> compactSerializer.deserialize(bytes));
+    }
+
+    @Test
+    void shouldEncodeAnEntryInUnderAQuarterOfItsJsonSize() {
+        // Given
+        CachedBureauScore entry = givenPositiveEntry("12345678901", new BigDecimal("2350.75"));
+
+        // When
+        byte[] compactBytes = compactSerializer.serialize(entry);
+        byte[] jsonBytes = jsonSerializer.serialize(entry);
+
+        // Then
+        assertThat(compactBytes.length).isLessThan(jsonBytes.length / 4);
+    }
+
+    // Timing only, the size is checked above: run with -Dbenchmark=true
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkEntrySizeAndCodecLatency() {
+        CachedBureauScore entry = givenPositiveEntry("12345678901", new BigDecimal("2350.75"));
+        byte[] compactBytes = compactSerializer.serialize(entry);
+        byte[] jsonBytes = jsonSerializer.serialize(entry);
+
+        // JIT warm-up for both formats
+        encodeAll(compactSerializer, entry);
+        encodeAll(jsonSerializer, entry);
+        decodeAll(compactSerializer, compactBytes);
+        decodeAll(jsonSerializer, jsonBytes);
+
+        long compactEncodeNanos = time(() -> encodeAll(compactSerializer, entry));
+        long jsonEncodeNanos = time(() -> encodeAll(jsonSerializer, entry));
+        long compactDecodeNanos = time(() -> decodeAll(compactSerializer, compactBytes));
+        long jsonDecodeNanos = time(() -> decodeAll(jsonSerializer, jsonBytes));
+
+        System.out.println("[DEBUG_LOG] Bytes per entry: json=" + jsonBytes.length + ", compact=" + compactBytes.length);
+        System.out.println("[DEBUG_LOG] Encode: json=" + nanosPerOp(jsonEncodeNanos) + " ns, compact=" + nanosPerOp(compactEncodeNanos) + " ns");
+        System.out.println("[DEBUG_LOG] Decode: json=" + nanosPerOp(jsonDecodeNanos) + " ns, compact=" + nanosPerOp(compactDecodeNanos) + " ns");
+    }
+
+    private static long encodeAll(CompactBureauScoreRedisSerializer serializer, CachedBureauScore entry) {
+        long totalBytes = 0;
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            totalBytes += serializer.serialize(entry).length;
+        }
+        return totalBytes;
+    }
+
+    private static long decodeAll(CompactBureauScoreRedisSerializer serializer, byte[] bytes) {
+        long totalScore = 0;
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            totalScore += serializer.deserialize(bytes).score().score();
+        }
+        return totalScore;
+    }
+
+    private static long time(Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        return System.nanoTime() - start;
+    }
+
+    private static long nanosPerOp(long totalNanos) {
+        return totalNanos / BENCHMARK_ITERATIONS;
+    }
+
+    private static CachedBureauScore givenPositiveEntry(String cpf, BigDecimal monthlyDebts) {
+        return CachedBureauScore.positive(new BureauScore(cpf, 750, AssessmentType.LOW_RISK, true,
+                PaymentHistoryType.EXCELLENT, monthlyDebts), FETCHED_AT);
+    }
+}
@@ -0,0 +1,113 @@
+package bank.pf.messaging.consumer;
+
+import bank.pf.dto.event.LoanApplicationReceivedEvent;
+import bank.pf.service.CreditAssessmentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoanApplicationParallelEventConsumerTest {
+
+    private static final String TOPIC = "LoanApplicationReceivedEventTopic";
+
+    @Mock
+    private CreditAssessmentService creditAssessmentService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoanApplicationParallelEventConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        consumer = new LoanApplicationParallelEventConsumer(creditAssessmentService, meterRegistry);
+        ReflectionTestUtils.setField(consumer, "maxInFlight", 16);
+        ReflectionTestUtils.invokeMethod(consumer, "init");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        consumer.shutdown();
+    }
+
+    @Test
+    void shouldAcknowledgeLaterRecordWhileEarlierOneIsStillInFlight() throws InterruptedException {
+        // Given
+        CountDownLatch releaseSlowAssessment = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            LoanApplicationReceivedEvent event = invocation.getArgument(0);
+            return event.applicationId().equals("app-slow") && releaseSlowAssessment.await(2, TimeUnit.SECONDS);
+        }).when(creditAssessmentService).assessCredit(any());
+        Acknowledgment slowAcknowledgment = mock(Acknowledgment.class);
+        Acknowledgment fastAcknowledgment = mock(Acknowledgment.class);
+
+        // When
+        consumer.handleLoanApplicationReceivedEvent(givenRecord(0, "app-slow"), slowAcknowledgment);
+        consumer.handleLoanApplicationReceivedEvent(givenRecord(1, "app-fast"), fastAcknowledgment);
+
+        // Then
+        verify(fastAcknowledgment, timeout(2_000)).acknowledge();
+        verify(slowAcknowledgment, never()).acknowledge();
+        assertThat(meterRegistry.get("credit.assessment.consumer.in-flight").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("credit.assessment.consumer.out-of-order.completions").counter().count()).isEqualTo(1);
+
+        releaseSlowAssessment.countDown();
+        verify(slowAcknowledgment, timeout(2_000)).acknowledge();
+        await().atMost(Duration.ofSeconds(2))
+                .until(() -> meterRegistry.get("credit.assessment.consumer.in-flight").gauge().value() == 0);
+    }
+
+    @Test
+    void shouldAssessRecordsOfSameApplicationSequentially() throws InterruptedException {
+        // Given
+        List<Integer> assessedInstallments = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            LoanApplicationReceivedEvent event = invocation.getArgument(0);
+            Thread.sleep(event.numberOfInstallments() == 0 ? 50 : 0);
+            assessedInstallments.add(event.numberOfInstallments());
+            return null;
+        }).when(creditAssessmentService).assessCredit(any());
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        // When
+        for (int offset = 0; offset < 5; offset++) {
+            consumer.handleLoanApplicationReceivedEvent(givenRecord(offset, "app-1", offset), acknowledgment);
+        }
+
+        // Then
+        verify(acknowledgment, timeout(2_000).times(5)).acknowledge();
+        assertThat(assessedInstallments).containsExactly(0, 1, 2, 3, 4);
+        assertThat(meterRegistry.get("credit.assessment.consumer.out-of-order.completions").counter().count()).isZero();
+    }
+
+    private static ConsumerRecord<String, LoanApplicationReceivedEvent> givenRecord(long offset, String applicationId) {
+        return givenRecord(offset, applicationId, 24);
+    }
+
+    private static ConsumerRecord<String, LoanApplicationReceivedEvent> givenRecord(long offset, String applicationId, int installments) {
+        var event = new LoanApplicationReceivedEvent(applicationId, "12345678901", "test@example.com", LocalDate.of(1990, 1, 1),
+                new BigDecimal("10000.00"), installments, new BigDecimal("5000.00"), Instant.now());
+        return new ConsumerRecord<>(TOPIC, 0, offset, applicationId, event);
+    }
+}
@@ -0,0 +1,307 @@
+package bank.pf.service;
+
+import bank.pf.dto.event.CreditAssessmentCompletedEvent;
+import bank.pf.dto.event.LoanApplicationReceivedEvent;
+import bank.pf.entity.AntiFraudScore;
+import bank.pf.entity.BureauScore;
+import bank.pf.entity.CachedBureauScore;
+import bank.pf.enums.AssessmentStatus;
+import bank.pf.enums.AssessmentType;
+import bank.pf.enums.PaymentHistoryType;
+import bank.pf.enums.ReasonCode;
+import bank.pf.enums.StaleBureauScoreReason;
+import bank.pf.enums.ReasonParameter;
+import bank.pf.enums.RecommendationType;
+import bank.pf.exception.AntiFraudApiException;
+import bank.pf.exception.BureauNotFoundException;
+import bank.pf.messaging.producer.CreditAssessmentEventProducer;
+import bank.pf.service.chain.AssessmentRuleExecutor;
+import bank.pf.service.external.AntiFraudService;
+import bank.pf.service.external.BureauScoreLookup;
+import bank.pf.service.external.BureauService;
+import bank.pf.service.policy.CompiledCreditPolicy;
+import bank.pf.service.policy.CompiledCreditPolicy.CompiledRiskBand;
+import bank.pf.service.policy.CreditPolicyDefinition.RiskBand;
+import bank.pf.service.policy.CreditPolicyHolder;
+import bank.pf.service.profile.CustomerProfileSnapshot;
+import bank.pf.service.profile.CustomerProfileStore;
+import bank.pf.service.shadow.ShadowPolicyEvaluator;
+import bank.pf.service.strategy.CreditRiskStrategy;
+import bank.pf.service.velocity.VelocityAction;
+import bank.pf.service.velocity.VelocityCheck;
+import bank.pf.service.velocity.VelocityPreScreen;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CreditAssessmentServiceTest {
+
+    private static final long REMOTE_LATENCY_MILLIS = 300;
+    private static final RiskBand RISK_BAND = new RiskBand("LOW_RISK", "lowRiskStrategy", 700, null,
+            new BigDecimal("4.5"), new BigDecimal("5000000.00"), new BigDecimal("0.08"), null);
+
+    @Mock
+    private BureauService bureauService;
+
+    @Mock
+    private AntiFraudService antiFraudService;
+
+    @Mock
+    private AssessmentRuleExecutor assessmentRuleExecutor;
+
+    @Mock
+    private CreditRiskStrategy creditRiskStrategy;
+
+    @Mock
+    private CreditPolicyHolder creditPolicyHolder;
+
+    @Mock
+    private CompiledCreditPolicy policy;
+
+    @Mock
+    private CustomerProfileStore customerProfileStore;
+
+    @Mock
+    private ShadowPolicyEvaluator shadowPolicyEvaluator;
+
+    @Mock
+    private VelocityPreScreen velocityPreScreen;
+
+    @Mock
+    private CreditAssessmentEventProducer creditAssessmentEventProducer;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CreditAssessmentService creditAssessmentService;
+    private LoanApplicationReceivedEvent loanApplicationReceivedEvent;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        creditAssessmentService = new CreditAssessmentService(bureauService, antiFraudService, assessmentRuleExecutor,
+                creditPolicyHolder, customerProfileStore, shadowPolicyEvaluator, velocityPreScreen, creditAssessmentEventProducer, meterRegistry);
+        lenient().when(creditPolicyHolder.current()).thenReturn(policy);
+        lenient().when(velocityPreScreen.check(any())).thenReturn(new VelocityCheck(null, null, 0));
+        lenient().when(policy.version()).thenReturn("2025.1");
+        ReflectionTestUtils.setField(creditAssessmentService, "batchMaxConcurrency", 4);
+        ReflectionTestUtils.invokeMethod(creditAssessmentService, "init");
+        loanApplicationReceivedEvent = new LoanApplicationReceivedEvent("app-1", "12345678901", "test@example.com",
+                LocalDate.of(1990, 1, 1), new BigDecimal("10000.00"), 24, new BigDecimal("5000.00"), Instant.now());
+    }
+
+    @AfterEach
+    void tearDown() {
+        creditAssessmentService.shutdown();
+    }
+
+    @Test
+    void shouldFetchBureauAndAntiFraudScoresConcurrently() {
+        // Given
+        when(bureauService.getScore("12345678901")).thenAnswer(invocation -> {
+            Thread.sleep(REMOTE_LATENCY_MILLIS);
+            return BureauScoreLookup.fresh(givenBureauScore());
+        });
+        when(antiFraudService.checkFraud(loanApplicationReceivedEvent)).thenAnswer(invocation -> {
+            Thread.sleep(REMOTE_LATENCY_MILLIS);
+            return givenAntiFraudScore();
+        });
+        when(policy.riskBandFor(750)).thenReturn(new CompiledRiskBand(RISK_BAND, creditRiskStrategy));
+
+        // When
+        long start = System.nanoTime();
+        creditAssessmentService.assessCredit(loanApplicationReceivedEvent);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        System.out.println("[DEBUG_LOG] Assessment with two " + REMOTE_LATENCY_MILLIS + "ms remote calls took " + elapsedMillis + "ms");
+        assertThat(elapsedMillis).isLessThan(2 * REMOTE_LATENCY_MILLIS);
+        verify(assessmentRuleExecutor).executeChain(any(), any(), any(), any(), eq(policy));
+        verify(creditRiskStrategy).assessRisk(any(), any(), any(), eq(RISK_BAND));
+        verify(creditAssessmentEventProducer).sendCreditAssessmentCompletedEvent(argThat(event ->
+                event.creditScoreUsed() == 750 && event.antiFraudScoreUsed() == 100));
+        assertThat(meterRegistry.get("credit.assessment.phase.duration").tag("phase", "bureau").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("credit.assessment.phase.duration").tag("phase", "antifraud").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("credit.assessment.phase.duration").tag("phase", "external-scores").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCancelAntiFraudCallAndPublishFailedEventWhenBureauFails() throws InterruptedException {
+        // Given
+        CountDownLatch antiFraudStarted = new CountDownLatch(1);
+        CountDownLatch antiFraudInterrupted = new CountDownLatch(1);
+        when(bureauService.getScore("12345678901")).thenAnswer(invocation -> {
+            antiFraudStarted.await(2, TimeUnit.SECONDS);
+            throw new BureauNotFoundException("12345678901");
+        });
+        when(antiFraudService.checkFraud(loanApplicationReceivedEvent)).thenAnswer(invocation -> {
+            antiFraudStarted.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                antiFraudInterrupted.countDown();
+                throw e;
+            }
+            return givenAntiFraudScore();
+        });
+
+        // When
+        creditAssessmentService.assessCredit(loanApplicationReceivedEvent);
+
+        // Then
+        CreditAssessmentCompletedEvent failedEvent = captureSingleEvent();
+        assertThat(failedEvent.finalAssessmentStatus()).isEqualTo(AssessmentStatus.FAILED);
+        assertThat(failedEvent.reasonCodes()).isEqualTo(ReasonCode.BUREAU_UNAVAILABLE.mask());
+        assertThat(antiFraudInterrupted.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("credit.assessment.external.cancelled").counter().count()).isEqualTo(1);
+        verifyNoInteractions(assessmentRuleExecutor);
+    }
+
+    @Test
+    void shouldPublishFailedEventWhenAntiFraudFails() {
+        // Given
+        when(bureauService.getScore("12345678901")).thenReturn(BureauScoreLookup.fresh(givenBureauScore()));
+        when(antiFraudService.checkFraud(loanApplicationReceivedEvent)).thenThrow(new AntiFraudApiException("app-1", new RuntimeException("timeout")));
+
+        // When
+        creditAssessmentService.assessCredit(loanApplicationReceivedEvent);
+
+        // Then
+        CreditAssessmentCompletedEvent failedEvent = captureSingleEvent();
+        assertThat(failedEvent.finalAssessmentStatus()).isEqualTo(AssessmentStatus.FAILED);
+        assertThat(failedEvent.reasonCodes()).isEqualTo(ReasonCode.ANTI_FRAUD_UNAVAILABLE.mask());
+        assertThat(failedEvent.policyVersion()).isEqualTo("2025.1");
+        verifyNoInteractions(assessmentRuleExecutor);
+    }
+
+    @Test
+    void shouldTagAssessmentWhenBureauScoreIsServedStale() {
+        // Given
+        when(bureauService.getScore("12345678901")).thenReturn(BureauScoreLookup.staleIfError(givenBureauScore()));
+        when(antiFraudService.checkFraud(loanApplicationReceivedEvent)).thenReturn(givenAntiFraudScore());
+        when(policy.riskBandFor(750)).thenReturn(new CompiledRiskBand(RISK_BAND, creditRiskStrategy));
+
+        // When
+        creditAssessmentService.assessCredit(loanApplicationReceivedEvent);
+
+        // Then
+        CreditAssessmentCompletedEvent event = captureSingleEvent();
+        assertThat(event.staleBureauScore()).isTrue();
+        assertThat(event.staleBureauScoreReason()).isEqualTo(StaleBureauScoreReason.BUREAU_UNAVAILABLE);
+        assertThat(event.policyVersion()).isEqualTo("2025.1");
+    }
+
+    @Test
+    void shouldTellAScoreServedWhileAnotherCallerFetchesItFromABureauOutage() {
+        // Given
+        when(bureauService.getScore("12345678901")).thenReturn(BureauScoreLookup.staleWhileFetching(givenBureauScore()));
+        when(antiFraudService.checkFraud(loanApplicationReceivedEvent)).thenReturn(givenAntiFraudScore());
+        when(policy.riskBandFor(750)).thenReturn(new CompiledRiskBand(RISK_BAND, creditRiskStrategy));
+
+        // When
+        creditAssessmentService.assessCredit(loanApplicationReceivedEvent);
+
+        // Then
+        CreditAssessmentCompletedEvent event = captureSingleEvent();
+        assertThat(event.staleBureauScore()).isTrue();
+        assertThat(event.staleBureauScoreReason()).isEqualTo(StaleBureauScoreReason.FETCH_IN_PROGRESS);
+    }
+
+    @Test
+    void shouldAssessBatchWithSingleCacheReadAndPublishAllEventsTogether() {
+        // Given
+        LoanApplicationReceivedEvent secondEvent = new LoanApplicationReceivedEvent("app-2", "98765432100", "other@example.com",
+                LocalDate.of(1985, 5, 5), new BigDecimal("20000.00"), 12, new BigDecimal("8000.00"), Instant.now());
+        CachedBureauScore cachedScore = CachedBureauScore.positive(givenBureauScore(), System.currentTimeMillis());
+        when(bureauService.readCache(List.of("12345678901", "98765432100"))).thenReturn(Map.of("12345678901", cachedScore));
+        when(bureauService.getScore("12345678901", cachedScore)).thenReturn(BureauScoreLookup.fresh(givenBureauScore()));
+        when(bureauService.getScore("98765432100", null)).thenThrow(new BureauNotFoundException("98765432100"));
+        when(antiFraudService.checkFraud(any())).thenReturn(givenAntiFraudScore());
+        when(policy.riskBandFor(750)).thenReturn(new CompiledRiskBand(RISK_BAND, creditRiskStrategy));
+
+        // When
+        creditAssessmentService.assessCredits(List.of(loanApplicationReceivedEvent, secondEvent));
+
+        // Then
+        ArgumentCaptor<List<CreditAssessmentCompletedEvent>> eventsCaptor = ArgumentCaptor.captor();
+        verify(creditAssessmentEventProducer).sendCreditAssessmentCompletedEvents(eventsCaptor.capture());
+        verify(creditAssessmentEventProducer, never()).sendCreditAssessmentCompletedEvent(any());
+        verify(bureauService, never()).getScore("12345678901");
+        assertThat(eventsCaptor.getValue())
+                .extracting(CreditAssessmentCompletedEvent::applicationId, CreditAssessmentCompletedEvent::finalAssessmentStatus)
+                .containsExactly(tuple("app-1", AssessmentStatus.APPROVED), tuple("app-2", AssessmentStatus.FAILED));
+    }
+
+    @Test
+    void shouldReuseFreshProfileScoresWithoutCallingExternalServices() {
+        // Given
+        CustomerProfileSnapshot profile = new CustomerProfileSnapshot("12345678901", givenBureauScore(), System.currentTimeMillis(),
+                givenAntiFraudScore(), new BigDecimal("10000.00"), System.currentTimeMillis(), "app-0", AssessmentStatus.APPROVED,
+                System.currentTimeMillis(), List.of());
+        when(customerProfileStore.find("12345678901")).thenReturn(profile);
+        when(customerProfileStore.reusableBureauScore(profile)).thenReturn(givenBureauScore());
+        when(customerProfileStore.reusableAntiFraudScore(profile, loanApplicationReceivedEvent)).thenReturn(givenAntiFraudScore());
+        when(policy.riskBandFor(750)).thenReturn(new CompiledRiskBand(RISK_BAND, creditRiskStrategy));
+
+        // When
+        creditAssessmentService.assessCredit(loanApplicationReceivedEvent);
+
+        // Then
+        CreditAssessmentCompletedEvent event = captureSingleEvent();
+        assertThat(event.creditScoreUsed()).isEqualTo(750);
+        assertThat(event.staleBureauScore()).isTrue();
+        assertThat(event.staleBureauScoreReason()).isEqualTo(StaleBureauScoreReason.PROFILE_REUSE);
+        verifyNoInteractions(bureauService, antiFraudService);
+        // Reused scores are not written back, so their age keeps counting from the original fetch
+        verify(customerProfileStore).recordAssessment(loanApplicationReceivedEvent, null, null, AssessmentStatus.APPROVED);
+    }
+
+    @Test
+    void shouldRejectApplicationOverVelocityLimitWithoutCallingExternalServices() {
+        // Given
+        when(velocityPreScreen.check(loanApplicationReceivedEvent)).thenReturn(new VelocityCheck(VelocityAction.REJECT, "cpf", 6));
+
+        // When
+        creditAssessmentService.assessCredit(loanApplicationReceivedEvent);
+
+        // Then
+        CreditAssessmentCompletedEvent event = captureSingleEvent();
+        assertThat(event.finalAssessmentStatus()).isEqualTo(AssessmentStatus.REJECTED);
+        assertThat(event.reasonCodes()).isEqualTo(ReasonCode.VELOCITY_LIMIT_EXCEEDED.mask());
+        assertThat(event.reasonParameters()).containsEntry(ReasonParameter.APPLICATIONS_IN_WINDOW, 6);
+        assertThat(event.email()).isEqualTo("test@example.com");
+        verifyNoInteractions(bureauService, antiFraudService, assessmentRuleExecutor);
+    }
+
+    private CreditAssessmentCompletedEvent captureSingleEvent() {
+        ArgumentCaptor<CreditAssessmentCompletedEvent> eventCaptor = ArgumentCaptor.forClass(CreditAssessmentCompletedEvent.class);
+        verify(creditAssessmentEventProducer, times(1)).sendCreditAssessmentCompletedEvent(eventCaptor.capture());
+        return eventCaptor.getValue();
+    }
+
+    private BureauScore givenBureauScore() {
+        return new BureauScore("12345678901", 750, AssessmentType.LOW_RISK, false, PaymentHistoryType.GOOD, new BigDecimal("500.00"));
+    }
+
+    private AntiFraudScore givenAntiFraudScore() {
+        return new AntiFraudScore("app-1", 100, RecommendationType.ACCEPT);
+    }
+}
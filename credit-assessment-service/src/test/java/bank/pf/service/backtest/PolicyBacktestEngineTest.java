@@ -0,0 +1,165 @@
+package bank.pf.service.backtest;
+
+import bank.pf.dto.event.LoanApplicationReceivedEvent;
+import bank.pf.entity.AntiFraudScore;
+import bank.pf.entity.BureauScore;
+import bank.pf.enums.AssessmentStatus;
+import bank.pf.enums.AssessmentType;
+import bank.pf.enums.PaymentHistoryType;
+import bank.pf.enums.RecommendationType;
+import bank.pf.service.chain.AntiFraudScoreRule;
+import bank.pf.service.chain.AssessmentRuleExecutor;
+import bank.pf.service.chain.BureauScoreRule;
+import bank.pf.service.chain.DebtToIncomeRatioRule;
+import bank.pf.service.chain.PaymentHistoryRule;
+import bank.pf.service.policy.CompiledCreditPolicy;
+import bank.pf.service.policy.CreditPolicyCompiler;
+import bank.pf.service.policy.CreditPolicyDefinition;
+import bank.pf.service.policy.CreditPolicyFixtures;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PolicyBacktestEngineTest {
+
+    private static final int BENCHMARK_RECORDS = 200_000;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    private final CompiledCreditPolicy baseline = CreditPolicyFixtures.defaultPolicy();
+    private final CompiledCreditPolicy candidate = givenCandidateWithMinimumBureauScore(550);
+
+    @TempDir
+    private Path workDirectory;
+
+    private PolicyBacktestEngine policyBacktestEngine;
+
+    @BeforeEach
+    void setUp() {
+        var assessmentRuleExecutor = new AssessmentRuleExecutor(List.of(new BureauScoreRule(), new PaymentHistoryRule(),
+                new DebtToIncomeRatioRule(), new AntiFraudScoreRule()), new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(assessmentRuleExecutor, "compilePipeline");
+        policyBacktestEngine = new PolicyBacktestEngine(assessmentRuleExecutor, objectMapper);
+        ReflectionTestUtils.setField(policyBacktestEngine, "parallelism", 4);
+        ReflectionTestUtils.setField(policyBacktestEngine, "chunkSize", 8192);
+        ReflectionTestUtils.setField(policyBacktestEngine, "splitThreshold", 512);
+    }
+
+    @Test
+    void shouldReportChangedOutcomesAndSkipInvalidRecords() throws IOException {
+        // Given
+        Path input = workDirectory.resolve("applications.ndjson");
+        Files.write(input, List.of(
+                objectMapper.writeValueAsString(givenRecord("app-unchanged", 750)),
+                objectMapper.writeValueAsString(givenRecord("app-changed", 450)),
+                "{not json",
+                "",
+                objectMapper.writeValueAsString(new BacktestRecord(givenApplication("app-incomplete"), null, givenAntiFraudScore("app-incomplete")))));
+        Path output = workDirectory.resolve("out");
+
+        // When
+        BacktestReport report = policyBacktestEngine.run(input, BacktestInputFormat.NDJSON, baseline, candidate, output);
+
+        // Then
+        assertThat(report.baselineVersion()).isEqualTo("2025.1");
+        assertThat(report.candidateVersion()).isEqualTo("2025.2");
+        assertThat(report.records()).isEqualTo(2);
+        assertThat(report.invalidRecords()).isEqualTo(2);
+        assertThat(report.changedOutcomes()).isEqualTo(1);
+        assertThat(report.baselineApprovals()).isEqualTo(2);
+        assertThat(report.candidateApprovals()).isEqualTo(1);
+        assertThat(report.transitions()).containsEntry("APPROVED->APPROVED", 1L).containsEntry("ADJUSTED_CONDITIONS->REJECTED", 1L);
+
+        List<String> diffLines = Files.readAllLines(output.resolve(PolicyBacktestEngine.DIFF_FILE));
+        assertThat(diffLines).hasSize(1);
+        BacktestDiff diff = objectMapper.readValue(diffLines.getFirst(), BacktestDiff.class);
+        assertThat(diff.applicationId()).isEqualTo("app-changed");
+        assertThat(diff.baseline().status()).isEqualTo(AssessmentStatus.ADJUSTED_CONDITIONS);
+        assertThat(diff.candidate().status()).isEqualTo(AssessmentStatus.REJECTED);
+        assertThat(objectMapper.readValue(output.resolve(PolicyBacktestEngine.SUMMARY_FILE).toFile(), BacktestReport.class))
+                .isEqualTo(report);
+    }
+
+    @Test
+    void shouldReadMongoExportExtendedJson() throws IOException {
+        // Given
+        Path input = workDirectory.resolve("applications.json");
+        Files.writeString(input, """
+                {"_id":{"$oid":"665f1c2e9b1e8a3d4c5b6a70"},"application":{"applicationId":"app-mongo","cpf":"12345678901","email":"a@b.com","dateOfBirth":{"$date":"1990-05-01T00:00:00Z"},"amountRequested":{"$numberDecimal":"10000.00"},"numberOfInstallments":{"$numberInt":"24"},"monthlyIncome":{"$numberDecimal":"10000.00"},"eventTimestamp":{"$date":{"$numberLong":"1714557600000"}}},"bureauScore":{"cpf":"12345678901","score":{"$numberInt":"450"},"assessment":"HIGH_RISK","hasRestrictions":false,"paymentHistory":"GOOD","monthlyDebts":{"$numberDecimal":"500.00"}},"antiFraudScore":{"applicationId":"app-mongo","fraudScore":{"$numberInt":"100"},"recommendation":"ACCEPT"}}
+                """);
+
+        // When
+        BacktestReport report = policyBacktestEngine.run(input, BacktestInputFormat.MONGO_EXPORT, baseline, candidate, workDirectory.resolve("out"));
+
+        // Then
+        assertThat(report.invalidRecords()).isZero();
+        assertThat(report.records()).isEqualTo(1);
+        assertThat(report.transitions()).containsEntry("ADJUSTED_CONDITIONS->REJECTED", 1L);
+    }
+
+    // Timing only, correctness is covered above: run with -Dbenchmark=true
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkReplayThroughput() throws IOException {
+        Path input = workDirectory.resolve("synthetic.ndjson");
+        try (BufferedWriter writer = Files.newBufferedWriter(input)) {
+            for (int i = 0; i < BENCHMARK_RECORDS; i++) {
+                writer.write(objectMapper.writeValueAsString(givenRecord("app-" + i, 250 + (i % 700))));
+                writer.newLine();
+            }
+        }
+
+        // JIT warm-up
+        policyBacktestEngine.run(input, BacktestInputFormat.NDJSON, baseline, candidate, workDirectory.resolve("warm-up"));
+        BacktestReport report = policyBacktestEngine.run(input, BacktestInputFormat.NDJSON, baseline, candidate, workDirectory.resolve("out"));
+
+        System.out.println("[DEBUG_LOG] Backtest: " + report.records() + " records in " + report.elapsedMillis() + " ms ("
+                + report.recordsPerMinute() + " records/min), changed=" + report.changedOutcomes());
+
+        assertThat(report.records()).isEqualTo(BENCHMARK_RECORDS);
+    }
+
+    private static BacktestRecord givenRecord(String applicationId, int bureauScore) {
+        return new BacktestRecord(givenApplication(applicationId),
+                new BureauScore("12345678901", bureauScore, AssessmentType.LOW_RISK, false, PaymentHistoryType.GOOD, new BigDecimal("500.00")),
+                givenAntiFraudScore(applicationId));
+    }
+
+    private static LoanApplicationReceivedEvent givenApplication(String applicationId) {
+        return new LoanApplicationReceivedEvent(applicationId, "12345678901", "a@b.com", LocalDate.of(1990, 5, 1),
+                new BigDecimal("10000.00"), 24, new BigDecimal("10000.00"), Instant.parse("2024-05-01T10:00:00Z"));
+    }
+
+    private static AntiFraudScore givenAntiFraudScore(String applicationId) {
+        return new AntiFraudScore(applicationId, 100, RecommendationType.ACCEPT);
+    }
+
+    private static CompiledCreditPolicy givenCandidateWithMinimumBureauScore(int minimumBureauScore) {
+        CreditPolicyDefinition definition = CreditPolicyFixtures.defaultDefinition();
+        CreditPolicyDefinition.Rules rules = definition.rules();
+        CreditPolicyDefinition.Rules stricterRules = new CreditPolicyDefinition.Rules(minimumBureauScore, rules.rejectedPaymentHistories(),
+                rules.maxDebtToIncomeStrict(), rules.maxDebtToIncomeFlexible(), rules.highFraudScoreThreshold(),
+                rules.rejectedFraudRecommendations());
+        return new CreditPolicyCompiler(CreditPolicyFixtures.riskStrategies())
+                .compile(new CreditPolicyDefinition("2025.2", stricterRules, definition.riskBands()));
+    }
+}
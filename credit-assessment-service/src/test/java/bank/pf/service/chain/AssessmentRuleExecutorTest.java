@@ -0,0 +1,128 @@
+package bank.pf.service.chain;
+
+import bank.pf.dto.event.LoanApplicationReceivedEvent;
+import bank.pf.entity.AntiFraudScore;
+import bank.pf.entity.BureauScore;
+import bank.pf.entity.CreditAssessmentResult;
+import bank.pf.enums.AssessmentStatus;
+import bank.pf.enums.AssessmentType;
+import bank.pf.enums.PaymentHistoryType;
+import bank.pf.enums.ReasonCode;
+import bank.pf.enums.RecommendationType;
+import bank.pf.service.policy.CompiledCreditPolicy;
+import bank.pf.service.policy.CreditPolicyFixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AssessmentRuleExecutorTest {
+
+    private final CompiledCreditPolicy policy = CreditPolicyFixtures.defaultPolicy();
+
+    private SimpleMeterRegistry meterRegistry;
+    private AssessmentRuleExecutor assessmentRuleExecutor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        assessmentRuleExecutor = new AssessmentRuleExecutor(List.of(new BureauScoreRule(), new PaymentHistoryRule(),
+                new DebtToIncomeRatioRule(), new AntiFraudScoreRule()), meterRegistry);
+        ReflectionTestUtils.invokeMethod(assessmentRuleExecutor, "compilePipeline");
+    }
+
+    @Test
+    void shouldStopAtFirstRejectingRuleAndCountRejection() {
+        // Given
+        CreditAssessmentResult assessment = givenApprovedAssessment();
+
+        // When
+        assessmentRuleExecutor.executeChain(givenApplication(), givenBureauScore(750, PaymentHistoryType.POOR_OVERDUE_60_DAYS),
+                givenAntiFraudScore(900), assessment, policy);
+
+        // Then
+        assertThat(assessment.getStatus()).isEqualTo(AssessmentStatus.REJECTED);
+        assertThat(ReasonCode.decode(assessment.getReasonCodes())).containsExactly(ReasonCode.PAYMENT_HISTORY_DELINQUENT);
+        assertThat(rejections("PaymentHistoryRule")).isEqualTo(1);
+        assertThat(rejections("AntiFraudScoreRule")).isZero();
+        assertThat(evaluations("BureauScoreRule")).isEqualTo(1);
+        assertThat(evaluations("DebtToIncomeRatioRule")).isZero();
+        assertThat(evaluations("AntiFraudScoreRule")).isZero();
+    }
+
+    @Test
+    void shouldEvaluateEveryRuleWhenNothingRejects() {
+        // Given
+        CreditAssessmentResult assessment = givenApprovedAssessment();
+
+        // When
+        assessmentRuleExecutor.executeChain(givenApplication(), givenBureauScore(750, PaymentHistoryType.GOOD),
+                givenAntiFraudScore(100), assessment, policy);
+
+        // Then
+        assertThat(assessment.getStatus()).isEqualTo(AssessmentStatus.APPROVED);
+        List.of("BureauScoreRule", "PaymentHistoryRule", "DebtToIncomeRatioRule", "AntiFraudScoreRule")
+                .forEach(rule -> assertThat(evaluations(rule)).isEqualTo(1));
+    }
+
+    @Test
+    void shouldProduceIndependentResultsUnderConcurrentUse() throws Exception {
+        // Given
+        List<Future<AssessmentStatus>> results = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 2_000; i++) {
+                boolean reject = i % 2 == 0;
+                results.add(executor.submit(() -> {
+                    CreditAssessmentResult assessment = givenApprovedAssessment();
+                    assessmentRuleExecutor.executeChain(givenApplication(), givenBureauScore(reject ? 250 : 750, PaymentHistoryType.GOOD),
+                            givenAntiFraudScore(100), assessment, policy);
+                    return assessment.getStatus();
+                }));
+            }
+        }
+
+        // Then
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).get()).isEqualTo(i % 2 == 0 ? AssessmentStatus.REJECTED : AssessmentStatus.APPROVED);
+        }
+        assertThat(rejections("BureauScoreRule")).isEqualTo(1_000);
+    }
+
+    private double rejections(String rule) {
+        return meterRegistry.get("credit.assessment.rule.rejections").tag("rule", rule).counter().count();
+    }
+
+    private long evaluations(String rule) {
+        return meterRegistry.get("credit.assessment.rule.duration").tag("rule", rule).timer().count();
+    }
+
+    private static CreditAssessmentResult givenApprovedAssessment() {
+        return CreditAssessmentResult.builder().applicationId("app-1").status(AssessmentStatus.APPROVED).build();
+    }
+
+    private static LoanApplicationReceivedEvent givenApplication() {
+        return new LoanApplicationReceivedEvent("app-1", "12345678901", "test@example.com", LocalDate.of(1990, 1, 1),
+                new BigDecimal("10000.00"), 24, new BigDecimal("5000.00"), Instant.now());
+    }
+
+    private static BureauScore givenBureauScore(int score, PaymentHistoryType paymentHistory) {
+        return new BureauScore("12345678901", score, AssessmentType.LOW_RISK, false, paymentHistory, new BigDecimal("500.00"));
+    }
+
+    private static AntiFraudScore givenAntiFraudScore(int fraudScore) {
+        return new AntiFraudScore("app-1", fraudScore, RecommendationType.ACCEPT);
+    }
+}
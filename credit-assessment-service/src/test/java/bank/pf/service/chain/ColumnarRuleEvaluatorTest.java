@@ -0,0 +1,167 @@
+package bank.pf.service.chain;
+
+import bank.pf.dto.event.LoanApplicationReceivedEvent;
+import bank.pf.entity.AntiFraudScore;
+import bank.pf.entity.BureauScore;
+import bank.pf.entity.CreditAssessmentResult;
+import bank.pf.enums.AssessmentStatus;
+import bank.pf.enums.AssessmentType;
+import bank.pf.enums.PaymentHistoryType;
+import bank.pf.enums.RecommendationType;
+import bank.pf.service.policy.CompiledCreditPolicy;
+import bank.pf.service.policy.CreditPolicyFixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarRuleEvaluatorTest {
+
+    private static final int BENCHMARK_ROWS = 200_000;
+
+    private final CompiledCreditPolicy policy = CreditPolicyFixtures.defaultPolicy();
+
+    private AssessmentRuleExecutor assessmentRuleExecutor;
+    private ColumnarRuleEvaluator columnarRuleEvaluator;
+
+    @BeforeEach
+    void setUp() {
+        assessmentRuleExecutor = new AssessmentRuleExecutor(List.of(new BureauScoreRule(), new PaymentHistoryRule(),
+                new DebtToIncomeRatioRule(), new AntiFraudScoreRule()), new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(assessmentRuleExecutor, "compilePipeline");
+        columnarRuleEvaluator = new ColumnarRuleEvaluator(assessmentRuleExecutor);
+    }
+
+    @Test
+    void shouldDecideEveryRowLikeTheObjectChain() {
+        // Given
+        List<Row> rows = givenRows(20_000, new SplittableRandom(42));
+        rows.add(new Row(givenApplication(new BigDecimal("10000.005"), 24, new BigDecimal("5000.00")),
+                givenBureauScore(700, PaymentHistoryType.GOOD, new BigDecimal("500.00")), givenAntiFraudScore(100, RecommendationType.ACCEPT)));
+        rows.add(new Row(givenApplication(new BigDecimal("10000.00"), 24, new BigDecimal("1999.999")),
+                givenBureauScore(700, null, new BigDecimal("500.00")), givenAntiFraudScore(100, null)));
+
+        // When
+        ColumnarRuleResults results = columnarRuleEvaluator.evaluate(columnsOf(rows), policy);
+
+        // Then
+        assertThat(results.isRejected(rows.size() - 1)).isTrue();
+        assertThat(columnsOf(rows).objectRowCount()).isEqualTo(2);
+        assertMatchesObjectChain(rows, results);
+    }
+
+    // Timing only, correctness is covered above: run with -Dbenchmark=true
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkColumnarAgainstObjectChain() {
+        // Given
+        List<Row> rows = givenRows(BENCHMARK_ROWS, new SplittableRandom(1));
+        // JIT warm-up for both paths
+        for (int i = 0; i < 3; i++) {
+            evaluateObjects(rows);
+            columnarRuleEvaluator.evaluate(columnsOf(rows), policy);
+        }
+
+        // When
+        long objectNanos = time(() -> evaluateObjects(rows));
+        long layoutNanos = time(() -> columnsOf(rows));
+        RuleColumns columns = columnsOf(rows);
+        long columnarNanos = time(() -> columnarRuleEvaluator.evaluate(columns, policy));
+
+        // Then
+        System.out.println("[DEBUG_LOG] " + BENCHMARK_ROWS + " rows: object chain=" + nanosPerRow(objectNanos)
+                + " ns/row, columnar=" + nanosPerRow(columnarNanos) + " ns/row (+ layout " + nanosPerRow(layoutNanos)
+                + " ns/row), speedup=" + String.format("%.1f", (double) objectNanos / columnarNanos) + "x, with layout="
+                + String.format("%.1f", (double) objectNanos / (columnarNanos + layoutNanos)) + "x");
+    }
+
+    private void assertMatchesObjectChain(List<Row> rows, ColumnarRuleResults results) {
+        assertThat(results.size()).isEqualTo(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            CreditAssessmentResult expected = evaluateObject(rows.get(i));
+            CreditAssessmentResult actual = givenApprovedAssessment();
+            results.applyTo(i, actual);
+            assertThat(results.status(i)).as("row %d", i).isEqualTo(expected.getStatus());
+            assertThat(actual.getReasonCodes()).as("row %d", i).isEqualTo(expected.getReasonCodes());
+            assertThat(actual.getReasonParameters()).as("row %d", i).isEqualTo(expected.getReasonParameters());
+        }
+    }
+
+    private CreditAssessmentResult evaluateObject(Row row) {
+        CreditAssessmentResult result = givenApprovedAssessment();
+        assessmentRuleExecutor.replayChain(row.application(), row.bureauScore(), row.antiFraudScore(), result, policy);
+        return result;
+    }
+
+    private int evaluateObjects(List<Row> rows) {
+        int rejected = 0;
+        for (Row row : rows) {
+            if (evaluateObject(row).getStatus() == AssessmentStatus.REJECTED) {
+                rejected++;
+            }
+        }
+        return rejected;
+    }
+
+    private static RuleColumns columnsOf(List<Row> rows) {
+        RuleColumns.Builder builder = RuleColumns.builder(rows.size());
+        rows.forEach(row -> builder.add(row.application(), row.bureauScore(), row.antiFraudScore()));
+        return builder.build();
+    }
+
+    // Values around the default policy thresholds, so every rule rejects part of the batch
+    private static List<Row> givenRows(int count, SplittableRandom random) {
+        PaymentHistoryType[] histories = PaymentHistoryType.values();
+        RecommendationType[] recommendations = RecommendationType.values();
+        List<Row> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            var application = givenApplication(BigDecimal.valueOf(random.nextLong(100_000, 5_000_000), 2),
+                    random.nextInt(1, 61), BigDecimal.valueOf(random.nextLong(100_000, 2_000_000), 2));
+            var bureauScore = givenBureauScore(random.nextInt(0, 1001), histories[random.nextInt(histories.length)],
+                    BigDecimal.valueOf(random.nextLong(0, 500_000), 2));
+            var antiFraudScore = givenAntiFraudScore(random.nextInt(0, 1001), recommendations[random.nextInt(recommendations.length)]);
+            rows.add(new Row(application, bureauScore, antiFraudScore));
+        }
+        return rows;
+    }
+
+    private static long time(Runnable runnable) {
+        long start = System.nanoTime();
+        runnable.run();
+        return System.nanoTime() - start;
+    }
+
+    private static long nanosPerRow(long nanos) {
+        return nanos / BENCHMARK_ROWS;
+    }
+
+    private static CreditAssessmentResult givenApprovedAssessment() {
+        return CreditAssessmentResult.builder().applicationId("app-1").status(AssessmentStatus.APPROVED).build();
+    }
+
+    private static LoanApplicationReceivedEvent givenApplication(BigDecimal amount, int installments, BigDecimal income) {
+        return new LoanApplicationReceivedEvent("app-1", "12345678901", "test@example.com", LocalDate.of(1990, 1, 1),
+                amount, installments, income, Instant.now());
+    }
+
+    private static BureauScore givenBureauScore(Integer score, PaymentHistoryType paymentHistory, BigDecimal monthlyDebts) {
+        return new BureauScore("12345678901", score, AssessmentType.LOW_RISK, false, paymentHistory, monthlyDebts);
+    }
+
+    private static AntiFraudScore givenAntiFraudScore(int fraudScore, RecommendationType recommendation) {
+        return new AntiFraudScore("app-1", fraudScore, recommendation);
+    }
+
+    private record Row(LoanApplicationReceivedEvent application, BureauScore bureauScore, AntiFraudScore antiFraudScore) {
+    }
+}
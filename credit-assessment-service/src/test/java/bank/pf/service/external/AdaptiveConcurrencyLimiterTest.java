@@ -0,0 +1,114 @@
+package bank.pf.service.external;
+
+import bank.pf.exception.ConcurrencyLimitExceededException;
+import bank.pf.service.external.AdaptiveConcurrencyLimiter.Permit;
+import bank.pf.service.external.AdaptiveConcurrencyLimiter.Settings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void shouldRejectOnceTheLimitAndTheQueueAreFull() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = givenLimiter(2, 0, Duration.ZERO);
+        limiter.acquire();
+        limiter.acquire();
+
+        // When / Then
+        assertThrows(ConcurrencyLimitExceededException.class, limiter::acquire);
+        assertThat(meterRegistry.get("external.concurrency.rejections").tag("dependency", "bureau").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("external.concurrency.inflight").tag("dependency", "bureau").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("external.concurrency.limit").tag("dependency", "bureau").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldQueueAnExcessCallUntilAPermitIsReleased() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = givenLimiter(1, 1, Duration.ofSeconds(5));
+        Permit first = limiter.acquire();
+
+        // When
+        CompletableFuture<Permit> queued = CompletableFuture.supplyAsync(limiter::acquire);
+        Thread.sleep(50);
+        assertThat(queued).isNotDone();
+        first.success();
+
+        // Then
+        assertThat(queued.get(2, TimeUnit.SECONDS)).isNotNull();
+        assertThat(limiter.inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldGrowWhileFastAndBusyAndBackOffOncePerCongestionEpisode() throws InterruptedException {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = givenLimiter(10, 0, Duration.ZERO);
+
+        // When: fast calls with the limit fully used
+        for (int round = 0; round < 20; round++) {
+            List<Permit> permits = new ArrayList<>();
+            for (int i = 0; i < limiter.currentLimit(); i++) {
+                permits.add(limiter.acquire());
+            }
+            permits.forEach(Permit::success);
+        }
+        int grownLimit = limiter.currentLimit();
+
+        // A slow call, then a failure of a call that was already in flight when the limit was cut
+        Permit inFlightDuringCongestion = limiter.acquire();
+        Permit slow = limiter.acquire();
+        Thread.sleep(50);
+        slow.success();
+        int limitAfterSlowCall = limiter.currentLimit();
+        inFlightDuringCongestion.dropped();
+
+        // Then
+        System.out.println("[DEBUG_LOG] Limit grew from 10 to " + grownLimit + ", cut to " + limitAfterSlowCall);
+        assertThat(grownLimit).isGreaterThan(10);
+        assertThat(limitAfterSlowCall).isLessThan(grownLimit);
+        assertThat(limiter.currentLimit()).isEqualTo(limitAfterSlowCall);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void shouldReleaseAnInterruptedCallWithoutBackingOff() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = givenLimiter(10, 0, Duration.ZERO);
+        Permit cancelled = limiter.acquire();
+        Permit timedOut = limiter.acquire();
+
+        // When: one call is interrupted by its caller, the other times out on the socket
+        cancelled.failed(new IllegalStateException(new IOException("Request was interrupted", new InterruptedException())));
+        int limitAfterCancellation = limiter.currentLimit();
+        timedOut.failed(new SocketTimeoutException("Read timed out"));
+
+        // Then
+        assertThat(limitAfterCancellation).isEqualTo(10);
+        assertThat(limiter.currentLimit()).isLessThan(10);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    private AdaptiveConcurrencyLimiter givenLimiter(int initialLimit, int maxQueue, Duration maxWait) {
+        return new AdaptiveConcurrencyLimiter("bureau",
+                new Settings(true, initialLimit, 1, 100, maxQueue, maxWait, 2.0, 0.9, 500), meterRegistry);
+    }
+}
@@ -0,0 +1,124 @@
+package bank.pf.service.external;
+
+import bank.pf.config.WireMockConfig;
+import bank.pf.config.WireMockSetupConfig;
+import bank.pf.dto.event.LoanApplicationReceivedEvent;
+import bank.pf.entity.AntiFraudScore;
+import bank.pf.enums.RecommendationType;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AntiFraudServiceTest {
+
+    private static final String CHECK_PATH = "/api/antifraud/check";
+    private static final String CPF = "12345678909";
+
+    private WireMockConfig wireMockConfig;
+    private WireMockServer wireMockServer;
+    private SimpleMeterRegistry meterRegistry;
+    private AntiFraudService antiFraudService;
+
+    @BeforeEach
+    void setUp() {
+        wireMockConfig = new WireMockConfig();
+        ReflectionTestUtils.setField(wireMockConfig, "port", 0);
+        wireMockConfig.startServer();
+        wireMockServer = wireMockConfig.getWireMockServer();
+        WireMockSetupConfig wireMockSetupConfig = new WireMockSetupConfig(wireMockConfig, new BureauProviders(new MockEnvironment()));
+        wireMockSetupConfig.setup();
+
+        meterRegistry = new SimpleMeterRegistry();
+        antiFraudService = new AntiFraudService(wireMockSetupConfig, new AntiFraudFallbackScorer(), meterRegistry,
+                new AdaptiveConcurrencyLimiters(new MockEnvironment(), meterRegistry));
+        ReflectionTestUtils.setField(antiFraudService, "timeout", Duration.ofMillis(200));
+        ReflectionTestUtils.setField(antiFraudService, "connectTimeout", Duration.ofMillis(200));
+        ReflectionTestUtils.setField(antiFraudService, "fallbackEnabled", true);
+        ReflectionTestUtils.setField(antiFraudService, "cacheTtl", Duration.ofSeconds(60));
+        ReflectionTestUtils.setField(antiFraudService, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(antiFraudService, "amountBandWidth", BigDecimal.valueOf(1000));
+        ReflectionTestUtils.invokeMethod(antiFraudService, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockConfig.stopServer();
+    }
+
+    @Test
+    void shouldFallBackToLocalScoreWhenProviderExceedsLatencyBudget() {
+        // Given
+        wireMockServer.stubFor(WireMock.post(urlEqualTo(CHECK_PATH)).atPriority(1)
+                .willReturn(WireMock.okJson("{\"fraudScore\": 100, \"recommendation\": \"ACCEPT\"}").withFixedDelay(2_000)));
+
+        // When
+        long start = System.nanoTime();
+        AntiFraudScore score = antiFraudService.checkFraud(givenApplication("app-1", "30000.00"));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Then
+        System.out.println("[DEBUG_LOG] Anti-fraud call returned fallback after " + elapsedMillis + " ms");
+        assertThat(elapsedMillis).isLessThan(1_500);
+        assertThat(score.fallback()).isTrue();
+        assertThat(score.applicationId()).isEqualTo("app-1");
+        // 30000 / 2000 = 15x monthly income: elevated loan-to-income
+        assertThat(score.fraudScore()).isEqualTo(AntiFraudFallbackScorer.BASE_SCORE + 100);
+        assertThat(score.recommendation()).isEqualTo(RecommendationType.MANUAL_REVIEW);
+        assertThat(meterRegistry.get("antifraud.fallbacks").tag("reason", "timeout").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("antifraud.checks").tag("source", "fallback").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReuseProviderAnswerForSameCpfAndAmountBand() {
+        // When
+        AntiFraudScore first = antiFraudService.checkFraud(givenApplication("app-1", "5200.00"));
+        AntiFraudScore retry = antiFraudService.checkFraud(givenApplication("app-2", "5900.00"));
+        AntiFraudScore otherBand = antiFraudService.checkFraud(givenApplication("app-3", "6000.00"));
+
+        // Then
+        assertThat(first.fallback()).isFalse();
+        assertThat(retry.applicationId()).isEqualTo("app-2");
+        assertThat(retry.fraudScore()).isEqualTo(first.fraudScore());
+        assertThat(otherBand.applicationId()).isEqualTo("app-3");
+        wireMockServer.verify(2, postRequestedFor(urlEqualTo(CHECK_PATH)));
+        assertThat(meterRegistry.get("antifraud.checks").tag("source", "cache").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("antifraud.checks").tag("source", "provider").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotCacheFallbackScores() {
+        // Given
+        wireMockServer.stubFor(WireMock.post(urlEqualTo(CHECK_PATH)).atPriority(1)
+                .willReturn(WireMock.serverError()));
+
+        // When
+        AntiFraudScore fallback = antiFraudService.checkFraud(givenApplication("app-1", "5200.00"));
+        wireMockServer.resetMappings();
+        new WireMockSetupConfig(wireMockConfig, new BureauProviders(new MockEnvironment())).setup();
+        AntiFraudScore recovered = antiFraudService.checkFraud(givenApplication("app-1", "5200.00"));
+
+        // Then
+        assertThat(fallback.fallback()).isTrue();
+        assertThat(recovered.fallback()).isFalse();
+        assertThat(meterRegistry.get("antifraud.fallbacks").tag("reason", "error").counter().count()).isEqualTo(1);
+    }
+
+    private LoanApplicationReceivedEvent givenApplication(String applicationId, String amountRequested) {
+        return new LoanApplicationReceivedEvent(applicationId, CPF, "user@example.com", LocalDate.of(1990, 1, 1),
+                new BigDecimal(amountRequested), 12, new BigDecimal("2000.00"), Instant.now());
+    }
+}
@@ -0,0 +1,207 @@
+package bank.pf.service.external;
+
+import bank.pf.config.WireMockConfig;
+import bank.pf.config.WireMockSetupConfig;
+import bank.pf.entity.BureauScore;
+import bank.pf.enums.AssessmentType;
+import bank.pf.exception.BureauApiException;
+import bank.pf.exception.BureauNotFoundException;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BureauScoreClientTest {
+
+    private static final String BULK_PATH = "/api/bureau/score/bulk";
+
+    private WireMockConfig wireMockConfig;
+    private WireMockServer wireMockServer;
+    private SimpleMeterRegistry meterRegistry;
+    private BureauScoreClient bureauScoreClient;
+
+    @BeforeEach
+    void setUp() {
+        wireMockConfig = new WireMockConfig();
+        ReflectionTestUtils.setField(wireMockConfig, "port", 0);
+        wireMockConfig.startServer();
+        wireMockServer = wireMockConfig.getWireMockServer();
+        WireMockSetupConfig wireMockSetupConfig = new WireMockSetupConfig(wireMockConfig, new BureauProviders(new MockEnvironment()));
+        wireMockSetupConfig.setup();
+
+        meterRegistry = new SimpleMeterRegistry();
+        bureauScoreClient = new BureauScoreClient(wireMockSetupConfig, meterRegistry,
+                new AdaptiveConcurrencyLimiters(new MockEnvironment(), meterRegistry));
+        ReflectionTestUtils.setField(bureauScoreClient, "batchingEnabled", true);
+        ReflectionTestUtils.setField(bureauScoreClient, "maxBatchSize", 16);
+        ReflectionTestUtils.setField(bureauScoreClient, "maxDelayMillis", 200L);
+        ReflectionTestUtils.setField(bureauScoreClient, "queueCapacity", 64);
+        ReflectionTestUtils.setField(bureauScoreClient, "waitTimeout", Duration.ofSeconds(5));
+        bureauScoreClient.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        bureauScoreClient.stop();
+        wireMockConfig.stopServer();
+    }
+
+    @Test
+    void shouldResolveConcurrentLookupsWithOneBulkRequest() throws Exception {
+        // Given
+        List<String> cpfs = List.of("12345678900", "12345678901", "12345678902", "12345678901");
+
+        // When
+        Map<String, BureauScore> scores = fetchConcurrently(cpfs);
+
+        // Then
+        assertThat(scores.get("12345678900").assessment()).isEqualTo(AssessmentType.HIGH_RISK);
+        assertThat(scores.get("12345678901").assessment()).isEqualTo(AssessmentType.MEDIUM_RISK);
+        assertThat(scores.get("12345678902").assessment()).isEqualTo(AssessmentType.LOW_RISK);
+        assertThat(scores.get("12345678902").cpf()).isEqualTo("12345678902");
+        wireMockServer.verify(1, postRequestedFor(urlEqualTo(BULK_PATH)));
+        wireMockServer.verify(0, getRequestedFor(urlMatching("/api/bureau/score/.*")));
+        assertThat(meterRegistry.get("bureau.client.batch.size").summary().max()).isEqualTo(3);
+        assertThat(meterRegistry.get("bureau.client.batch.coalesced").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFallBackToIndividualRequestsWhenBulkRequestFails() throws Exception {
+        // Given
+        wireMockServer.stubFor(WireMock.post(urlEqualTo(BULK_PATH)).atPriority(1)
+                .willReturn(WireMock.aResponse().withStatus(503)));
+
+        // When
+        Map<String, BureauScore> scores = fetchConcurrently(List.of("11111111100", "22222222201"));
+
+        // Then
+        assertThat(scores.get("11111111100").score()).isEqualTo(900);
+        assertThat(scores.get("22222222201").score()).isEqualTo(400);
+        wireMockServer.verify(2, getRequestedFor(urlMatching("/api/bureau/score/.*")));
+        assertThat(meterRegistry.get("bureau.client.batch.fallbacks").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReportCpfsMissingFromBulkResponseAsNotFound() {
+        // Given
+        wireMockServer.stubFor(WireMock.post(urlEqualTo(BULK_PATH)).atPriority(1)
+                .willReturn(WireMock.okJson("{\"scores\": []}")));
+
+        // When / Then
+        assertThrows(BureauNotFoundException.class, () -> bureauScoreClient.fetch("33333333333"));
+    }
+
+    @Test
+    void shouldKeepSeveralBulkRequestsInFlight() throws Exception {
+        // Given: batches of two CPFs and a bulk endpoint slow enough for the next batches to be collected meanwhile
+        ReflectionTestUtils.setField(bureauScoreClient, "maxBatchSize", 2);
+        wireMockServer.stubFor(WireMock.post(urlEqualTo(BULK_PATH)).atPriority(1)
+                .willReturn(WireMock.okJson("{\"scores\": []}").withFixedDelay(500)));
+        var bulkLimiter = (AdaptiveConcurrencyLimiter) ReflectionTestUtils.getField(bureauScoreClient, "bulkConcurrencyLimiter");
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Thread sampler = Thread.ofVirtual().start(() -> {
+            try {
+                while (true) {
+                    maxInFlight.accumulateAndGet(bulkLimiter.inFlight(), Math::max);
+                    Thread.sleep(5);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // When
+        List<Throwable> failures = fetchConcurrentlyExpectingFailures(
+                List.of("44444444400", "44444444401", "44444444402", "44444444403", "44444444404", "44444444405"));
+        sampler.interrupt();
+
+        // Then
+        assertThat(failures).hasSize(6).allMatch(BureauNotFoundException.class::isInstance);
+        wireMockServer.verify(3, postRequestedFor(urlEqualTo(BULK_PATH)));
+        System.out.println("[DEBUG_LOG] Most bulk requests in flight at once: " + maxInFlight.get());
+        assertThat(maxInFlight.get()).isGreaterThan(1);
+    }
+
+    @Test
+    void shouldDropAQueuedLookupWhenItsCallerIsInterrupted() throws Exception {
+        // Given
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread caller = Thread.ofVirtual().start(() -> {
+            try {
+                bureauScoreClient.fetch("55555555500");
+            } catch (RuntimeException e) {
+                failure.set(e);
+            }
+        });
+        Thread.sleep(50);
+
+        // When: the caller is cancelled while its CPF waits for the batch deadline
+        caller.interrupt();
+        caller.join(2_000);
+        Thread.sleep(400);
+
+        // Then
+        assertThat(failure.get()).isInstanceOf(BureauApiException.class).hasCauseInstanceOf(InterruptedException.class);
+        wireMockServer.verify(0, postRequestedFor(urlEqualTo(BULK_PATH)));
+        assertThat(meterRegistry.get("bureau.client.batch.abandoned").counter().count()).isEqualTo(1);
+        @SuppressWarnings("unchecked")
+        var pendingByCpf = (Map<String, ?>) ReflectionTestUtils.getField(bureauScoreClient, "pendingByCpf");
+        assertThat(pendingByCpf).isEmpty();
+    }
+
+    private List<Throwable> fetchConcurrentlyExpectingFailures(List<String> cpfs) throws Exception {
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            cpfs.forEach(cpf -> executor.submit(() -> {
+                try {
+                    bureauScoreClient.fetch(cpf);
+                } catch (RuntimeException e) {
+                    failures.add(e);
+                }
+            }));
+        }
+        return failures;
+    }
+
+    private Map<String, BureauScore> fetchConcurrently(List<String> cpfs) throws Exception {
+        Map<String, BureauScore> scores = new ConcurrentHashMap<>();
+        CountDownLatch startGate = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = cpfs.stream()
+                    .<Future<?>>map(cpf -> executor.submit(() -> {
+                        startGate.await();
+                        scores.put(cpf, bureauScoreClient.fetch(cpf));
+                        return null;
+                    }))
+                    .toList();
+            startGate.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,387 @@
+package bank.pf.service.external;
+
+import bank.pf.config.WireMockSetupConfig;
+import bank.pf.entity.BureauScore;
+import bank.pf.entity.CachedBureauScore;
+import bank.pf.enums.AssessmentType;
+import bank.pf.enums.PaymentHistoryType;
+import bank.pf.enums.StaleBureauScoreReason;
+import bank.pf.exception.BureauNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BureauServiceTest {
+
+    private static final String CPF = "12345678901";
+
+    @Mock
+    private WireMockSetupConfig wireMockSetupConfig;
+
+    @Mock
+    private RedisTemplate<String, CachedBureauScore> bureauScoreRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, CachedBureauScore> valueOperations;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private RestClient restClient;
+
+    @Mock
+    private MultiBureauClient multiBureauClient;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> leaseOperations;
+
+    @Mock
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Mock
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BureauScoreNearCache bureauScoreNearCache;
+    private BureauScoreSingleFlight bureauScoreSingleFlight;
+    private BureauService bureauService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bureauScoreNearCache = spy(new BureauScoreNearCache(stringRedisTemplate, redisConnectionFactory, meterRegistry));
+        doReturn(redisMessageListenerContainer).when(bureauScoreNearCache).createListenerContainer();
+        ReflectionTestUtils.setField(bureauScoreNearCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(bureauScoreNearCache, "ttl", Duration.ofSeconds(10));
+        ReflectionTestUtils.invokeMethod(bureauScoreNearCache, "init");
+        await().atMost(Duration.ofSeconds(2)).until(() -> (Boolean) ReflectionTestUtils.getField(bureauScoreNearCache, "subscribed"));
+
+        BureauScoreClient bureauScoreClient = new BureauScoreClient(wireMockSetupConfig, meterRegistry,
+                new AdaptiveConcurrencyLimiters(new MockEnvironment(), meterRegistry));
+        ReflectionTestUtils.setField(bureauScoreClient, "batchingEnabled", false);
+        bureauScoreClient.start();
+
+        bureauScoreSingleFlight = new BureauScoreSingleFlight(stringRedisTemplate, bureauScoreNearCache, meterRegistry);
+        ReflectionTestUtils.setField(bureauScoreSingleFlight, "leaseTtl", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(bureauScoreSingleFlight, "waitTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.invokeMethod(bureauScoreSingleFlight, "init");
+
+        bureauService = new BureauService(bureauScoreClient, multiBureauClient, bureauScoreRedisTemplate, bureauScoreNearCache,
+                bureauScoreSingleFlight, meterRegistry);
+        ReflectionTestUtils.setField(bureauService, "positiveTtl", Duration.ofSeconds(24));
+        ReflectionTestUtils.setField(bureauService, "negativeTtl", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(bureauService, "refreshAheadFactor", 0.8);
+        ReflectionTestUtils.setField(bureauService, "staleIfError", Duration.ofMinutes(5));
+        ReflectionTestUtils.invokeMethod(bureauService, "initMetrics");
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromNearCacheWithoutRedisRoundTrip() {
+        // Given
+        when(bureauScoreRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("bureauScoreEntry:" + CPF)).thenReturn(givenCachedScoreAged(Duration.ofSeconds(1)));
+
+        // When
+        BureauScoreLookup first = bureauService.getScore(CPF);
+        BureauScoreLookup second = bureauService.getScore(CPF);
+
+        // Then
+        assertThat(second).isEqualTo(first);
+        verify(valueOperations, times(1)).get(anyString());
+        assertThat(lookups("near", "hit")).isEqualTo(1);
+        assertThat(lookups("near", "miss")).isEqualTo(1);
+        assertThat(lookups("redis", "hit")).isEqualTo(1);
+        assertThat(lookups("redis", "miss")).isZero();
+    }
+
+    @Test
+    void shouldCacheNotFoundAnswersWithNegativeTtl() {
+        // Given
+        when(bureauScoreRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        givenBureauCallFails(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null));
+
+        // When
+        assertThrows(BureauNotFoundException.class, () -> bureauService.getScore(CPF));
+        assertThrows(BureauNotFoundException.class, () -> bureauService.getScore(CPF));
+
+        // Then
+        verify(valueOperations).set(eq("bureauScoreEntry:" + CPF), argThat(CachedBureauScore::notFound), eq(Duration.ofSeconds(30)));
+        verify(restClient.get(), times(1)).uri(anyString(), any(Object[].class));
+        assertThat(meterRegistry.get("bureau.score.cache.policy").tag("outcome", "negative-hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldServeStaleScoreWhenBureauFailsWithinStaleIfErrorWindow() {
+        // Given
+        when(bureauScoreRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("bureauScoreEntry:" + CPF)).thenReturn(givenCachedScoreAged(Duration.ofSeconds(60)));
+        givenBureauCallFails(new ResourceAccessException("Connection refused"));
+
+        // When
+        BureauScoreLookup lookup = bureauService.getScore(CPF);
+
+        // Then
+        assertThat(lookup.staleReason()).isEqualTo(StaleBureauScoreReason.BUREAU_UNAVAILABLE);
+        assertThat(lookup.score().score()).isEqualTo(750);
+        assertThat(meterRegistry.get("bureau.score.cache.policy").tag("outcome", "stale-if-error").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRefreshHotEntryInBackgroundWhenNearExpiry() {
+        // Given
+        when(bureauScoreRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("bureauScoreEntry:" + CPF)).thenReturn(givenCachedScoreAged(Duration.ofSeconds(20)));
+        when(restClient.get().uri(anyString(), any(Object[].class)).retrieve().body(BureauScore.class)).thenReturn(givenBureauScore());
+        when(wireMockSetupConfig.getRestClient()).thenReturn(restClient);
+
+        // When
+        BureauScoreLookup lookup = bureauService.getScore(CPF);
+
+        // Then
+        assertThat(lookup.stale()).isFalse();
+        verify(valueOperations, timeout(2_000)).set(eq("bureauScoreEntry:" + CPF),
+                argThat(entry -> !entry.notFound() && entry.ageMillis(System.currentTimeMillis()) < 5_000), eq(Duration.ofSeconds(324)));
+        assertThat(meterRegistry.get("bureau.score.cache.policy").tag("outcome", "refresh-ahead").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldWaitForTheReplicaHoldingTheLeaseInsteadOfCallingTheBureau() {
+        // Given
+        givenLeaseHeldByAnotherReplica();
+        when(bureauScoreRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("bureauScoreEntry:" + CPF)).thenReturn(null, null, givenCachedScoreAged(Duration.ZERO));
+        Thread.ofVirtual().start(() -> {
+            sleepQuietly(Duration.ofMillis(100));
+            bureauScoreNearCache.onMessage(givenInvalidation("other-replica|" + CPF), null);
+        });
+
+        // When
+        BureauScoreLookup lookup = bureauService.getScore(CPF);
+
+        // Then
+        assertThat(lookup.stale()).isFalse();
+        assertThat(lookup.score().score()).isEqualTo(750);
+        verifyNoInteractions(wireMockSetupConfig);
+        assertThat(singleFlightCalls("collapsed")).isEqualTo(1);
+        assertThat(waitingCpfs()).isEmpty();
+    }
+
+    @Test
+    void shouldNotLeaveAWaiterBehindWhenTheResultIsAlreadyThere() {
+        // When
+        boolean available = bureauScoreSingleFlight.awaitResult(CPF, () -> true);
+
+        // Then
+        assertThat(available).isTrue();
+        assertThat(waitingCpfs()).isEmpty();
+    }
+
+    @Test
+    void shouldNotLeaveAWaiterBehindWhenInterrupted() {
+        // Given
+        Thread.currentThread().interrupt();
+
+        // When
+        boolean available = bureauScoreSingleFlight.awaitResult(CPF, () -> false);
+
+        // Then
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(available).isFalse();
+        assertThat(waitingCpfs()).isEmpty();
+    }
+
+    @Test
+    void shouldNotCountACollapsedCallWhenTheLeaseHolderWroteNothing() {
+        // Given: the holder's fetch failed, so the waiter is woken but finds no entry
+        givenLeaseHeldByAnotherReplica();
+        when(bureauScoreRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("bureauScoreEntry:" + CPF)).thenReturn(null);
+        when(restClient.get().uri(anyString(), any(Object[].class)).retrieve().body(BureauScore.class)).thenReturn(givenBureauScore());
+        when(wireMockSetupConfig.getRestClient()).thenReturn(restClient);
+        Thread.ofVirtual().start(() -> {
+            sleepQuietly(Duration.ofMillis(100));
+            bureauScoreNearCache.onMessage(givenInvalidation("other-replica|" + CPF), null);
+        });
+
+        // When
+        BureauScoreLookup lookup = bureauService.getScore(CPF);
+
+        // Then
+        assertThat(lookup.score().score()).isEqualTo(750);
+        verify(wireMockSetupConfig).getRestClient();
+        assertThat(singleFlightCalls("leader-failed")).isEqualTo(1);
+        assertThat(singleFlightCalls("collapsed")).isZero();
+    }
+
+    @Test
+    void shouldTakeEachLeaseWithItsOwnToken() {
+        // Given
+        ReflectionTestUtils.setField(bureauScoreSingleFlight, "enabled", true);
+        when(stringRedisTemplate.opsForValue()).thenReturn(leaseOperations);
+        when(leaseOperations.setIfAbsent(eq("bureauScoreLease:" + CPF), anyString(), any(Duration.class))).thenReturn(true);
+
+        // When
+        bureauScoreSingleFlight.tryAcquire(CPF);
+        bureauScoreSingleFlight.tryAcquire(CPF);
+
+        // Then: a caller whose lease expired cannot release the one taken after it
+        ArgumentCaptor<String> tokens = ArgumentCaptor.forClass(String.class);
+        verify(leaseOperations, times(2)).setIfAbsent(eq("bureauScoreLease:" + CPF), tokens.capture(), any(Duration.class));
+        assertThat(tokens.getAllValues()).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldServeExpiredScoreWhileAnotherReplicaFetchesIt() {
+        // Given
+        givenLeaseHeldByAnotherReplica();
+        when(bureauScoreRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("bureauScoreEntry:" + CPF)).thenReturn(givenCachedScoreAged(Duration.ofSeconds(60)));
+
+        // When
+        BureauScoreLookup lookup = bureauService.getScore(CPF);
+
+        // Then
+        assertThat(lookup.staleReason()).isEqualTo(StaleBureauScoreReason.FETCH_IN_PROGRESS);
+        assertThat(lookup.score().score()).isEqualTo(750);
+        verifyNoInteractions(wireMockSetupConfig);
+        assertThat(singleFlightCalls("stale")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldResolveBatchWithSingleMultiGetForNearCacheMisses() {
+        // Given
+        String nearCachedCpf = "11111111111";
+        String missingCpf = "22222222222";
+        bureauScoreNearCache.put(nearCachedCpf, givenCachedScoreAged(Duration.ZERO));
+        when(bureauScoreRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("bureauScoreEntry:" + CPF, "bureauScoreEntry:" + missingCpf)))
+                .thenReturn(Arrays.asList(givenCachedScoreAged(Duration.ofSeconds(1)), null));
+
+        // When
+        Map<String, CachedBureauScore> entries = bureauService.readCache(List.of(nearCachedCpf, CPF, missingCpf, CPF));
+
+        // Then
+        assertThat(entries).containsOnlyKeys(nearCachedCpf, CPF);
+        verify(valueOperations, times(1)).multiGet(anyCollection());
+        verify(valueOperations, never()).get(anyString());
+        assertThat(lookups("redis", "hit")).isEqualTo(1);
+        assertThat(lookups("redis", "miss")).isEqualTo(1);
+        assertThat(bureauScoreNearCache.get(CPF)).isNotNull();
+    }
+
+    @Test
+    void shouldBypassNearCacheUntilInvalidationChannelIsSubscribed() {
+        // Given
+        ReflectionTestUtils.setField(bureauScoreNearCache, "subscribed", false);
+        bureauScoreNearCache.put(CPF, givenCachedScoreAged(Duration.ZERO));
+
+        // When
+        CachedBureauScore score = bureauScoreNearCache.get(CPF);
+
+        // Then
+        assertThat(score).isNull();
+        assertThat(lookups("near", "bypass")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDropNearCacheEntryWhenAnotherReplicaPublishesInvalidation() {
+        // Given
+        bureauScoreNearCache.put(CPF, givenCachedScoreAged(Duration.ZERO));
+
+        // When
+        bureauScoreNearCache.onMessage(givenInvalidation("other-replica|" + CPF), null);
+
+        // Then
+        assertThat(bureauScoreNearCache.get(CPF)).isNull();
+    }
+
+    @Test
+    void shouldIgnoreOwnInvalidationMessages() {
+        // Given
+        bureauScoreNearCache.put(CPF, givenCachedScoreAged(Duration.ZERO));
+        String instanceId = (String) ReflectionTestUtils.getField(bureauScoreNearCache, "instanceId");
+
+        // When
+        bureauScoreNearCache.onMessage(givenInvalidation(instanceId + "|" + CPF), null);
+
+        // Then
+        assertThat(bureauScoreNearCache.get(CPF)).isNotNull();
+    }
+
+    private double lookups(String tier, String result) {
+        return meterRegistry.get("bureau.score.cache.lookups").tag("tier", tier).tag("result", result).counter().count();
+    }
+
+    private DefaultMessage givenInvalidation(String body) {
+        return new DefaultMessage(BureauScoreNearCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void givenLeaseHeldByAnotherReplica() {
+        ReflectionTestUtils.setField(bureauScoreSingleFlight, "enabled", true);
+        when(stringRedisTemplate.opsForValue()).thenReturn(leaseOperations);
+        when(leaseOperations.setIfAbsent(eq("bureauScoreLease:" + CPF), anyString(), any(Duration.class))).thenReturn(false);
+    }
+
+    private Map<?, ?> waitingCpfs() {
+        return (Map<?, ?>) ReflectionTestUtils.getField(bureauScoreSingleFlight, "waitersByCpf");
+    }
+
+    private double singleFlightCalls(String role) {
+        return meterRegistry.get("bureau.score.singleflight.calls").tag("role", role).counter().count();
+    }
+
+    private static void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void givenBureauCallFails(RuntimeException failure) {
+        when(restClient.get().uri(anyString(), any(Object[].class)).retrieve().body(BureauScore.class)).thenThrow(failure);
+        when(wireMockSetupConfig.getRestClient()).thenReturn(restClient);
+    }
+
+    private CachedBureauScore givenCachedScoreAged(Duration age) {
+        return CachedBureauScore.positive(givenBureauScore(), System.currentTimeMillis() - age.toMillis());
+    }
+
+    private BureauScore givenBureauScore() {
+        return new BureauScore(CPF, 750, AssessmentType.LOW_RISK, false, PaymentHistoryType.GOOD, new BigDecimal("500.00"));
+    }
+}
@@ -0,0 +1,123 @@
+package bank.pf.service.external;
+
+import bank.pf.config.WireMockConfig;
+import bank.pf.config.WireMockSetupConfig;
+import bank.pf.entity.BureauScore;
+import bank.pf.enums.AssessmentType;
+import bank.pf.exception.BureauNotFoundException;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MultiBureauClientTest {
+
+    private static final String CPF = "12345678902";
+
+    private WireMockConfig wireMockConfig;
+    private WireMockServer wireMockServer;
+    private SimpleMeterRegistry meterRegistry;
+    private MultiBureauClient multiBureauClient;
+
+    @AfterEach
+    void tearDown() {
+        multiBureauClient.stop();
+        wireMockConfig.stopServer();
+    }
+
+    @Test
+    void shouldReturnTheFirstAnswerAndCancelTheSlowerProvider() {
+        // Given
+        givenClient("first-response", 0);
+
+        // When
+        long startTime = System.nanoTime();
+        BureauScore score = multiBureauClient.fetch(CPF);
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        // Then
+        System.out.println("[DEBUG_LOG] First response in " + elapsedMillis + "ms");
+        assertThat(score.cpf()).isEqualTo(CPF);
+        assertThat(score.assessment()).isEqualTo(AssessmentType.LOW_RISK);
+        assertThat(elapsedMillis).isLessThan(1000);
+        assertThat(calls("fast", "answered")).isEqualTo(1);
+        assertThat(calls("slow", "cancelled")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldMergeTheAnswersOfTheQuorumConservatively() {
+        // Given
+        givenClient("best-of", 2);
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo("/api/bureau/slow/score/" + CPF))
+                .atPriority(0)
+                .willReturn(WireMock.okJson("""
+                        { "cpf": "%s", "score": 650, "assessment": "MEDIUM_RISK", "hasRestrictions": true, "paymentHistory": "GOOD", "monthlyDebts": 300.00 }
+                        """.formatted(CPF)).withFixedDelay(100)));
+
+        // When
+        BureauScore score = multiBureauClient.fetch(CPF);
+
+        // Then
+        assertThat(score.score()).isEqualTo(650);
+        assertThat(score.assessment()).isEqualTo(AssessmentType.MEDIUM_RISK);
+        assertThat(score.hasRestrictions()).isTrue();
+        assertThat(score.monthlyDebts()).isEqualByComparingTo(new BigDecimal("300.00"));
+        assertThat(calls("fast", "answered")).isEqualTo(1);
+        assertThat(calls("slow", "answered")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldThrowNotFoundWhenNoProviderHasAScore() {
+        // Given
+        givenClient("best-of", 0);
+        wireMockServer.stubFor(WireMock.get(WireMock.urlMatching("/api/bureau/.*/score/" + CPF))
+                .atPriority(0)
+                .willReturn(WireMock.notFound()));
+
+        // When / Then
+        assertThrows(BureauNotFoundException.class, () -> multiBureauClient.fetch(CPF));
+        await().atMost(Duration.ofSeconds(2)).until(() -> calls("fast", "not_found") == 1 && calls("slow", "not_found") == 1);
+    }
+
+    private void givenClient(String mode, int quorum) {
+        var environment = new MockEnvironment()
+                .withProperty("app.bureau-fanout.providers", "fast,slow")
+                .withProperty("app.bureau-fanout.provider.fast.stub-delay", "10ms")
+                .withProperty("app.bureau-fanout.provider.slow.stub-delay", "3s")
+                .withProperty("app.bureau-fanout.provider.slow.timeout", "5s");
+        environment.setConversionService(new ApplicationConversionService());
+        var bureauProviders = new BureauProviders(environment);
+
+        wireMockConfig = new WireMockConfig();
+        ReflectionTestUtils.setField(wireMockConfig, "port", 0);
+        wireMockConfig.startServer();
+        wireMockServer = wireMockConfig.getWireMockServer();
+        WireMockSetupConfig wireMockSetupConfig = new WireMockSetupConfig(wireMockConfig, bureauProviders);
+        wireMockSetupConfig.setup();
+
+        meterRegistry = new SimpleMeterRegistry();
+        multiBureauClient = new MultiBureauClient(wireMockSetupConfig, bureauProviders,
+                new AdaptiveConcurrencyLimiters(environment, meterRegistry), meterRegistry);
+        ReflectionTestUtils.setField(multiBureauClient, "enabled", true);
+        ReflectionTestUtils.setField(multiBureauClient, "mode", mode);
+        ReflectionTestUtils.setField(multiBureauClient, "deadline", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(multiBureauClient, "quorum", quorum);
+        multiBureauClient.start();
+    }
+
+    private double calls(String provider, String outcome) {
+        var counter = meterRegistry.find("bureau.fanout.calls").tags("provider", provider, "outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,71 @@
+package bank.pf.service.policy;
+
+import bank.pf.enums.PaymentHistoryType;
+import bank.pf.enums.RecommendationType;
+import bank.pf.exception.InvalidCreditPolicyException;
+import bank.pf.service.policy.CreditPolicyDefinition.RiskBand;
+import bank.pf.service.strategy.HighRiskStrategy;
+import bank.pf.service.strategy.LowRiskStrategy;
+import bank.pf.service.strategy.StandardRiskStrategy;
+import bank.pf.service.strategy.VeryRiskStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CreditPolicyCompilerTest {
+
+    private final CreditPolicyCompiler creditPolicyCompiler = new CreditPolicyCompiler(CreditPolicyFixtures.riskStrategies());
+
+    @Test
+    void shouldCompileDefaultPolicyWithTheFormerHardcodedThresholds() {
+        // When
+        CompiledCreditPolicy policy = creditPolicyCompiler.compile(CreditPolicyFixtures.defaultDefinition());
+
+        // Then
+        assertThat(policy.version()).isEqualTo("2025.1");
+        assertThat(policy.minimumBureauScore()).isEqualTo(300);
+        assertThat(policy.highFraudScoreThreshold()).isEqualTo(700);
+        assertThat(policy.maxDebtToIncomeStrict()).isEqualByComparingTo("0.30");
+        assertThat(policy.maxDebtToIncomeFlexible()).isEqualByComparingTo("0.40");
+        assertThat(policy.isRejectedPaymentHistory(PaymentHistoryType.POOR_OVERDUE_60_DAYS)).isTrue();
+        assertThat(policy.isRejectedPaymentHistory(PaymentHistoryType.GOOD)).isFalse();
+        assertThat(policy.isRejectedFraudRecommendation(RecommendationType.REJECT)).isTrue();
+        assertThat(policy.isRejectedFraudRecommendation(RecommendationType.MANUAL_REVIEW)).isFalse();
+        for (int score = -10; score <= CompiledCreditPolicy.MAX_INDEXED_SCORE + 10; score++) {
+            Class<?> expected = score >= 700 ? LowRiskStrategy.class
+                    : score >= 501 ? StandardRiskStrategy.class
+                    : score >= 300 ? HighRiskStrategy.class
+                    : VeryRiskStrategy.class;
+            assertThat(policy.riskBandFor(score).strategy()).as("score %d", score).isInstanceOf(expected);
+        }
+    }
+
+    @Test
+    void shouldReportEveryProblemOfAnInvalidPolicy() {
+        // Given
+        CreditPolicyDefinition valid = CreditPolicyFixtures.defaultDefinition();
+        CreditPolicyDefinition.Rules rules = new CreditPolicyDefinition.Rules(300, null,
+                new BigDecimal("0.50"), new BigDecimal("0.40"), 700, null);
+        List<RiskBand> bands = List.of(
+                new RiskBand("LOW", null, null, 650, null, null, null, null),
+                new RiskBand("OVERLAP", "lowRiskStrategy", 600, null, new BigDecimal("4.5"), new BigDecimal("5000000.00"), null, null),
+                new RiskBand("UNKNOWN", "premiumStrategy", 700, null, null, null, null, null));
+        CreditPolicyDefinition invalid = new CreditPolicyDefinition(valid.version(), rules, bands);
+
+        // When
+        InvalidCreditPolicyException exception = assertThrows(InvalidCreditPolicyException.class, () -> creditPolicyCompiler.compile(invalid));
+
+        // Then
+        assertThat(exception.getMessage())
+                .contains("rules.maxDebtToIncomeStrict must not exceed rules.maxDebtToIncomeFlexible")
+                .contains("risk bands LOW and OVERLAP must be contiguous without overlap")
+                .contains("risk band LOW references unknown strategy null")
+                .contains("risk band OVERLAP requires a positive interestRate")
+                .contains("risk band UNKNOWN references unknown strategy premiumStrategy")
+                .contains("risk bands OVERLAP and UNKNOWN must be contiguous without overlap");
+    }
+}
@@ -0,0 +1,39 @@
+package bank.pf.service.policy;
+
+import bank.pf.service.strategy.CreditRiskStrategy;
+import bank.pf.service.strategy.HighRiskStrategy;
+import bank.pf.service.strategy.LowRiskStrategy;
+import bank.pf.service.strategy.StandardRiskStrategy;
+import bank.pf.service.strategy.VeryRiskStrategy;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+public final class CreditPolicyFixtures {
+
+    private CreditPolicyFixtures() {
+    }
+
+    public static Map<String, CreditRiskStrategy> riskStrategies() {
+        return Map.of(
+                "lowRiskStrategy", new LowRiskStrategy(),
+                "standardRiskStrategy", new StandardRiskStrategy(),
+                "highRiskStrategy", new HighRiskStrategy(),
+                "veryRiskStrategy", new VeryRiskStrategy());
+    }
+
+    public static CreditPolicyDefinition defaultDefinition() {
+        try (InputStream inputStream = CreditPolicyFixtures.class.getResourceAsStream("/credit-policy.json")) {
+            return new ObjectMapper().readValue(inputStream, CreditPolicyDefinition.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static CompiledCreditPolicy defaultPolicy() {
+        return new CreditPolicyCompiler(riskStrategies()).compile(defaultDefinition());
+    }
+}
@@ -0,0 +1,110 @@
+package bank.pf.service.policy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CreditPolicyHolderTest {
+
+    @TempDir
+    private Path policyDirectory;
+
+    private Path policyFile;
+    private String defaultPolicyJson;
+    private SimpleMeterRegistry meterRegistry;
+    private CreditPolicyHolder creditPolicyHolder;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        try (InputStream inputStream = getClass().getResourceAsStream("/credit-policy.json")) {
+            defaultPolicyJson = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        policyFile = policyDirectory.resolve("credit-policy.json");
+        Files.writeString(policyFile, defaultPolicyJson);
+
+        meterRegistry = new SimpleMeterRegistry();
+        creditPolicyHolder = new CreditPolicyHolder(new CreditPolicyCompiler(CreditPolicyFixtures.riskStrategies()),
+                new ObjectMapper(), new DefaultResourceLoader(), meterRegistry);
+        ReflectionTestUtils.setField(creditPolicyHolder, "location", policyFile.toUri().toString());
+        ReflectionTestUtils.invokeMethod(creditPolicyHolder, "init");
+    }
+
+    @Test
+    void shouldSwapPolicyWhenFileChangesWithNewVersion() throws IOException {
+        // Given
+        CompiledCreditPolicy previous = creditPolicyHolder.current();
+        Files.writeString(policyFile, defaultPolicyJson
+                .replace("\"version\": \"2025.1\"", "\"version\": \"2025.2\"")
+                .replace("\"highFraudScoreThreshold\": 700", "\"highFraudScoreThreshold\": 650"));
+
+        // When
+        creditPolicyHolder.reloadIfChanged();
+
+        // Then
+        assertThat(creditPolicyHolder.current()).isNotSameAs(previous);
+        assertThat(creditPolicyHolder.current().version()).isEqualTo("2025.2");
+        assertThat(creditPolicyHolder.current().highFraudScoreThreshold()).isEqualTo(650);
+        assertThat(previous.highFraudScoreThreshold()).isEqualTo(700);
+        assertThat(reloads("applied")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepCurrentPolicyWhenNewContentIsInvalid() throws IOException {
+        // Given
+        CompiledCreditPolicy previous = creditPolicyHolder.current();
+        Files.writeString(policyFile, defaultPolicyJson
+                .replace("\"version\": \"2025.1\"", "\"version\": \"2025.2\"")
+                .replace("\"minScore\": 501", "\"minScore\": 520"));
+
+        // When
+        creditPolicyHolder.reloadIfChanged();
+        creditPolicyHolder.reloadIfChanged();
+
+        // Then
+        assertThat(creditPolicyHolder.current()).isSameAs(previous);
+        assertThat(reloads("rejected")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectContentChangeWithoutVersionBump() throws IOException {
+        // Given
+        Files.writeString(policyFile, defaultPolicyJson.replace("\"highFraudScoreThreshold\": 700", "\"highFraudScoreThreshold\": 650"));
+
+        // When
+        creditPolicyHolder.reloadIfChanged();
+
+        // Then
+        assertThat(creditPolicyHolder.current().highFraudScoreThreshold()).isEqualTo(700);
+        assertThat(reloads("rejected")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectUnknownFields() throws IOException {
+        // Given
+        Files.writeString(policyFile, defaultPolicyJson
+                .replace("\"version\": \"2025.1\"", "\"version\": \"2025.2\", \"minimumBureauScor\": 320"));
+
+        // When
+        creditPolicyHolder.reloadIfChanged();
+
+        // Then
+        assertThat(creditPolicyHolder.current().version()).isEqualTo("2025.1");
+        assertThat(reloads("rejected")).isEqualTo(1);
+    }
+
+    private double reloads(String result) {
+        return meterRegistry.get("credit.policy.reloads").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,153 @@
+package bank.pf.service.profile;
+
+import bank.pf.dto.event.LoanApplicationReceivedEvent;
+import bank.pf.dto.event.LoanDecisionMadeEvent;
+import bank.pf.entity.AntiFraudScore;
+import bank.pf.entity.BureauScore;
+import bank.pf.enums.AssessmentStatus;
+import bank.pf.enums.AssessmentType;
+import bank.pf.enums.LoanDecision;
+import bank.pf.enums.PaymentHistoryType;
+import bank.pf.enums.RecommendationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerProfileStoreTest {
+
+    private static final String CPF = "12345678901";
+    private static final String KEY = "customerProfile:" + CPF;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private RedisOperations<String, String> pipelineOperations;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    private final Map<Object, Object> redisHash = new HashMap<>();
+    private SimpleMeterRegistry meterRegistry;
+    private CustomerProfileStore customerProfileStore;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        customerProfileStore = new CustomerProfileStore(stringRedisTemplate, meterRegistry);
+        ReflectionTestUtils.setField(customerProfileStore, "enabled", true);
+        ReflectionTestUtils.setField(customerProfileStore, "ttl", Duration.ofDays(30));
+        ReflectionTestUtils.setField(customerProfileStore, "bureauMaxAge", Duration.ofHours(72));
+        ReflectionTestUtils.setField(customerProfileStore, "antiFraudMaxAge", Duration.ofHours(1));
+        ReflectionTestUtils.invokeMethod(customerProfileStore, "init");
+
+        lenient().when(stringRedisTemplate.opsForHash()).thenReturn(hashOperations);
+        lenient().when(pipelineOperations.opsForHash()).thenReturn(hashOperations);
+        lenient().when(hashOperations.entries(KEY)).thenReturn(redisHash);
+        lenient().doAnswer(invocation -> {
+            redisHash.putAll(invocation.getArgument(1));
+            return null;
+        }).when(hashOperations).putAll(eq(KEY), anyMap());
+        lenient().when(stringRedisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.<SessionCallback<?>>getArgument(0).execute(pipelineOperations);
+            return List.of(redisHash);
+        });
+    }
+
+    @Test
+    void shouldMergeAssessmentAndDecisionUpdatesIntoOneSnapshot() {
+        // Given
+        LoanApplicationReceivedEvent application = givenApplication("app-1", "10000.00");
+        customerProfileStore.recordAssessment(application, givenBureauScore(), new AntiFraudScore("app-1", 120, RecommendationType.ACCEPT),
+                AssessmentStatus.APPROVED);
+        customerProfileStore.recordDecision(new LoanDecisionMadeEvent("evt-1", LocalDateTime.now(), "app-1", CPF, LoanDecision.APPROVED));
+        customerProfileStore.recordDecision(new LoanDecisionMadeEvent("evt-1", LocalDateTime.now(), "app-1", CPF, LoanDecision.APPROVED));
+
+        // When
+        CustomerProfileSnapshot snapshot = customerProfileStore.find(CPF);
+
+        // Then
+        assertThat(snapshot.bureauScore()).isEqualTo(givenBureauScore());
+        assertThat(snapshot.monthlyDebts()).isEqualByComparingTo("1500.50");
+        assertThat(snapshot.antiFraudScore().fraudScore()).isEqualTo(120);
+        assertThat(snapshot.lastAssessmentStatus()).isEqualTo(AssessmentStatus.APPROVED);
+        assertThat(snapshot.priorDecisions())
+                .extracting(CustomerProfileSnapshot.PriorDecision::applicationId, CustomerProfileSnapshot.PriorDecision::decision)
+                .containsExactly(org.assertj.core.groups.Tuple.tuple("app-1", LoanDecision.APPROVED));
+        verify(pipelineOperations, times(3)).expire(KEY, Duration.ofDays(30));
+        verify(hashOperations, times(1)).entries(KEY);
+    }
+
+    @Test
+    void shouldReuseScoresOnlyWithinFreshnessPolicy() {
+        // Given
+        customerProfileStore.recordAssessment(givenApplication("app-1", "10000.00"), givenBureauScore(),
+                new AntiFraudScore("app-1", 120, RecommendationType.ACCEPT), AssessmentStatus.APPROVED);
+        CustomerProfileSnapshot snapshot = customerProfileStore.find(CPF);
+
+        // When
+        BureauScore reusedBureau = customerProfileStore.reusableBureauScore(snapshot);
+        AntiFraudScore reusedForSmallerAmount = customerProfileStore.reusableAntiFraudScore(snapshot, givenApplication("app-2", "8000.00"));
+        AntiFraudScore reusedForLargerAmount = customerProfileStore.reusableAntiFraudScore(snapshot, givenApplication("app-3", "12000.00"));
+        ReflectionTestUtils.setField(customerProfileStore, "bureauMaxAge", Duration.ZERO);
+        BureauScore expiredBureau = customerProfileStore.reusableBureauScore(snapshot);
+
+        // Then
+        assertThat(reusedBureau).isEqualTo(givenBureauScore());
+        assertThat(reusedForSmallerAmount.applicationId()).isEqualTo("app-2");
+        assertThat(reusedForLargerAmount).isNull();
+        assertThat(expiredBureau).isNull();
+        assertThat(meterRegistry.get("customer.profile.reuse").tag("section", "bureau").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("customer.profile.reuse").tag("section", "anti-fraud").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReadWholeBatchInOnePipelinedRoundTrip() {
+        // Given
+        customerProfileStore.recordAssessment(givenApplication("app-1", "10000.00"), givenBureauScore(), null, AssessmentStatus.REJECTED);
+        clearInvocations(stringRedisTemplate);
+
+        // When
+        Map<String, CustomerProfileSnapshot> snapshots = customerProfileStore.findAll(List.of(CPF, CPF));
+
+        // Then
+        assertThat(snapshots).containsOnlyKeys(CPF);
+        assertThat(snapshots.get(CPF).antiFraudScore()).isNull();
+        assertThat(snapshots.get(CPF).lastAssessmentStatus()).isEqualTo(AssessmentStatus.REJECTED);
+        verify(stringRedisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        verify(stringRedisTemplate, never()).opsForHash();
+    }
+
+    private LoanApplicationReceivedEvent givenApplication(String applicationId, String amountRequested) {
+        return new LoanApplicationReceivedEvent(applicationId, CPF, "user@example.com", LocalDate.of(1990, 1, 1),
+                new BigDecimal(amountRequested), 12, new BigDecimal("5000.00"), Instant.now());
+    }
+
+    private BureauScore givenBureauScore() {
+        return new BureauScore(CPF, 750, AssessmentType.LOW_RISK, false, PaymentHistoryType.GOOD, new BigDecimal("1500.50"));
+    }
+}
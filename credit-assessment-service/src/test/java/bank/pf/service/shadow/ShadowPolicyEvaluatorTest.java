@@ -0,0 +1,141 @@
+package bank.pf.service.shadow;
+
+import bank.pf.dto.event.LoanApplicationReceivedEvent;
+import bank.pf.entity.AntiFraudScore;
+import bank.pf.entity.BureauScore;
+import bank.pf.entity.CreditAssessmentResult;
+import bank.pf.enums.AssessmentStatus;
+import bank.pf.enums.AssessmentType;
+import bank.pf.enums.PaymentHistoryType;
+import bank.pf.enums.RecommendationType;
+import bank.pf.service.CreditDecision;
+import bank.pf.service.chain.AntiFraudScoreRule;
+import bank.pf.service.chain.AssessmentRuleExecutor;
+import bank.pf.service.chain.BureauScoreRule;
+import bank.pf.service.chain.DebtToIncomeRatioRule;
+import bank.pf.service.chain.PaymentHistoryRule;
+import bank.pf.service.policy.CompiledCreditPolicy;
+import bank.pf.service.policy.CreditPolicyCompiler;
+import bank.pf.service.policy.CreditPolicyDefinition;
+import bank.pf.service.policy.CreditPolicyFixtures;
+import bank.pf.service.policy.CreditPolicyHolder;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ShadowPolicyEvaluatorTest {
+
+    private static final String CANDIDATE_LOCATION = "file:/etc/loan-flow/credit-policy-candidate.json";
+
+    @Mock
+    private CreditPolicyHolder creditPolicyHolder;
+
+    private final CompiledCreditPolicy livePolicy = CreditPolicyFixtures.defaultPolicy();
+    private SimpleMeterRegistry meterRegistry;
+    private AssessmentRuleExecutor assessmentRuleExecutor;
+    private ShadowPolicyEvaluator shadowPolicyEvaluator;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        assessmentRuleExecutor = new AssessmentRuleExecutor(List.of(new BureauScoreRule(), new PaymentHistoryRule(),
+                new DebtToIncomeRatioRule(), new AntiFraudScoreRule()), meterRegistry);
+        ReflectionTestUtils.invokeMethod(assessmentRuleExecutor, "compilePipeline");
+        when(creditPolicyHolder.loadDetached(CANDIDATE_LOCATION)).thenReturn(givenCandidateWithMinimumBureauScore(550));
+        shadowPolicyEvaluator = new ShadowPolicyEvaluator(assessmentRuleExecutor, creditPolicyHolder,
+                JsonMapper.builder().findAndAddModules().build(), meterRegistry);
+        ReflectionTestUtils.setField(shadowPolicyEvaluator, "enabled", true);
+        ReflectionTestUtils.setField(shadowPolicyEvaluator, "location", CANDIDATE_LOCATION);
+        ReflectionTestUtils.setField(shadowPolicyEvaluator, "diffSampleRate", 1.0);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        shadowPolicyEvaluator.stop();
+    }
+
+    @Test
+    void shouldCountMatchesAndDivergencesOffTheLivePath() throws InterruptedException {
+        // Given
+        ReflectionTestUtils.setField(shadowPolicyEvaluator, "queueCapacity", 100);
+        ReflectionTestUtils.setField(shadowPolicyEvaluator, "workers", 1);
+        shadowPolicyEvaluator.start();
+
+        // When
+        submitLiveAssessment("app-match", 750);
+        submitLiveAssessment("app-diverged", 450);
+        awaitEvaluations(2);
+
+        // Then
+        assertThat(meterRegistry.counter("shadow.policy.evaluations", "result", "match").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("shadow.policy.evaluations", "result", "diverged").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("shadow.policy.divergences", "live", "ADJUSTED_CONDITIONS", "shadow", "REJECTED").count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.counter("shadow.policy.shed").count()).isZero();
+        // The live chain metrics only see the two live evaluations
+        assertThat(meterRegistry.timer("credit.assessment.rule.duration", "rule", "BureauScoreRule").count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldShedWhenTheQueueIsFullInsteadOfBlocking() {
+        // Given: no workers, so nothing drains the queue
+        ReflectionTestUtils.setField(shadowPolicyEvaluator, "queueCapacity", 2);
+        ReflectionTestUtils.setField(shadowPolicyEvaluator, "workers", 0);
+        shadowPolicyEvaluator.start();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            submitLiveAssessment("app-" + i, 750);
+        }
+
+        // Then
+        assertThat(meterRegistry.counter("shadow.policy.shed").count()).isEqualTo(3);
+        assertThat(meterRegistry.get("shadow.policy.queue.depth").gauge().value()).isEqualTo(2);
+    }
+
+    private void submitLiveAssessment(String applicationId, int bureauScore) {
+        LoanApplicationReceivedEvent application = new LoanApplicationReceivedEvent(applicationId, "12345678901", "a@b.com",
+                LocalDate.of(1990, 5, 1), new BigDecimal("10000.00"), 24, new BigDecimal("10000.00"), Instant.now());
+        BureauScore score = new BureauScore("12345678901", bureauScore, AssessmentType.LOW_RISK, false, PaymentHistoryType.GOOD,
+                new BigDecimal("500.00"));
+        AntiFraudScore antiFraudScore = new AntiFraudScore(applicationId, 100, RecommendationType.ACCEPT);
+        CreditAssessmentResult liveResult = CreditDecision.initialResult(application, score, livePolicy);
+        assessmentRuleExecutor.executeChain(application, score, antiFraudScore, liveResult, livePolicy);
+        CreditDecision.applyRiskStrategy(application, liveResult, score, livePolicy);
+        assertThat(liveResult.getStatus()).isNotEqualTo(AssessmentStatus.REJECTED);
+
+        shadowPolicyEvaluator.submit(application, score, antiFraudScore, liveResult);
+    }
+
+    private void awaitEvaluations(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (meterRegistry.timer("shadow.policy.lag").count() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static CompiledCreditPolicy givenCandidateWithMinimumBureauScore(int minimumBureauScore) {
+        CreditPolicyDefinition definition = CreditPolicyFixtures.defaultDefinition();
+        CreditPolicyDefinition.Rules rules = definition.rules();
+        CreditPolicyDefinition.Rules stricterRules = new CreditPolicyDefinition.Rules(minimumBureauScore, rules.rejectedPaymentHistories(),
+                rules.maxDebtToIncomeStrict(), rules.maxDebtToIncomeFlexible(), rules.highFraudScoreThreshold(),
+                rules.rejectedFraudRecommendations());
+        return new CreditPolicyCompiler(CreditPolicyFixtures.riskStrategies())
+                .compile(new CreditPolicyDefinition("2025.2", stricterRules, definition.riskBands()));
+    }
+}
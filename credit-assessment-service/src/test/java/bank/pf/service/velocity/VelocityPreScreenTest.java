@@ -0,0 +1,138 @@
+package bank.pf.service.velocity;
+
+import bank.pf.dto.event.LoanApplicationReceivedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VelocityPreScreenTest {
+
+    private static final long START_MILLIS = 1_700_000_000_000L;
+
+    private SimpleMeterRegistry meterRegistry;
+    private VelocityPreScreen velocityPreScreen;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        velocityPreScreen = givenPreScreen("reject");
+    }
+
+    @Test
+    void shouldRejectApplicationsOverTheCpfThresholdUntilTheWindowSlidesPastThem() {
+        // Given: the threshold of 3 applications per CPF is reached within one minute
+        for (int i = 0; i < 3; i++) {
+            assertThat(velocityPreScreen.check(application("app-" + i, "12345678901", "user" + i + "@example.com"), START_MILLIS + i * 1_000).exceeded()).isFalse();
+        }
+
+        // When
+        VelocityCheck fourth = velocityPreScreen.check(application("app-3", "12345678901", "other@example.com"), START_MILLIS + 60_000);
+        VelocityCheck afterWindow = velocityPreScreen.check(application("app-4", "12345678901", "late@example.com"), START_MILLIS + Duration.ofMinutes(11).toMillis());
+
+        // Then
+        assertThat(fourth).isEqualTo(new VelocityCheck(VelocityAction.REJECT, "cpf", 4));
+        assertThat(fourth.rejected()).isTrue();
+        // The three first applications (and the rejected fourth) fell out of the 10-minute window
+        assertThat(afterWindow.exceeded()).isFalse();
+        assertThat(meterRegistry.get("velocity.prescreen.applications").tag("outcome", "rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("velocity.prescreen.exceeded").tag("dimension", "cpf").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("velocity.window").gauge().value()).isEqualTo(600);
+        assertThat(meterRegistry.get("cache.size").tag("cache", "velocity-cpf").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFlagApplicationsSharingAnEmailAcrossCpfs() {
+        // Given
+        meterRegistry = new SimpleMeterRegistry();
+        velocityPreScreen = givenPreScreen("flag");
+        for (int i = 0; i < 3; i++) {
+            velocityPreScreen.check(application("app-" + i, "0000000000" + i, "ring@example.com"), START_MILLIS + i * 1_000);
+        }
+
+        // When: the same mailbox, written differently
+        VelocityCheck check = velocityPreScreen.check(application("app-3", "00000000003", " Ring@Example.COM "), START_MILLIS + 5_000);
+
+        // Then
+        assertThat(check).isEqualTo(new VelocityCheck(VelocityAction.FLAG, "email", 4));
+        assertThat(check.rejected()).isFalse();
+        assertThat(meterRegistry.get("velocity.prescreen.applications").tag("outcome", "flagged").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("velocity.prescreen.applications").tag("outcome", "passed").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldCountARedeliveredApplicationOnce() {
+        // Given
+        LoanApplicationReceivedEvent application = application("app-1", "12345678901", "test@example.com");
+        VelocityCheck first = velocityPreScreen.check(application, START_MILLIS);
+
+        // When: the same event is delivered again, as a retried batch would
+        VelocityCheck redelivered = velocityPreScreen.check(application, START_MILLIS + 1_000);
+
+        // Then
+        assertThat(redelivered).isEqualTo(first);
+        assertThat(meterRegistry.get("velocity.window.applications").tag("dimension", "cpf").summary().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("velocity.window.applications").tag("dimension", "cpf").summary().max()).isEqualTo(1);
+        assertThat(meterRegistry.get("velocity.prescreen.applications").tag("outcome", "passed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountEveryConcurrentApplicationWithoutLocks() throws Exception {
+        // Given
+        var counter = new SlidingWindowCounter(20, 30_000);
+        int threads = 8;
+        int incrementsPerThread = 10_000;
+
+        // When: the increments span a bucket boundary while threads race on the same slots
+        List<Future<?>> futures = new ArrayList<>();
+        long startTime = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < incrementsPerThread; i++) {
+                        counter.incrementAndSum(START_MILLIS + i * 6L);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        // Then
+        long total = counter.incrementAndSum(START_MILLIS + incrementsPerThread * 6L) - 1;
+        System.out.println("[DEBUG_LOG] " + threads * incrementsPerThread + " concurrent increments in " + elapsedNanos / 1_000_000 + " ms, counted " + total);
+        assertThat(total).isEqualTo((long) threads * incrementsPerThread);
+    }
+
+    private VelocityPreScreen givenPreScreen(String action) {
+        var preScreen = new VelocityPreScreen(meterRegistry);
+        ReflectionTestUtils.setField(preScreen, "enabled", true);
+        ReflectionTestUtils.setField(preScreen, "action", action);
+        ReflectionTestUtils.setField(preScreen, "window", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(preScreen, "bucket", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(preScreen, "maxKeys", 1_000L);
+        ReflectionTestUtils.setField(preScreen, "cpfThreshold", 3);
+        ReflectionTestUtils.setField(preScreen, "emailThreshold", 3);
+        ReflectionTestUtils.invokeMethod(preScreen, "init");
+        return preScreen;
+    }
+
+    private static LoanApplicationReceivedEvent application(String applicationId, String cpf, String email) {
+        return new LoanApplicationReceivedEvent(applicationId, cpf, email, LocalDate.of(1990, 1, 1),
+                new BigDecimal("10000.00"), 24, new BigDecimal("5000.00"), Instant.now());
+    }
+}
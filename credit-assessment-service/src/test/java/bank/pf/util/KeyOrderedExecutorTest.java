@@ -0,0 +1,96 @@
+package bank.pf.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyOrderedExecutorTest {
+
+    private final KeyOrderedExecutor keyOrderedExecutor = new KeyOrderedExecutor();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        keyOrderedExecutor.close();
+    }
+
+    @Test
+    void shouldRunTasksOfSameKeyInSubmissionOrder() throws Exception {
+        // Given
+        Map<String, List<Integer>> executionOrder = new ConcurrentHashMap<>();
+        CompletableFuture<?>[] completions = new CompletableFuture<?>[300];
+
+        // When
+        for (int i = 0; i < completions.length; i++) {
+            String key = "app-" + (i % 3);
+            int sequence = i;
+            completions[i] = keyOrderedExecutor.submit(key, () -> {
+                if (sequence % 7 == 0) {
+                    sleep(2);
+                }
+                executionOrder.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(sequence);
+            });
+        }
+        CompletableFuture.allOf(completions).get(5, TimeUnit.SECONDS);
+
+        // Then
+        executionOrder.values().forEach(sequences -> assertThat(sequences).isSorted().hasSize(100));
+        assertThat(keyOrderedExecutor.activeKeys()).isZero();
+    }
+
+    @Test
+    void shouldRunDifferentKeysConcurrently() throws Exception {
+        // Given
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        // When
+        CompletableFuture<Void> first = keyOrderedExecutor.submit("app-1", () -> awaitQuietly(bothStarted));
+        CompletableFuture<Void> second = keyOrderedExecutor.submit("app-2", () -> awaitQuietly(bothStarted));
+
+        // Then
+        CompletableFuture.allOf(first, second).get(2, TimeUnit.SECONDS);
+        assertThat(bothStarted.getCount()).isZero();
+    }
+
+    @Test
+    void shouldKeepRunningKeyChainAfterFailure() throws Exception {
+        // Given
+        List<String> executed = new CopyOnWriteArrayList<>();
+
+        // When
+        CompletableFuture<Void> failed = keyOrderedExecutor.submit("app-1", () -> {
+            throw new IllegalStateException("bureau down");
+        });
+        CompletableFuture<Void> next = keyOrderedExecutor.submit("app-1", () -> executed.add("second"));
+
+        // Then
+        next.get(2, TimeUnit.SECONDS);
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(executed).containsExactly("second");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -2,14 +2,18 @@ package bank.pf.controller;
 
 import bank.pf.dto.request.LoanApplicationRequest;
 import bank.pf.dto.request.UpdateLoanStatusRequest;
+import bank.pf.dto.response.LoanApplicationResponse;
 import bank.pf.exception.ApplicationNotFoundException;
 import bank.pf.service.LoanApplicationService;
+import bank.pf.service.LoanStatusBroadcaster;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 
@@ -20,6 +24,7 @@ import java.util.Map;
 public class LoanApplicationController {
 
     private final LoanApplicationService loanApplicationService;
+    private final LoanStatusBroadcaster loanStatusBroadcaster;
 
     @PostMapping
     public ResponseEntity<?> submitLoanApplication(
@@ -31,6 +36,23 @@ public class LoanApplicationController {
         return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("applicationId", applicationId, "message", "Solicitação recebida e em processamento."));
     }
 
+    @GetMapping("/{applicationId}")
+    public ResponseEntity<LoanApplicationResponse> getLoanApplication(@PathVariable String applicationId) throws ApplicationNotFoundException {
+        return ResponseEntity.ok(LoanApplicationResponse.valueOf(loanApplicationService.findApplication(applicationId)));
+    }
+
+    @GetMapping(path = "/{applicationId}/status-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamApplicationStatus(@PathVariable String applicationId) throws ApplicationNotFoundException {
+        log.info("Nova assinatura SSE de status para applicationId {}", applicationId);
+        return loanStatusBroadcaster.subscribeToApplication(loanApplicationService.findApplication(applicationId));
+    }
+
+    @GetMapping(path = "/status-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStatusByCpf(@RequestParam String cpf) {
+        log.info("Nova assinatura SSE de status para CPF {}", cpf);
+        return loanStatusBroadcaster.subscribeToCpf(cpf);
+    }
+
     @PutMapping("/internal/{applicationId}/status")
     public ResponseEntity<?> updateLoanStatus(@PathVariable String applicationId, @RequestBody UpdateLoanStatusRequest statusRequest) throws ApplicationNotFoundException {
         log.info("Recebida atualização de status para applicationId {}: {}", applicationId, statusRequest.status());
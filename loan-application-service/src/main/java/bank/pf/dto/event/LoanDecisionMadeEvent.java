@@ -0,0 +1,28 @@
+package bank.pf.dto.event;
+
+import bank.pf.enums.LoanStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public record LoanDecisionMadeEvent(
+        String eventId,
+        LocalDateTime eventTimestamp,
+        String applicationId,
+        String cpf,
+        String email,
+        LoanStatus decision,
+        String reason,
+        // Motivos da análise de crédito (bitset do ReasonCode do credit-assessment-service) e seus parâmetros
+        long reasonCodes,
+        Map<String, Integer> reasonParameters,
+        LoanTerms terms) {
+
+    public record LoanTerms(
+            BigDecimal approvedAmount,
+            BigDecimal interestRate,
+            Integer numberOfInstallments,
+            BigDecimal installmentAmount) {
+    }
+}
@@ -0,0 +1,21 @@
+package bank.pf.dto.event;
+
+import bank.pf.entity.LoanApplication;
+import bank.pf.enums.LoanStatus;
+
+import java.time.Instant;
+
+public record LoanStatusChangedEvent(
+        String applicationId,
+        String cpf,
+        LoanStatus status,
+        Instant eventTimestamp) {
+
+    public static LoanStatusChangedEvent valueOf(LoanApplication loanApplication) {
+        return new LoanStatusChangedEvent(
+                loanApplication.getId(),
+                loanApplication.getCpf(),
+                loanApplication.getStatus(),
+                Instant.now());
+    }
+}
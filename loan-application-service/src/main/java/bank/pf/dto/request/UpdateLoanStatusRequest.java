@@ -5,11 +5,14 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 import java.math.BigDecimal;
+import java.util.Map;
 
 public record UpdateLoanStatusRequest(
         @NotBlank String applicationId,
         @NotNull LoanStatus status,
         @NotBlank String reason,
+        long reasonCodes,
+        Map<String, Integer> reasonParameters,
         @NotNull BigDecimal amountApproved,
         @NotNull BigDecimal interestRate,
         @NotNull Integer installments,
@@ -0,0 +1,47 @@
+package bank.pf.dto.response;
+
+import bank.pf.entity.LoanApplication;
+import bank.pf.enums.LoanStatus;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+@Builder
+public record LoanApplicationResponse(
+        String applicationId,
+        String cpf,
+        LoanStatus status,
+        BigDecimal amountRequested,
+        Integer numberOfInstallments,
+        String rejectionReason,
+        long reasonCodes,
+        Map<String, Integer> reasonParameters,
+        BigDecimal amountApproved,
+        BigDecimal interestRate,
+        Integer approvedInstallments,
+        BigDecimal installmentValue,
+        Instant createdAt,
+        Instant updatedAt
+) {
+
+    public static LoanApplicationResponse valueOf(LoanApplication loanApplication) {
+        return LoanApplicationResponse.builder()
+                .applicationId(loanApplication.getId())
+                .cpf(loanApplication.getCpf())
+                .status(loanApplication.getStatus())
+                .amountRequested(loanApplication.getAmountRequested())
+                .numberOfInstallments(loanApplication.getNumberOfInstallments())
+                .rejectionReason(loanApplication.getRejectionReason())
+                .reasonCodes(loanApplication.getReasonCodes())
+                .reasonParameters(loanApplication.getReasonParameters())
+                .amountApproved(loanApplication.getAmountApproved())
+                .interestRate(loanApplication.getInterestRate())
+                .approvedInstallments(loanApplication.getApprovedInstallments())
+                .installmentValue(loanApplication.getInstallmentValue())
+                .createdAt(loanApplication.getCreatedAt())
+                .updatedAt(loanApplication.getUpdatedAt())
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package bank.pf.entity;
 
 import bank.pf.dto.request.LoanApplicationRequest;
 import bank.pf.enums.LoanStatus;
+import bank.pf.util.TimeOrderedIdGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,19 +10,21 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.util.UUID;
+import java.util.Map;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "loan_applications")
+@CompoundIndex(name = "status_updatedAt", def = "{'status': 1, 'updatedAt': 1}")
 public class LoanApplication {
 
     @Id
@@ -39,6 +42,9 @@ public class LoanApplication {
     private LoanStatus status;
 
     private String rejectionReason;
+    // Motivos estruturados da análise de crédito; o rejectionReason é só o texto da decisão
+    private long reasonCodes;
+    private Map<String, Integer> reasonParameters;
 
     private BigDecimal amountApproved;
     private BigDecimal interestRate;
@@ -53,7 +59,7 @@ public class LoanApplication {
 
     public static LoanApplication valueOf(LoanApplicationRequest request) {
         return LoanApplication.builder()
-                .id(UUID.randomUUID().toString())
+                .id(TimeOrderedIdGenerator.nextId())
                 .cpf(request.cpf())
                 .email(request.email())
                 .dateOfBirth(request.dateOfBirth())
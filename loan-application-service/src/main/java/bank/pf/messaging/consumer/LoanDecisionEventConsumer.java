@@ -0,0 +1,38 @@
+package bank.pf.messaging.consumer;
+
+import bank.pf.dto.event.LoanDecisionMadeEvent;
+import bank.pf.service.LoanApplicationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoanDecisionEventConsumer {
+
+    private final LoanApplicationService loanApplicationService;
+
+    // Uma exceção aqui faz o container reentregar o lote inteiro; os updates são idempotentes por applicationId.
+    @KafkaListener(
+            topics = "${app.kafka.topics.loan-decision-made}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "loanDecisionBatchListenerContainerFactory",
+            autoStartup = "${app.kafka.consumer.loan-decision.enabled:true}")
+    public void handleLoanDecisionMadeEvents(List<ConsumerRecord<String, LoanDecisionMadeEvent>> records) {
+        List<LoanDecisionMadeEvent> decisions = records.stream()
+                .map(ConsumerRecord::value)
+                .filter(Objects::nonNull)
+                .toList();
+        if (decisions.size() < records.size()) {
+            log.warn("{} eventos LoanDecisionMadeEvent inválidos descartados no lote.", records.size() - decisions.size());
+        }
+        log.info("Recebido lote de {} eventos LoanDecisionMadeEvent", decisions.size());
+        loanApplicationService.applyLoanDecisions(decisions);
+    }
+}
@@ -0,0 +1,78 @@
+package bank.pf.repository;
+
+import bank.pf.entity.LoanApplication;
+import bank.pf.enums.LoanStatus;
+import com.mongodb.client.model.CreateCollectionOptions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoanApplicationArchive {
+
+    public static final String ARCHIVE_COLLECTION = "loan_applications_archive";
+    public static final List<LoanStatus> FINALIZED_STATUSES = List.of(LoanStatus.APPROVED, LoanStatus.REJECTED);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.archival.block-compressor:zstd}")
+    private String blockCompressor;
+
+    private volatile boolean collectionReady;
+
+    public Optional<LoanApplication> findById(String applicationId) {
+        return Optional.ofNullable(mongoTemplate.findById(applicationId, LoanApplication.class, ARCHIVE_COLLECTION));
+    }
+
+    public List<LoanApplication> findArchivable(Instant finalizedBefore, int limit) {
+        Query query = Query.query(where("status").in(FINALIZED_STATUSES).and("updatedAt").lt(finalizedBefore))
+                .with(Sort.by(Sort.Direction.ASC, "updatedAt"))
+                .limit(limit);
+        return mongoTemplate.find(query, LoanApplication.class);
+    }
+
+    // A cópia para o arquivo é um upsert por _id: se o job cair entre a cópia e a remoção, a próxima execução é idempotente.
+    public long moveToArchive(List<LoanApplication> applications) {
+        ensureArchiveCollection();
+
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LoanApplication.class, ARCHIVE_COLLECTION);
+        applications.forEach(application -> bulkOperations.replaceOne(
+                Query.query(where("_id").is(application.getId())), application, FindAndReplaceOptions.options().upsert()));
+        bulkOperations.execute();
+
+        List<String> ids = applications.stream().map(LoanApplication::getId).toList();
+        Query archivedInHot = Query.query(where("_id").in(ids).and("status").in(FINALIZED_STATUSES));
+        return mongoTemplate.remove(archivedInHot, LoanApplication.class).getDeletedCount();
+    }
+
+    private void ensureArchiveCollection() {
+        if (collectionReady) {
+            return;
+        }
+        synchronized (this) {
+            if (!collectionReady) {
+                if (!mongoTemplate.collectionExists(ARCHIVE_COLLECTION)) {
+                    var storageEngineOptions = new Document("wiredTiger", new Document("configString", "block_compressor=" + blockCompressor));
+                    mongoTemplate.getDb().createCollection(ARCHIVE_COLLECTION, new CreateCollectionOptions().storageEngineOptions(storageEngineOptions));
+                    log.info("Coleção de arquivo {} criada com compressão {}", ARCHIVE_COLLECTION, blockCompressor);
+                }
+                collectionReady = true;
+            }
+        }
+    }
+}
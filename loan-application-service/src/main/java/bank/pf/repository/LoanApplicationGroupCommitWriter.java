@@ -0,0 +1,222 @@
+package bank.pf.repository;
+
+import bank.pf.entity.LoanApplication;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// Agrupa inserções concorrentes em um único insertMany: o lote é descarregado ao atingir max-batch-size
+// ou quando o primeiro documento espera max-delay-ms. Se o lote falhar, cada documento é regravado individualmente.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoanApplicationGroupCommitWriter {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final LoanApplicationRepository loanApplicationRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Getter
+    @Value("${app.mongo.group-commit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.mongo.group-commit.max-batch-size:64}")
+    private int maxBatchSize;
+
+    @Value("${app.mongo.group-commit.max-delay-ms:5}")
+    private long maxDelayMillis;
+
+    @Value("${app.mongo.group-commit.queue-capacity:4096}")
+    private int queueCapacity;
+
+    private BlockingQueue<PendingWrite> queue;
+    private Thread flusherThread;
+    private volatile boolean running;
+
+    private DistributionSummary batchSizeSummary;
+    private Timer flushTimer;
+    private Timer commitLatencyTimer;
+    private Counter sizeTriggeredFlushCounter;
+    private Counter delayTriggeredFlushCounter;
+    private Counter fallbackCounter;
+    private Counter overflowCounter;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Group commit do MongoDB desabilitado. Inserções serão feitas individualmente.");
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        initMetrics();
+        running = true;
+        flusherThread = Thread.ofVirtual().name("mongo-group-commit-flusher").start(this::runFlushLoop);
+        log.info("Group commit do MongoDB iniciado. maxBatchSize={}, maxDelayMs={}, queueCapacity={}",
+                maxBatchSize, maxDelayMillis, queueCapacity);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        flusherThread.join(TimeUnit.SECONDS.toMillis(5));
+        // O flusher pode ter saído com a fila vazia logo antes de um insert concorrente conseguir enfileirar
+        List<PendingWrite> leftovers = new ArrayList<>();
+        queue.drainTo(leftovers);
+        leftovers.forEach(this::saveIndividually);
+        log.info("Group commit do MongoDB finalizado.");
+    }
+
+    public CompletableFuture<LoanApplication> insert(LoanApplication loanApplication) {
+        var pendingWrite = new PendingWrite(loanApplication, new CompletableFuture<>(), System.nanoTime());
+        if (!running || !queue.offer(pendingWrite)) {
+            if (running) {
+                overflowCounter.increment();
+                log.warn("Fila de group commit cheia. Gravando solicitação {} individualmente.", loanApplication.getId());
+            }
+            saveIndividually(pendingWrite);
+        } else if (!running && queue.remove(pendingWrite)) {
+            // stop() começou entre a checagem de running e o offer; o flusher pode já ter saído sem ver esta gravação
+            saveIndividually(pendingWrite);
+        }
+        return pendingWrite.future();
+    }
+
+    private void initMetrics() {
+        batchSizeSummary = DistributionSummary.builder("loan.mongo.group-commit.batch.size")
+                .description("Number of documents written per insertMany")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        flushTimer = Timer.builder("loan.mongo.group-commit.flush.duration")
+                .description("Duration of each insertMany flush")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        commitLatencyTimer = Timer.builder("loan.mongo.group-commit.commit.latency")
+                .description("Time from enqueue until the caller's document is durable")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        sizeTriggeredFlushCounter = Counter.builder("loan.mongo.group-commit.flushes")
+                .tag("trigger", "size")
+                .register(meterRegistry);
+        delayTriggeredFlushCounter = Counter.builder("loan.mongo.group-commit.flushes")
+                .tag("trigger", "delay")
+                .register(meterRegistry);
+        fallbackCounter = Counter.builder("loan.mongo.group-commit.fallbacks")
+                .description("Batches that failed and were rewritten document by document")
+                .register(meterRegistry);
+        overflowCounter = Counter.builder("loan.mongo.group-commit.overflows")
+                .description("Writes that bypassed the queue because it was full")
+                .register(meterRegistry);
+        Gauge.builder("loan.mongo.group-commit.queue.depth", queue, BlockingQueue::size)
+                .description("Writes waiting for the next flush")
+                .register(meterRegistry);
+    }
+
+    private void runFlushLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collectUntilFullOrDeadline(batch, first.enqueuedAtNanos() + TimeUnit.MILLISECONDS.toNanos(maxDelayMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                queue.drainTo(batch);
+            } finally {
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                    batch.clear();
+                }
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+
+    private void collectUntilFullOrDeadline(List<PendingWrite> batch, long deadlineNanos) throws InterruptedException {
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remainingNanos = deadlineNanos - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remainingNanos <= 0) {
+                break;
+            }
+            PendingWrite next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        if (batch.size() >= maxBatchSize) {
+            sizeTriggeredFlushCounter.increment();
+        } else {
+            delayTriggeredFlushCounter.increment();
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        batchSizeSummary.record(batch.size());
+        long startTime = System.nanoTime();
+        try {
+            List<LoanApplication> documents = batch.stream().map(PendingWrite::loanApplication).toList();
+            Collection<LoanApplication> saved = mongoTemplate.insert(documents, LoanApplication.class);
+            flushTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+
+            Iterator<LoanApplication> savedIterator = saved.iterator();
+            for (PendingWrite pendingWrite : batch) {
+                complete(pendingWrite, savedIterator.hasNext() ? savedIterator.next() : pendingWrite.loanApplication());
+            }
+        } catch (Exception e) {
+            flushTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            fallbackCounter.increment();
+            log.warn("Falha no insertMany de {} solicitações: {}. Regravando individualmente.", batch.size(), e.getMessage());
+            batch.forEach(this::saveIndividually);
+        }
+    }
+
+    private void saveIndividually(PendingWrite pendingWrite) {
+        try {
+            complete(pendingWrite, loanApplicationRepository.save(pendingWrite.loanApplication()));
+        } catch (Exception e) {
+            log.error("Falha ao persistir solicitação {}: {}", pendingWrite.loanApplication().getId(), e.getMessage());
+            pendingWrite.future().completeExceptionally(e);
+        }
+    }
+
+    private void complete(PendingWrite pendingWrite, LoanApplication saved) {
+        if (commitLatencyTimer != null) {
+            commitLatencyTimer.record(System.nanoTime() - pendingWrite.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+        }
+        pendingWrite.future().complete(saved);
+    }
+
+    private record PendingWrite(LoanApplication loanApplication, CompletableFuture<LoanApplication> future, long enqueuedAtNanos) {
+    }
+}
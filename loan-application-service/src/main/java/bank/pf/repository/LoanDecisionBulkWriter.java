@@ -0,0 +1,96 @@
+package bank.pf.repository;
+
+import bank.pf.dto.event.LoanDecisionMadeEvent;
+import bank.pf.entity.LoanApplication;
+import bank.pf.enums.LoanStatus;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoanDecisionBulkWriter {
+
+    // Uma decisão reentregue não pode regredir uma solicitação que já seguiu para contrato.
+    public static final List<LoanStatus> POST_DECISION_STATUSES =
+            List.of(LoanStatus.CONTRACT_PENDING, LoanStatus.ACTIVE, LoanStatus.PAID_OFF, LoanStatus.DEFAULTED);
+
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private DistributionSummary batchSizeSummary;
+    private Timer bulkWriteTimer;
+    private Counter modifiedCounter;
+    private Counter skippedCounter;
+
+    @PostConstruct
+    private void initMetrics() {
+        batchSizeSummary = DistributionSummary.builder("loan.decision.bulk.batch.size")
+                .description("Decisions applied per bulkWrite")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        bulkWriteTimer = Timer.builder("loan.decision.bulk.duration")
+                .description("Duration of each decision bulkWrite")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        modifiedCounter = Counter.builder("loan.decision.bulk.applied")
+                .description("Applications whose status was changed by a decision event")
+                .register(meterRegistry);
+        skippedCounter = Counter.builder("loan.decision.bulk.skipped")
+                .description("Decisions that matched no document or changed nothing")
+                .register(meterRegistry);
+    }
+
+    // Os updates de um lote vão em um único bulkWrite não ordenado. O @LastModifiedDate não é aplicado em
+    // updates parciais, então o updatedAt é gravado explicitamente (o arquivamento depende dele).
+    public BulkWriteResult applyDecisions(Collection<LoanDecisionMadeEvent> decisions) {
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LoanApplication.class);
+        Instant now = Instant.now();
+        for (LoanDecisionMadeEvent decision : decisions) {
+            Query query = Query.query(where("_id").is(decision.applicationId()).and("status").nin(POST_DECISION_STATUSES));
+            bulkOperations.updateOne(query, toUpdate(decision, now));
+        }
+        batchSizeSummary.record(decisions.size());
+        BulkWriteResult result = bulkWriteTimer.record(bulkOperations::execute);
+        modifiedCounter.increment(result.getModifiedCount());
+        skippedCounter.increment(decisions.size() - result.getModifiedCount());
+        log.debug("bulkWrite de decisões: {} enviadas, {} encontradas, {} alteradas",
+                decisions.size(), result.getMatchedCount(), result.getModifiedCount());
+        return result;
+    }
+
+    private Update toUpdate(LoanDecisionMadeEvent decision, Instant now) {
+        Update update = new Update()
+                .set("status", decision.decision())
+                .set("reasonCodes", decision.reasonCodes())
+                .set("reasonParameters", decision.reasonParameters())
+                .set("updatedAt", now);
+        if (LoanStatus.REJECTED.equals(decision.decision())) {
+            update.set("rejectionReason", decision.reason());
+        }
+        if (LoanStatus.APPROVED.equals(decision.decision()) && decision.terms() != null) {
+            update.set("amountApproved", decision.terms().approvedAmount())
+                    .set("interestRate", decision.terms().interestRate())
+                    .set("approvedInstallments", decision.terms().numberOfInstallments())
+                    .set("installmentValue", decision.terms().installmentAmount());
+        }
+        return update;
+    }
+}
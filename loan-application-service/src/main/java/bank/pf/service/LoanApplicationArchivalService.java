@@ -0,0 +1,89 @@
+package bank.pf.service;
+
+import bank.pf.entity.LoanApplication;
+import bank.pf.repository.LoanApplicationArchive;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LoanApplicationArchivalService {
+
+    private final LoanApplicationArchive loanApplicationArchive;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.archival.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.archival.min-age:90d}")
+    private Duration minAge;
+
+    @Value("${app.archival.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.archival.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.archival.throttle-ms:200}")
+    private long throttleMillis;
+
+    private Counter archivedCounter;
+    private Timer batchTimer;
+
+    @PostConstruct
+    private void initMetrics() {
+        archivedCounter = Counter.builder("loan.archival.documents")
+                .description("Finalized applications moved to the archive collection")
+                .register(meterRegistry);
+        batchTimer = Timer.builder("loan.archival.batch.duration")
+                .description("Duration of each archival batch (copy + delete)")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.archival.interval-ms:3600000}", initialDelayString = "${app.archival.initial-delay-ms:60000}")
+    public void archiveFinalizedApplications() {
+        if (!enabled) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(minAge);
+        long archived = 0;
+        try {
+            for (int batchNumber = 0; batchNumber < maxBatchesPerRun; batchNumber++) {
+                List<LoanApplication> batch = loanApplicationArchive.findArchivable(cutoff, batchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                long removed = batchTimer.record(() -> loanApplicationArchive.moveToArchive(batch));
+                archived += removed;
+                archivedCounter.increment(removed);
+
+                if (batch.size() < batchSize) {
+                    break;
+                }
+                Thread.sleep(throttleMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Arquivamento interrompido após mover {} solicitações.", archived);
+            return;
+        } catch (Exception e) {
+            log.error("Falha no arquivamento de solicitações finalizadas: {}", e.getMessage(), e);
+        }
+        if (archived > 0) {
+            log.info("Arquivamento concluído: {} solicitações finalizadas antes de {} movidas para {}",
+                    archived, cutoff, LoanApplicationArchive.ARCHIVE_COLLECTION);
+        }
+    }
+}
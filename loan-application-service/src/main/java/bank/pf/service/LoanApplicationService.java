@@ -1,6 +1,8 @@
 package bank.pf.service;
 
 import bank.pf.dto.event.LoanApplicationReceivedEvent;
+import bank.pf.dto.event.LoanDecisionMadeEvent;
+import bank.pf.dto.event.LoanStatusChangedEvent;
 import bank.pf.dto.request.LoanApplicationRequest;
 import bank.pf.dto.request.UpdateLoanStatusRequest;
 import bank.pf.dto.response.AccountValidationResponse;
@@ -11,7 +13,10 @@ import bank.pf.enums.LoanStatus;
 import bank.pf.exception.ApplicationNotFoundException;
 import bank.pf.exception.EventPublishingFailedException;
 import bank.pf.exception.ValidationException;
+import bank.pf.repository.LoanApplicationArchive;
+import bank.pf.repository.LoanApplicationGroupCommitWriter;
 import bank.pf.repository.LoanApplicationRepository;
+import bank.pf.repository.LoanDecisionBulkWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,14 +25,20 @@ import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Service
@@ -37,12 +48,19 @@ public class LoanApplicationService {
     private final LoanApplicationRepository loanApplicationRepository;
     private final KafkaTemplate<String, LoanApplicationReceivedEvent> kafkaTemplate;
     private final ExternalValidationService externalValidationService;
+    private final LoanApplicationGroupCommitWriter loanApplicationGroupCommitWriter;
+    private final LoanApplicationArchive loanApplicationArchive;
+    private final LoanStatusBroadcaster loanStatusBroadcaster;
+    private final LoanDecisionBulkWriter loanDecisionBulkWriter;
 
     private final ExecutorService virtualThreadExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     @Value("${app.kafka.topics.loan-application-received}")
     private String loanApplicationReceivedTopic;
 
+    @Value("${app.mongo.group-commit.write-timeout:10s}")
+    private Duration groupCommitWriteTimeout;
+
     public String submitApplication(LoanApplicationRequest request) throws ValidationException, ExecutionException, InterruptedException {
         log.info("Thread (submitApplication start for CPF {}): {}", request.cpf(), Thread.currentThread());
         List<String> validationErrors = new ArrayList<>();
@@ -59,6 +77,7 @@ public class LoanApplicationService {
         log.info("Solicitação de empréstimo persistida com ID: {}", savedLoan.getId());
 
         publishLoanApplicationReceivedEvent(savedLoan);
+        loanStatusBroadcaster.onStatusPersisted(savedLoan);
         return savedLoan.getId();
     }
 
@@ -105,6 +124,14 @@ public class LoanApplicationService {
         var loanApplication = LoanApplication.valueOf(request);
         loanApplication.setStatus(LoanStatus.PENDING_ASSESSMENT);
 
+        if (loanApplicationGroupCommitWriter.isEnabled()) {
+            try {
+                return loanApplicationGroupCommitWriter.insert(loanApplication)
+                        .get(groupCommitWriteTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                throw new ExecutionException("Gravação da solicitação não confirmada em " + groupCommitWriteTimeout, e);
+            }
+        }
 
         CompletableFuture<LoanApplication> dbPersistFuture = CompletableFuture.supplyAsync(() -> {
             log.info("Thread (DB persist for CPF {}): {}", loanApplication.getCpf(), Thread.currentThread());
@@ -150,12 +177,20 @@ public class LoanApplicationService {
         }
     }
 
+    public LoanApplication findApplication(String applicationId) throws ApplicationNotFoundException {
+        return loanApplicationRepository.findById(applicationId)
+                .or(() -> loanApplicationArchive.findById(applicationId))
+                .orElseThrow(() -> new ApplicationNotFoundException("Solicitação não encontrada com ID: " + applicationId));
+    }
+
     public void updateLoanStatus(UpdateLoanStatusRequest updateLoan) throws ApplicationNotFoundException {
         log.info("Atualizando status da solicitação {} para {}", updateLoan.applicationId(), updateLoan.status());
         var application = loanApplicationRepository.findById(updateLoan.applicationId())
                 .orElseThrow(() -> new ApplicationNotFoundException("Solicitação não encontrada com ID: " + updateLoan.applicationId()));
 
         application.setStatus(updateLoan.status());
+        application.setReasonCodes(updateLoan.reasonCodes());
+        application.setReasonParameters(updateLoan.reasonParameters());
         if (LoanStatus.REJECTED.equals(updateLoan.status())) {
             application.setRejectionReason(updateLoan.reason());
         }
@@ -167,6 +202,30 @@ public class LoanApplicationService {
         }
 
         loanApplicationRepository.save(application);
+        loanStatusBroadcaster.onStatusPersisted(application);
         log.info("Status da solicitação {} atualizado para {}", updateLoan.applicationId(), updateLoan.status());
     }
+
+    // Aplica um lote de decisões consumidas do Kafka. Os eventos são particionados por applicationId, então
+    // dentro do lote a última decisão de cada solicitação é a que vale.
+    public void applyLoanDecisions(List<LoanDecisionMadeEvent> decisions) {
+        Map<String, LoanDecisionMadeEvent> latestByApplicationId = new LinkedHashMap<>();
+        for (LoanDecisionMadeEvent decision : decisions) {
+            if (decision.applicationId() == null || decision.decision() == null) {
+                log.warn("Evento de decisão {} ignorado: applicationId ou decisão ausente.", decision.eventId());
+                continue;
+            }
+            latestByApplicationId.put(decision.applicationId(), decision);
+        }
+        if (latestByApplicationId.isEmpty()) {
+            return;
+        }
+
+        var result = loanDecisionBulkWriter.applyDecisions(latestByApplicationId.values());
+        log.info("Lote de decisões aplicado: {} solicitações, {} alteradas", latestByApplicationId.size(), result.getModifiedCount());
+
+        Instant appliedAt = Instant.now();
+        latestByApplicationId.values().forEach(decision -> loanStatusBroadcaster.publishIfUpdatePath(
+                new LoanStatusChangedEvent(decision.applicationId(), decision.cpf(), decision.decision(), appliedAt)));
+    }
 }
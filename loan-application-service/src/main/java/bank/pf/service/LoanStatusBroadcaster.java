@@ -0,0 +1,194 @@
+package bank.pf.service;
+
+import bank.pf.dto.event.LoanStatusChangedEvent;
+import bank.pf.entity.LoanApplication;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Distribui transições de status para assinantes SSE. Cada assinante tem um buffer limitado e uma virtual thread
+// própria para envio: um cliente lento só perde os eventos mais antigos do próprio buffer, sem atrasar os demais.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LoanStatusBroadcaster {
+
+    public static final String SOURCE_UPDATE_PATH = "update-path";
+    public static final String SOURCE_CHANGE_STREAM = "change-stream";
+
+    private static final String STATUS_EVENT_NAME = "loan-status";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.status-stream.source:" + SOURCE_UPDATE_PATH + "}")
+    private String source;
+
+    @Value("${app.status-stream.buffer-size:16}")
+    private int bufferSize;
+
+    @Value("${app.status-stream.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMillis;
+
+    @Value("${app.status-stream.heartbeat-interval-ms:15000}")
+    private long heartbeatIntervalMillis;
+
+    private final Map<String, Set<Subscriber>> subscribersByApplicationId = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> subscribersByCpf = new ConcurrentHashMap<>();
+    private final AtomicInteger activeSubscribers = new AtomicInteger();
+
+    private Counter publishedCounter;
+    private Counter deliveredCounter;
+    private Counter droppedCounter;
+
+    @PostConstruct
+    private void initMetrics() {
+        publishedCounter = Counter.builder("loan.status.stream.published")
+                .description("Status transitions received by the broadcaster")
+                .register(meterRegistry);
+        deliveredCounter = Counter.builder("loan.status.stream.delivered")
+                .description("Status events written to SSE subscribers")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("loan.status.stream.dropped")
+                .description("Status events discarded because a subscriber buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("loan.status.stream.subscribers", activeSubscribers, AtomicInteger::get)
+                .description("Active SSE subscribers")
+                .register(meterRegistry);
+        log.info("Stream de status iniciado. source={}, bufferSize={}", source, bufferSize);
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        subscribersByApplicationId.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribersByCpf.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    public SseEmitter subscribeToApplication(LoanApplication currentState) {
+        Subscriber subscriber = register(subscribersByApplicationId, currentState.getId());
+        subscriber.offer(LoanStatusChangedEvent.valueOf(currentState));
+        return subscriber.emitter;
+    }
+
+    public SseEmitter subscribeToCpf(String cpf) {
+        return register(subscribersByCpf, cpf).emitter;
+    }
+
+    // Chamado pelo fluxo de atualização de status. Ignorado quando a fonte é o change stream, para não duplicar eventos.
+    public void onStatusPersisted(LoanApplication loanApplication) {
+        publishIfUpdatePath(LoanStatusChangedEvent.valueOf(loanApplication));
+    }
+
+    public void publishIfUpdatePath(LoanStatusChangedEvent event) {
+        if (SOURCE_UPDATE_PATH.equals(source)) {
+            publish(event);
+        }
+    }
+
+    public void publish(LoanStatusChangedEvent event) {
+        publishedCounter.increment();
+        fanOut(subscribersByApplicationId, event.applicationId(), event);
+        fanOut(subscribersByCpf, event.cpf(), event);
+    }
+
+    private void fanOut(Map<String, Set<Subscriber>> index, String key, LoanStatusChangedEvent event) {
+        Set<Subscriber> subscribers = key == null ? null : index.get(key);
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    private Subscriber register(Map<String, Set<Subscriber>> index, String key) {
+        Subscriber subscriber = new Subscriber(new SseEmitter(emitterTimeoutMillis), new ArrayBlockingQueue<>(bufferSize));
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        activeSubscribers.incrementAndGet();
+
+        Runnable unregister = () -> {
+            if (!subscriber.close()) {
+                return;
+            }
+            activeSubscribers.decrementAndGet();
+            index.computeIfPresent(key, (k, subscribers) -> {
+                subscribers.remove(subscriber);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        };
+        subscriber.emitter.onCompletion(unregister);
+        subscriber.emitter.onTimeout(unregister);
+        subscriber.emitter.onError(error -> unregister.run());
+        subscriber.sender = Thread.ofVirtual().name("sse-" + key).start(() -> subscriber.drain(unregister));
+        return subscriber;
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<LoanStatusChangedEvent> buffer;
+        private volatile Thread sender;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, BlockingQueue<LoanStatusChangedEvent> buffer) {
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+
+        private void offer(LoanStatusChangedEvent event) {
+            while (!buffer.offer(event)) {
+                if (buffer.poll() != null) {
+                    droppedCounter.increment();
+                }
+            }
+        }
+
+        private void drain(Runnable unregister) {
+            try {
+                while (!closed.get()) {
+                    LoanStatusChangedEvent event = buffer.poll(heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        emitter.send(SseEmitter.event().comment("keepalive"));
+                        continue;
+                    }
+                    emitter.send(SseEmitter.event()
+                            .name(STATUS_EVENT_NAME)
+                            .id(event.applicationId() + ":" + event.status())
+                            .data(event));
+                    deliveredCounter.increment();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.debug("Assinante SSE desconectado: {}", e.getMessage());
+                unregister.run();
+            }
+        }
+
+        private boolean close() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            Thread thread = sender;
+            if (thread != null) {
+                thread.interrupt();
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package bank.pf.service;
+
+import bank.pf.dto.event.LoanStatusChangedEvent;
+import bank.pf.entity.LoanApplication;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Um único change stream por réplica alimenta todos os assinantes SSE. Requer MongoDB em replica set.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.status-stream.source", havingValue = LoanStatusBroadcaster.SOURCE_CHANGE_STREAM)
+public class LoanStatusChangeStreamListener {
+
+    private static final String LOAN_APPLICATIONS_COLLECTION = "loan_applications";
+
+    private final MongoTemplate mongoTemplate;
+    private final LoanStatusBroadcaster loanStatusBroadcaster;
+
+    private MessageListenerContainer container;
+
+    @PostConstruct
+    public void start() {
+        Criteria statusChanged = new Criteria().orOperator(
+                where("operationType").in("insert", "replace"),
+                where("updateDescription.updatedFields.status").exists(true));
+
+        ChangeStreamRequest<LoanApplication> request = ChangeStreamRequest.builder(this::onChange)
+                .collection(LOAN_APPLICATIONS_COLLECTION)
+                .filter(Aggregation.newAggregation(Aggregation.match(statusChanged)))
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP)
+                .build();
+
+        container = new DefaultMessageListenerContainer(mongoTemplate);
+        container.register(request, LoanApplication.class,
+                error -> log.error("Erro no change stream de {}: {}", LOAN_APPLICATIONS_COLLECTION, error.getMessage()));
+        container.start();
+        log.info("Change stream de status iniciado na coleção {}", LOAN_APPLICATIONS_COLLECTION);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    private void onChange(Message<ChangeStreamDocument<Document>, LoanApplication> message) {
+        LoanApplication loanApplication = message.getBody();
+        if (loanApplication != null && loanApplication.getStatus() != null) {
+            loanStatusBroadcaster.publish(LoanStatusChangedEvent.valueOf(loanApplication));
+        }
+    }
+}
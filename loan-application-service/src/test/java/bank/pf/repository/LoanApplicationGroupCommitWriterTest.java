@@ -0,0 +1,157 @@
+package bank.pf.repository;
+
+import bank.pf.entity.LoanApplication;
+import bank.pf.enums.LoanStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoanApplicationGroupCommitWriterTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private LoanApplicationRepository loanApplicationRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoanApplicationGroupCommitWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new LoanApplicationGroupCommitWriter(mongoTemplate, loanApplicationRepository, meterRegistry);
+        ReflectionTestUtils.setField(writer, "enabled", true);
+        ReflectionTestUtils.setField(writer, "maxBatchSize", 10);
+        ReflectionTestUtils.setField(writer, "maxDelayMillis", 200L);
+        ReflectionTestUtils.setField(writer, "queueCapacity", 100);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.stop();
+    }
+
+    @Test
+    void shouldFlushConcurrentInsertsAsSingleInsertMany() throws Exception {
+        // Given
+        givenMongoTemplateInsertSucceeds();
+        writer.start();
+
+        // When
+        List<CompletableFuture<LoanApplication>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(writer.insert(givenLoanApplication()));
+        }
+
+        // Then
+        for (CompletableFuture<LoanApplication> future : futures) {
+            assertThat(future.get(2, TimeUnit.SECONDS).getStatus()).isEqualTo(LoanStatus.PENDING_ASSESSMENT);
+        }
+        verify(mongoTemplate, times(1)).insert(argThat((Collection<LoanApplication> batch) -> batch.size() == 10), eq(LoanApplication.class));
+        verify(loanApplicationRepository, never()).save(any());
+        assertThat(meterRegistry.get("loan.mongo.group-commit.batch.size").summary().max()).isEqualTo(10);
+        assertThat(meterRegistry.get("loan.mongo.group-commit.flushes").tag("trigger", "size").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFlushPartialBatchWhenMaxDelayExpires() throws Exception {
+        // Given
+        givenMongoTemplateInsertSucceeds();
+        writer.start();
+
+        // When
+        LoanApplication saved = writer.insert(givenLoanApplication()).get(2, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(saved).isNotNull();
+        assertThat(meterRegistry.get("loan.mongo.group-commit.flushes").tag("trigger", "delay").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRewriteDocumentsIndividuallyWhenBatchFails() throws Exception {
+        // Given
+        LoanApplication duplicated = givenLoanApplication();
+        LoanApplication valid = givenLoanApplication();
+        when(mongoTemplate.insert(anyCollection(), eq(LoanApplication.class))).thenThrow(new DuplicateKeyException("E11000"));
+        when(loanApplicationRepository.save(duplicated)).thenThrow(new DuplicateKeyException("E11000"));
+        when(loanApplicationRepository.save(valid)).thenReturn(valid);
+        writer.start();
+
+        // When
+        CompletableFuture<LoanApplication> duplicatedFuture = writer.insert(duplicated);
+        CompletableFuture<LoanApplication> validFuture = writer.insert(valid);
+
+        // Then
+        assertThat(validFuture.get(2, TimeUnit.SECONDS)).isSameAs(valid);
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> duplicatedFuture.get(2, TimeUnit.SECONDS));
+        assertThat(exception.getCause()).isInstanceOf(DuplicateKeyException.class);
+        assertThat(meterRegistry.get("loan.mongo.group-commit.fallbacks").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSaveDirectlyWhenWriterIsNotRunning() throws Exception {
+        // Given
+        LoanApplication loanApplication = givenLoanApplication();
+        when(loanApplicationRepository.save(loanApplication)).thenReturn(loanApplication);
+
+        // When
+        LoanApplication saved = writer.insert(loanApplication).get();
+
+        // Then
+        assertThat(saved).isSameAs(loanApplication);
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void shouldSaveWritesLeftInTheQueueWhenStopping() throws Exception {
+        // Given: o flusher já saiu e uma gravação concorrente chegou a ser enfileirada
+        LoanApplication loanApplication = givenLoanApplication();
+        when(loanApplicationRepository.save(loanApplication)).thenReturn(loanApplication);
+        writer.start();
+        writer.stop();
+        ReflectionTestUtils.setField(writer, "running", true);
+        CompletableFuture<LoanApplication> future = writer.insert(loanApplication);
+
+        // When
+        writer.stop();
+
+        // Then
+        assertThat(future.get(2, TimeUnit.SECONDS)).isSameAs(loanApplication);
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private void givenMongoTemplateInsertSucceeds() {
+        when(mongoTemplate.insert(anyCollection(), eq(LoanApplication.class)))
+                .thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<LoanApplication>>getArgument(0)));
+    }
+
+    private LoanApplication givenLoanApplication() {
+        return LoanApplication.builder()
+                .id(UUID.randomUUID().toString())
+                .cpf("12345678901")
+                .status(LoanStatus.PENDING_ASSESSMENT)
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package bank.pf.repository;
+
+import bank.pf.dto.event.LoanDecisionMadeEvent;
+import bank.pf.entity.LoanApplication;
+import bank.pf.enums.LoanStatus;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoanDecisionBulkWriterTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoanDecisionBulkWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new LoanDecisionBulkWriter(mongoTemplate, meterRegistry);
+        ReflectionTestUtils.invokeMethod(writer, "initMetrics");
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LoanApplication.class)).thenReturn(bulkOperations);
+    }
+
+    @Test
+    void shouldApplyAllDecisionsInSingleUnorderedBulkWrite() {
+        // Given
+        LoanDecisionMadeEvent approved = givenDecision("app-1", LoanStatus.APPROVED,
+                new LoanDecisionMadeEvent.LoanTerms(new BigDecimal("10000.00"), new BigDecimal("0.0199"), 24, new BigDecimal("512.30")));
+        LoanDecisionMadeEvent rejected = givenDecision("app-2", LoanStatus.REJECTED, null);
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(0, 2, 0, 1, List.of(), List.of()));
+
+        // When
+        BulkWriteResult result = writer.applyDecisions(List.of(approved, rejected));
+
+        // Then
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, times(2)).updateOne(queryCaptor.capture(), updateCaptor.capture());
+        verify(bulkOperations, times(1)).execute();
+
+        assertThat(queryCaptor.getAllValues().get(0).getQueryObject().get("_id")).isEqualTo("app-1");
+        Document approvedSet = (Document) updateCaptor.getAllValues().get(0).getUpdateObject().get("$set");
+        assertThat(approvedSet).containsEntry("status", LoanStatus.APPROVED)
+                .containsEntry("approvedInstallments", 24)
+                .containsKey("updatedAt");
+        Document rejectedSet = (Document) updateCaptor.getAllValues().get(1).getUpdateObject().get("$set");
+        assertThat(rejectedSet).containsEntry("rejectionReason", "reason")
+                .containsEntry("reasonCodes", 1L << 3)
+                .containsEntry("reasonParameters", Map.of("BUREAU_SCORE", 420))
+                .doesNotContainKey("amountApproved");
+
+        assertThat(result.getModifiedCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("loan.decision.bulk.applied").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("loan.decision.bulk.skipped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotOverwriteApplicationsAlreadyPastDecision() {
+        // Given
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()));
+
+        // When
+        writer.applyDecisions(List.of(givenDecision("app-1", LoanStatus.APPROVED, null)));
+
+        // Then
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        verify(bulkOperations).updateOne(queryCaptor.capture(), any(Update.class));
+        Document statusFilter = (Document) queryCaptor.getValue().getQueryObject().get("status");
+        assertThat(statusFilter.get("$nin")).isEqualTo(LoanDecisionBulkWriter.POST_DECISION_STATUSES);
+    }
+
+    private LoanDecisionMadeEvent givenDecision(String applicationId, LoanStatus decision, LoanDecisionMadeEvent.LoanTerms terms) {
+        return new LoanDecisionMadeEvent("evt-" + applicationId, LocalDateTime.now(), applicationId,
+                "12345678901", "test@example.com", decision, "reason", 1L << 3, Map.of("BUREAU_SCORE", 420), terms);
+    }
+}
@@ -0,0 +1,95 @@
+package bank.pf.service;
+
+import bank.pf.entity.LoanApplication;
+import bank.pf.enums.LoanStatus;
+import bank.pf.repository.LoanApplicationArchive;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoanApplicationArchivalServiceTest {
+
+    @Mock
+    private LoanApplicationArchive loanApplicationArchive;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoanApplicationArchivalService archivalService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        archivalService = new LoanApplicationArchivalService(loanApplicationArchive, meterRegistry);
+        ReflectionTestUtils.setField(archivalService, "enabled", true);
+        ReflectionTestUtils.setField(archivalService, "minAge", Duration.ofDays(90));
+        ReflectionTestUtils.setField(archivalService, "batchSize", 2);
+        ReflectionTestUtils.setField(archivalService, "maxBatchesPerRun", 3);
+        ReflectionTestUtils.setField(archivalService, "throttleMillis", 0L);
+        ReflectionTestUtils.invokeMethod(archivalService, "initMetrics");
+    }
+
+    @Test
+    void shouldMoveBatchesUntilHotCollectionIsDrained() {
+        // Given
+        when(loanApplicationArchive.findArchivable(any(Instant.class), eq(2)))
+                .thenReturn(givenFinalizedApplications(2), givenFinalizedApplications(1));
+        when(loanApplicationArchive.moveToArchive(anyList())).thenAnswer(invocation -> (long) invocation.<List<?>>getArgument(0).size());
+
+        // When
+        archivalService.archiveFinalizedApplications();
+
+        // Then
+        verify(loanApplicationArchive, times(2)).moveToArchive(anyList());
+        assertThat(meterRegistry.get("loan.archival.documents").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldStopAtMaxBatchesPerRun() {
+        // Given
+        when(loanApplicationArchive.findArchivable(any(Instant.class), eq(2))).thenAnswer(invocation -> givenFinalizedApplications(2));
+        when(loanApplicationArchive.moveToArchive(anyList())).thenReturn(2L);
+
+        // When
+        archivalService.archiveFinalizedApplications();
+
+        // Then
+        verify(loanApplicationArchive, times(3)).moveToArchive(anyList());
+    }
+
+    @Test
+    void shouldUseConfiguredMinimumAgeAsCutoff() {
+        // Given
+        when(loanApplicationArchive.findArchivable(any(Instant.class), eq(2))).thenReturn(List.of());
+
+        // When
+        archivalService.archiveFinalizedApplications();
+
+        // Then
+        verify(loanApplicationArchive).findArchivable(argThat(cutoff -> cutoff.isBefore(Instant.now().minus(Duration.ofDays(89)))), eq(2));
+        verify(loanApplicationArchive, never()).moveToArchive(anyList());
+    }
+
+    private List<LoanApplication> givenFinalizedApplications(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> LoanApplication.builder()
+                        .id(UUID.randomUUID().toString())
+                        .status(LoanStatus.REJECTED)
+                        .updatedAt(Instant.now().minus(Duration.ofDays(120)))
+                        .build())
+                .toList();
+    }
+}
@@ -1,6 +1,7 @@
 package bank.pf.service;
 
 import bank.pf.dto.event.LoanApplicationReceivedEvent;
+import bank.pf.dto.event.LoanDecisionMadeEvent;
 import bank.pf.dto.request.LoanApplicationRequest;
 import bank.pf.dto.request.UpdateLoanStatusRequest;
 import bank.pf.dto.response.AccountValidationResponse;
@@ -11,7 +12,11 @@ import bank.pf.enums.LoanStatus;
 import bank.pf.exception.ApplicationNotFoundException;
 import bank.pf.exception.EventPublishingFailedException;
 import bank.pf.exception.ValidationException;
+import bank.pf.repository.LoanApplicationArchive;
+import bank.pf.repository.LoanApplicationGroupCommitWriter;
 import bank.pf.repository.LoanApplicationRepository;
+import bank.pf.repository.LoanDecisionBulkWriter;
+import com.mongodb.bulk.BulkWriteResult;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -22,8 +27,13 @@ import org.springframework.kafka.support.SendResult;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -49,6 +59,18 @@ class LoanApplicationServiceTest {
     @Mock
     private ExternalValidationService externalValidationService;
 
+    @Mock
+    private LoanApplicationGroupCommitWriter loanApplicationGroupCommitWriter;
+
+    @Mock
+    private LoanApplicationArchive loanApplicationArchive;
+
+    @Mock
+    private LoanStatusBroadcaster loanStatusBroadcaster;
+
+    @Mock
+    private LoanDecisionBulkWriter loanDecisionBulkWriter;
+
     private LoanApplicationRequest loanApplicationRequest;
     private LoanApplication loanApplication;
     private UpdateLoanStatusRequest updateLoanStatusRequest;
@@ -80,6 +102,27 @@ class LoanApplicationServiceTest {
         verify(kafkaTemplate).send(any(), any(), any(LoanApplicationReceivedEvent.class));
     }
 
+    @Test
+    void shouldSubmitApplicationThroughGroupCommitWriterWhenEnabled() throws ValidationException, ExecutionException, InterruptedException {
+        // Given
+        givenLoanApplicationRequest();
+        givenCpfValidationFutureReturnsValid();
+        givenAccountValidationFutureReturnsActive();
+        givenInternalRestrictFutureReturnsNoRestriction();
+        givenGroupCommitWriterInsert();
+        givenKafkaTemplateSendReturnsSuccess();
+        givenLoanApplicationReceivedTopic();
+
+        // When
+        String applicationId = loanApplicationService.submitApplication(loanApplicationRequest);
+
+        // Then
+        assertThat(applicationId).isEqualTo(loanApplication.getId());
+        verify(loanApplicationGroupCommitWriter).insert(argThat(app -> app.getStatus() == LoanStatus.PENDING_ASSESSMENT));
+        verify(loanApplicationRepository, never()).save(any());
+        verify(kafkaTemplate).send(any(), any(), any(LoanApplicationReceivedEvent.class));
+    }
+
     @Test
     void shouldNotSubmitApplicationWhenAgeIsLessThan18() throws ExecutionException, InterruptedException {
         // Given
@@ -215,6 +258,7 @@ class LoanApplicationServiceTest {
                 app.getStatus() == updateLoanStatusRequest.status() &&
                         app.getRejectionReason() == null
         ));
+        verify(loanStatusBroadcaster).onStatusPersisted(argThat(app -> app.getStatus() == updateLoanStatusRequest.status()));
     }
 
     @Test
@@ -230,7 +274,9 @@ class LoanApplicationServiceTest {
         verify(loanApplicationRepository).findById(updateLoanStatusRequest.applicationId());
         verify(loanApplicationRepository).save(argThat(app ->
                 app.getStatus() == LoanStatus.REJECTED &&
-                        app.getRejectionReason().equals(updateLoanStatusRequest.reason())
+                        app.getRejectionReason().equals(updateLoanStatusRequest.reason()) &&
+                        app.getReasonCodes() == 1L << 3 &&
+                        app.getReasonParameters().equals(Map.of("BUREAU_SCORE", 420))
         ));
     }
 
@@ -266,7 +312,79 @@ class LoanApplicationServiceTest {
         verify(loanApplicationRepository, never()).save(any());
     }
 
+    @Test
+    void shouldFindApplicationInHotCollection() throws ApplicationNotFoundException {
+        // Given
+        givenUpdateLoanStatusRequest();
+        givenLoanApplicationRepositoryFindByIdReturnsLoanApplication();
+
+        // When
+        LoanApplication found = loanApplicationService.findApplication(updateLoanStatusRequest.applicationId());
+
+        // Then
+        assertThat(found).isSameAs(loanApplication);
+        verifyNoInteractions(loanApplicationArchive);
+    }
+
+    @Test
+    void shouldFallBackToArchiveWhenApplicationIsNotInHotCollection() throws ApplicationNotFoundException {
+        // Given
+        givenUpdateLoanStatusRequest();
+        givenLoanApplicationRepositoryFindByIdReturnsEmpty();
+        givenLoanApplicationArchiveFindByIdReturnsArchivedApplication();
+
+        // When
+        LoanApplication found = loanApplicationService.findApplication(updateLoanStatusRequest.applicationId());
+
+        // Then
+        assertThat(found.getStatus()).isEqualTo(LoanStatus.APPROVED);
+        verify(loanApplicationArchive).findById(updateLoanStatusRequest.applicationId());
+    }
+
+    @Test
+    void shouldThrowApplicationNotFoundExceptionWhenApplicationIsNotInHotOrArchive() {
+        // Given
+        givenUpdateLoanStatusRequest();
+        givenLoanApplicationRepositoryFindByIdReturnsEmpty();
+        when(loanApplicationArchive.findById(updateLoanStatusRequest.applicationId())).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThrows(ApplicationNotFoundException.class, () -> loanApplicationService.findApplication(updateLoanStatusRequest.applicationId()));
+    }
+
     // Given methods
+    @Test
+    void shouldApplyOnlyLatestDecisionPerApplicationInBulk() {
+        // Given
+        LoanDecisionMadeEvent pendingReview = givenLoanDecisionMadeEvent("app-1", LoanStatus.PENDING_MANUAL_REVIEW);
+        LoanDecisionMadeEvent approved = givenLoanDecisionMadeEvent("app-1", LoanStatus.APPROVED);
+        LoanDecisionMadeEvent rejected = givenLoanDecisionMadeEvent("app-2", LoanStatus.REJECTED);
+        LoanDecisionMadeEvent invalid = givenLoanDecisionMadeEvent(null, LoanStatus.APPROVED);
+        when(loanDecisionBulkWriter.applyDecisions(any())).thenReturn(BulkWriteResult.acknowledged(0, 2, 0, 2, List.of(), List.of()));
+
+        // When
+        loanApplicationService.applyLoanDecisions(List.of(pendingReview, approved, rejected, invalid));
+
+        // Then
+        verify(loanDecisionBulkWriter).applyDecisions(argThat((Collection<LoanDecisionMadeEvent> batch) ->
+                batch.size() == 2 && batch.contains(approved) && batch.contains(rejected)));
+        verify(loanStatusBroadcaster, times(2)).publishIfUpdatePath(any());
+    }
+
+    @Test
+    void shouldNotCallBulkWriterWhenBatchHasNoValidDecision() {
+        // When
+        loanApplicationService.applyLoanDecisions(List.of(givenLoanDecisionMadeEvent(null, LoanStatus.APPROVED)));
+
+        // Then
+        verifyNoInteractions(loanDecisionBulkWriter, loanStatusBroadcaster);
+    }
+
+    private LoanDecisionMadeEvent givenLoanDecisionMadeEvent(String applicationId, LoanStatus decision) {
+        return new LoanDecisionMadeEvent(UUID.randomUUID().toString(), LocalDateTime.now(), applicationId,
+                "12345678901", "test@example.com", decision, "reason", 0L, null, null);
+    }
+
     private void givenLoanApplicationRequest() {
         loanApplicationRequest = new LoanApplicationRequest(
                 "12345678901",
@@ -347,6 +465,13 @@ class LoanApplicationServiceTest {
         when(loanApplicationRepository.save(any(LoanApplication.class))).thenReturn(loanApplication);
     }
 
+    private void givenGroupCommitWriterInsert() {
+        loanApplication = LoanApplication.valueOf(loanApplicationRequest);
+        loanApplication.setStatus(LoanStatus.PENDING_ASSESSMENT);
+        when(loanApplicationGroupCommitWriter.isEnabled()).thenReturn(true);
+        when(loanApplicationGroupCommitWriter.insert(any(LoanApplication.class))).thenReturn(CompletableFuture.completedFuture(loanApplication));
+    }
+
     private void givenKafkaTemplateSendReturnsSuccess() throws ExecutionException, InterruptedException {
         SendResult<String, LoanApplicationReceivedEvent> sendResult = mock(SendResult.class, RETURNS_DEEP_STUBS);
         sendResultFuture = CompletableFuture.completedFuture(sendResult);
@@ -361,6 +486,7 @@ class LoanApplicationServiceTest {
 
     private void givenLoanApplicationReceivedTopic() {
         ReflectionTestUtils.setField(loanApplicationService, "loanApplicationReceivedTopic", "loan-application-received");
+        ReflectionTestUtils.setField(loanApplicationService, "groupCommitWriteTimeout", Duration.ofSeconds(10));
     }
 
     private void givenUpdateLoanStatusRequest() {
@@ -368,6 +494,8 @@ class LoanApplicationServiceTest {
                 UUID.randomUUID().toString(),
                 LoanStatus.PENDING_MANUAL_REVIEW,
                 "Reason for manual review",
+                0L,
+                null,
                 new BigDecimal("5000.00"),
                 new BigDecimal("0.05"),
                 12,
@@ -380,6 +508,8 @@ class LoanApplicationServiceTest {
                 UUID.randomUUID().toString(),
                 LoanStatus.REJECTED,
                 "Renda insuficiente para o valor solicitado",
+                1L << 3,
+                Map.of("BUREAU_SCORE", 420),
                 new BigDecimal("0.00"),
                 new BigDecimal("0.00"),
                 0,
@@ -392,6 +522,8 @@ class LoanApplicationServiceTest {
                 UUID.randomUUID().toString(),
                 LoanStatus.APPROVED,
                 "",
+                0L,
+                null,
                 new BigDecimal("4500.00"),
                 new BigDecimal("0.05"),
                 12,
@@ -414,6 +546,16 @@ class LoanApplicationServiceTest {
         when(loanApplicationRepository.findById(updateLoanStatusRequest.applicationId())).thenReturn(Optional.of(loanApplication));
     }
 
+    private void givenLoanApplicationArchiveFindByIdReturnsArchivedApplication() {
+        loanApplication = LoanApplication.builder()
+                .id(updateLoanStatusRequest.applicationId())
+                .cpf("12345678901")
+                .status(LoanStatus.APPROVED)
+                .createdAt(Instant.now().minusSeconds(86400 * 120))
+                .build();
+        when(loanApplicationArchive.findById(updateLoanStatusRequest.applicationId())).thenReturn(Optional.of(loanApplication));
+    }
+
     private void givenLoanApplicationRepositoryFindByIdReturnsEmpty() {
         when(loanApplicationRepository.findById(updateLoanStatusRequest.applicationId())).thenReturn(Optional.empty());
     }
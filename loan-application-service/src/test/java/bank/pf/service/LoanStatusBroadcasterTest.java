@@ -0,0 +1,65 @@
+package bank.pf.service;
+
+import bank.pf.dto.event.LoanStatusChangedEvent;
+import bank.pf.entity.LoanApplication;
+import bank.pf.enums.LoanStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoanStatusBroadcasterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoanStatusBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        broadcaster = new LoanStatusBroadcaster(meterRegistry);
+        ReflectionTestUtils.setField(broadcaster, "source", LoanStatusBroadcaster.SOURCE_UPDATE_PATH);
+        ReflectionTestUtils.setField(broadcaster, "bufferSize", 4);
+        ReflectionTestUtils.setField(broadcaster, "emitterTimeoutMillis", 60000L);
+        ReflectionTestUtils.setField(broadcaster, "heartbeatIntervalMillis", 60000L);
+        ReflectionTestUtils.invokeMethod(broadcaster, "initMetrics");
+    }
+
+    @Test
+    void shouldRegisterSubscribersAndCountPublishedTransitions() {
+        // Given
+        broadcaster.subscribeToApplication(givenLoanApplication("app-1", LoanStatus.PENDING_ASSESSMENT));
+        broadcaster.subscribeToCpf("12345678901");
+
+        // When
+        broadcaster.onStatusPersisted(givenLoanApplication("app-1", LoanStatus.APPROVED));
+
+        // Then
+        assertThat(meterRegistry.get("loan.status.stream.subscribers").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("loan.status.stream.published").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldIgnoreUpdatePathWhenSourceIsChangeStream() {
+        // Given
+        ReflectionTestUtils.setField(broadcaster, "source", LoanStatusBroadcaster.SOURCE_CHANGE_STREAM);
+
+        // When
+        broadcaster.onStatusPersisted(givenLoanApplication("app-1", LoanStatus.APPROVED));
+        broadcaster.publish(new LoanStatusChangedEvent("app-1", null, LoanStatus.APPROVED, Instant.now()));
+
+        // Then
+        assertThat(meterRegistry.get("loan.status.stream.published").counter().count()).isEqualTo(1);
+    }
+
+    private LoanApplication givenLoanApplication(String id, LoanStatus status) {
+        return LoanApplication.builder()
+                .id(id)
+                .cpf("12345678901")
+                .status(status)
+                .build();
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Builder
 public record CreditAssessmentCompletedEvent(
@@ -14,7 +15,9 @@ public record CreditAssessmentCompletedEvent(
         String cpf,
         String email,
         AssessmentStatus finalAssessmentStatus,
-        String justification,
+        // Bitset do enum ReasonCode do credit-assessment-service, repassado sem alteração ao LoanDecisionMadeEvent
+        long reasonCodes,
+        Map<String, Integer> reasonParameters,
         Integer creditScoreUsed,
         Integer antiFraudScoreUsed,
         BigDecimal approvedLimit,
@@ -8,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @Builder
@@ -21,6 +22,9 @@ public class LoanDecisionMadeEvent {
     private String email;
     private LoanDecision decision;
     private String reason;
+    // Motivos da análise de crédito como recebidos; só os serviços que notificam o cliente os convertem em texto
+    private long reasonCodes;
+    private Map<String, Integer> reasonParameters;
     private LoanTerms terms;
 
 }
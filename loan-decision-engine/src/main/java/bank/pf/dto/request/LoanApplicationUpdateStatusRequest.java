@@ -4,12 +4,15 @@ import bank.pf.enums.LoanDecision;
 import lombok.Builder;
 
 import java.math.BigDecimal;
+import java.util.Map;
 
 @Builder
 public record LoanApplicationUpdateStatusRequest(
         String applicationId,
         LoanDecision status,
         String reason,
+        long reasonCodes,
+        Map<String, Integer> reasonParameters,
         BigDecimal amountApproved,
         BigDecimal interestRate,
         Integer installments,
@@ -25,6 +25,8 @@ public class CreditAssessmentEventConsumer {
             log.info("Successfully processed decision for application ID: {}", creditAssessmentCompletedEvent.applicationId());
         } catch (Exception e) {
             log.error("Error processing CreditAssessmentCompletedEvent for application ID {}: {}", creditAssessmentCompletedEvent.applicationId(), e.getMessage());
+            // Propagada para o error handler do container, que reprocessa o registro em vez de confirmar o offset
+            throw e;
         }
     }
 }
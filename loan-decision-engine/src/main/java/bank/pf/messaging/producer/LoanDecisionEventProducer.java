@@ -8,7 +8,10 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.CompletableFuture;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Component
@@ -18,23 +21,28 @@ public class LoanDecisionEventProducer {
     @Value("${app.kafka.topics.loan-decision-made}")
     private String topicName;
 
+    @Value("${app.kafka.loan-decision-made.send-timeout:10s}")
+    private Duration sendTimeout;
+
     private final KafkaTemplate<String, LoanDecisionMadeEvent> kafkaTemplate;
 
+    // Aguarda a confirmação do broker: o loan-application-service aplica a decisão a partir deste tópico, então uma
+    // falha de envio precisa chegar a quem chamou em vez de ficar só no log.
     public void sendLoanDecisionMadeEvent(LoanDecisionMadeEvent loanDecisionMadeEvent) {
+        String applicationId = loanDecisionMadeEvent.getApplicationId();
+        log.info("Sending LoanDecisionMadeEvent for applicationId: {} to topic: {}", applicationId, topicName);
         try {
-            log.info("Sending LoanDecisionMadeEvent for applicationId: {} to topic: {}", loanDecisionMadeEvent.getApplicationId(), topicName);
-            CompletableFuture<SendResult<String, LoanDecisionMadeEvent>> future =
-                    kafkaTemplate.send(topicName, loanDecisionMadeEvent.getApplicationId(), loanDecisionMadeEvent);
-
-            future.whenComplete((result, ex) -> {
-                if (ex == null) {
-                    log.info("Successfully sent LoanDecisionMadeEvent: {} with offset: {}", loanDecisionMadeEvent.getApplicationId(), result.getRecordMetadata().offset());
-                } else {
-                    log.error("Failed to send LoanDecisionMadeEvent for applicationId {}: {}", loanDecisionMadeEvent.getApplicationId(), ex.getMessage(), ex);
-                }
-            });
-        } catch (Exception e) {
-            log.error("Exception occurred while sending LoanDecisionMadeEvent for applicationId {}: {}", loanDecisionMadeEvent.getApplicationId(), e.getMessage(), e);
+            SendResult<String, LoanDecisionMadeEvent> result = kafkaTemplate.send(topicName, applicationId, loanDecisionMadeEvent)
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            log.info("Successfully sent LoanDecisionMadeEvent: {} with offset: {}", applicationId, result.getRecordMetadata().offset());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending LoanDecisionMadeEvent for applicationId " + applicationId, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to send LoanDecisionMadeEvent for applicationId " + applicationId, e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("No acknowledgement for LoanDecisionMadeEvent of applicationId " + applicationId
+                    + " within " + sendTimeout, e);
         }
     }
 }
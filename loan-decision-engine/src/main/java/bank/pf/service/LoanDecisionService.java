@@ -9,19 +9,20 @@ import bank.pf.dto.request.LoanApplicationUpdateStatusRequest;
 import bank.pf.enums.LoanDecision;
 import bank.pf.messaging.producer.LoanDecisionEventProducer;
 import bank.pf.service.strategy.LoanDecisionStrategyContext;
+import bank.pf.util.TimeOrderedIdGenerator;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 @Slf4j
 @Service
@@ -33,7 +34,13 @@ public class LoanDecisionService {
     private final MeterRegistry meterRegistry;
     private final LoanDecisionStrategyContext strategyContext;
 
+    // O loan-application-service aplica o status consumindo o LoanDecisionMadeEvent. O callback REST só é
+    // necessário enquanto houver instâncias antigas que não consomem o tópico, ou quando o envio do evento falha.
+    @Value("${app.loan-application-service.rest-status-update-enabled:false}")
+    private boolean restStatusUpdateEnabled;
+
     private Counter apiUpdateFailureCounter;
+    private Counter publishFailureCounter;
     private Timer apiUpdateTimer;
 
     @PostConstruct
@@ -42,6 +49,10 @@ public class LoanDecisionService {
                 .description("Number of failures when updating loan status via API after retries")
                 .register(meterRegistry);
 
+        this.publishFailureCounter = Counter.builder("loan.decision.publish.failures")
+                .description("LoanDecisionMadeEvent sends that failed and fell back to the REST status update")
+                .register(meterRegistry);
+
         this.apiUpdateTimer = Timer.builder("loan.api.update.duration")
                 .description("Duration of the loan status API update call")
                 .publishPercentiles(0.5, 0.95, 0.99)
@@ -60,17 +71,31 @@ public class LoanDecisionService {
         String reason = decisionResult.reason();
 
         LoanDecisionMadeEvent decisionEvent = createDecisionEvent(creditAssessmentCompletedEvent, finalDecision, reason, finalTerms);
-        loanDecisionEventProducer.sendLoanDecisionMadeEvent(decisionEvent);
+        boolean published = publishDecision(decisionEvent);
 
-        LoanApplicationUpdateStatusRequest updateRequest = createUpdateRequest(
-                creditAssessmentCompletedEvent.applicationId(), finalDecision, reason, finalTerms);
+        if (restStatusUpdateEnabled || !published) {
+            LoanApplicationUpdateStatusRequest updateRequest = createUpdateRequest(
+                    creditAssessmentCompletedEvent, finalDecision, reason, finalTerms);
 
-        updateLoanApplicationStatus(creditAssessmentCompletedEvent.applicationId(), updateRequest);
+            updateLoanApplicationStatus(creditAssessmentCompletedEvent.applicationId(), updateRequest, !published);
+        }
 
         decisionTimerSample.stop(meterRegistry.timer("loan.decision.processing.duration", "decision", finalDecision.name()));
     }
 
 
+    private boolean publishDecision(LoanDecisionMadeEvent decisionEvent) {
+        try {
+            loanDecisionEventProducer.sendLoanDecisionMadeEvent(decisionEvent);
+            return true;
+        } catch (RuntimeException e) {
+            publishFailureCounter.increment();
+            log.error("Could not publish LoanDecisionMadeEvent for applicationId {}: {}. Applying the status via the REST callback.",
+                    decisionEvent.getApplicationId(), e.getMessage());
+            return false;
+        }
+    }
+
     private DecisionResult determineLoanDecision(CreditAssessmentCompletedEvent completedEvent) {
         return strategyContext.determineDecision(completedEvent);
     }
@@ -78,19 +103,21 @@ public class LoanDecisionService {
     private LoanDecisionMadeEvent createDecisionEvent(CreditAssessmentCompletedEvent completedEvent, LoanDecision loanDecision,
                                                       String reason, LoanTerms loanTerms) {
         return LoanDecisionMadeEvent.builder()
-                .eventId(UUID.randomUUID().toString())
+                .eventId(TimeOrderedIdGenerator.nextId())
                 .eventTimestamp(LocalDateTime.now())
                 .applicationId(completedEvent.applicationId())
                 .cpf(completedEvent.cpf())
                 .email(completedEvent.email())
                 .decision(loanDecision)
                 .reason(reason)
+                .reasonCodes(completedEvent.reasonCodes())
+                .reasonParameters(completedEvent.reasonParameters())
                 .terms(loanTerms)
                 .build();
     }
 
-    private LoanApplicationUpdateStatusRequest createUpdateRequest(String applicationId, LoanDecision loanDecision,
-                                                                   String reason, LoanTerms loanTerms) {
+    private LoanApplicationUpdateStatusRequest createUpdateRequest(CreditAssessmentCompletedEvent completedEvent,
+                                                                   LoanDecision loanDecision, String reason, LoanTerms loanTerms) {
         String decisionDetailsForUpdate = reason;
         if (loanDecision == LoanDecision.APPROVED && loanTerms != null) {
             decisionDetailsForUpdate = String.format("Approved. Amount: %.2f, Rate: %.4f, Installments: %d. %s",
@@ -98,9 +125,11 @@ public class LoanDecisionService {
         }
 
         return LoanApplicationUpdateStatusRequest.builder()
-                .applicationId(applicationId)
+                .applicationId(completedEvent.applicationId())
                 .status(loanDecision)
                 .reason(decisionDetailsForUpdate)
+                .reasonCodes(completedEvent.reasonCodes())
+                .reasonParameters(completedEvent.reasonParameters())
                 .amountApproved(loanTerms != null ? loanTerms.getApprovedAmount() : null)
                 .interestRate(loanTerms != null ? loanTerms.getInterestRate() : null)
                 .installmentValue(loanTerms != null ? loanTerms.getInstallmentAmount() : null)
@@ -108,15 +137,22 @@ public class LoanDecisionService {
                 .build();
     }
 
-    private void updateLoanApplicationStatus(String applicationId, LoanApplicationUpdateStatusRequest updateStatusRequest) {
+    // Sem o evento publicado, o callback é o único caminho da decisão: a falha é propagada para que o listener
+    // reprocesse o CreditAssessmentCompletedEvent em vez de confirmar o offset.
+    private void updateLoanApplicationStatus(String applicationId, LoanApplicationUpdateStatusRequest updateStatusRequest,
+                                             boolean onlyPath) {
         try {
             long startTime = System.nanoTime();
             callUpdateLoanApplicationStatusApi(applicationId, updateStatusRequest);
             apiUpdateTimer.record(System.nanoTime() - startTime, java.util.concurrent.TimeUnit.NANOSECONDS);
         } catch (Exception e) {
             apiUpdateFailureCounter.increment();
-            log.error("CRITICAL: All retries failed to update status via API for applicationId {}. Event published, but API update failed. Reason: {}. Manual intervention may be required.",
-                    applicationId, e.getMessage());
+            log.error("CRITICAL: All retries failed to update status via API for applicationId {}. Event {}, and API update failed. Reason: {}. Manual intervention may be required.",
+                    applicationId, onlyPath ? "not published" : "published", e.getMessage());
+            if (onlyPath) {
+                throw new IllegalStateException("Decision for applicationId " + applicationId
+                        + " was neither published nor applied via the REST callback", e);
+            }
             // A reconciliação é a próxima etapa para esse tipo de falha.
         }
     }
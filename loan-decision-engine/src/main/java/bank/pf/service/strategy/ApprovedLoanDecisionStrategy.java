@@ -28,11 +28,11 @@ public class ApprovedLoanDecisionStrategy implements LoanDecisionStrategy {
     }
 
     @Override
-    public DecisionResult makeDecision(CreditAssessmentCompletedEvent completedEvent, String initialReason, MeterRegistry meterRegistry) {
+    public DecisionResult makeDecision(CreditAssessmentCompletedEvent completedEvent, MeterRegistry meterRegistry) {
         if (hasInvalidTerms(completedEvent)) {
             return handleInvalidApprovedTerms(completedEvent, meterRegistry);
         } else {
-            return handleValidApprovedTerms(completedEvent, initialReason, meterRegistry);
+            return handleValidApprovedTerms(completedEvent, meterRegistry);
         }
     }
 
@@ -56,14 +56,14 @@ public class ApprovedLoanDecisionStrategy implements LoanDecisionStrategy {
         return new DecisionResult(LoanDecision.PENDING_MANUAL_REVIEW, null, reason);
     }
 
-    private DecisionResult handleValidApprovedTerms(CreditAssessmentCompletedEvent event, String reason, MeterRegistry meterRegistry) {
+    private DecisionResult handleValidApprovedTerms(CreditAssessmentCompletedEvent event, MeterRegistry meterRegistry) {
         Counter approvedLoansCounter = Counter.builder("loan.decisions")
                 .tag("status", "approved")
                 .description("Number of approved loans")
                 .register(meterRegistry);
 
         LoanTerms finalTerms = loanTermsCalculator.calculateDefaultLoanTerms(event.approvedLimit(), event.interestRateApplied());
-        String updatedReason = (reason == null ? "Approved" : reason + " Approved with standard terms.");
+        String updatedReason = "Approved with standard terms.";
         approvedLoansCounter.increment();
         log.info("Application {} APPROVED. Terms: Amount={}, Rate={}, Installments={}, InstallmentAmount={}",
                 event.applicationId(), finalTerms.getApprovedAmount(), finalTerms.getInterestRate(),
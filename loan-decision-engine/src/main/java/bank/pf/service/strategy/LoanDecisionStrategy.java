@@ -7,5 +7,5 @@ import io.micrometer.core.instrument.MeterRegistry;
 public interface LoanDecisionStrategy {
     boolean canHandle(CreditAssessmentCompletedEvent completedEvent);
 
-    DecisionResult makeDecision(CreditAssessmentCompletedEvent completedEvent, String initialReason, MeterRegistry meterRegistry);
+    DecisionResult makeDecision(CreditAssessmentCompletedEvent completedEvent, MeterRegistry meterRegistry);
 }
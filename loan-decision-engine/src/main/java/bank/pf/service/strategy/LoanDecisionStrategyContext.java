@@ -19,13 +19,11 @@ public class LoanDecisionStrategyContext {
     private final MeterRegistry meterRegistry;
 
     public DecisionResult determineDecision(CreditAssessmentCompletedEvent completedEvent) {
-        String initialReason = completedEvent.justification();
-        
         for (LoanDecisionStrategy strategy : strategies) {
             if (strategy.canHandle(completedEvent)) {
                 log.debug("Using strategy: {} for application ID: {}", 
                         strategy.getClass().getSimpleName(), completedEvent.applicationId());
-                return strategy.makeDecision(completedEvent, initialReason, meterRegistry);
+                return strategy.makeDecision(completedEvent, meterRegistry);
             }
         }
 
@@ -37,6 +35,6 @@ public class LoanDecisionStrategyContext {
                 .findFirst()
                 .orElseThrow(() -> new IllegalStateException("No UnknownStatusLoanDecisionStrategy found"));
                 
-        return unknownStrategy.makeDecision(completedEvent, initialReason, meterRegistry);
+        return unknownStrategy.makeDecision(completedEvent, meterRegistry);
     }
 }
\ No newline at end of file
@@ -19,13 +19,13 @@ public class PendingManualReviewLoanDecisionStrategy implements LoanDecisionStra
     }
 
     @Override
-    public DecisionResult makeDecision(CreditAssessmentCompletedEvent completedEvent, String initialReason, MeterRegistry meterRegistry) {
+    public DecisionResult makeDecision(CreditAssessmentCompletedEvent completedEvent, MeterRegistry meterRegistry) {
         Counter manualReviewLoansCounter = Counter.builder("loan.decisions")
                 .tag("status", "manual_review")
                 .description("Number of loans sent to manual review")
                 .register(meterRegistry);
                 
-        String updatedReason = (initialReason == null ? "" : initialReason) + " Flagged for manual review by credit assessment.";
+        String updatedReason = "Flagged for manual review by credit assessment.";
         manualReviewLoansCounter.increment();
         log.info("Application {} PENDING_MANUAL_REVIEW based on credit assessment: {}", completedEvent.applicationId(), updatedReason);
         return new DecisionResult(LoanDecision.PENDING_MANUAL_REVIEW, null, updatedReason);
@@ -19,14 +19,14 @@ public class RejectedLoanDecisionStrategy implements LoanDecisionStrategy {
     }
 
     @Override
-    public DecisionResult makeDecision(CreditAssessmentCompletedEvent completedEvent, String initialReason, MeterRegistry meterRegistry) {
+    public DecisionResult makeDecision(CreditAssessmentCompletedEvent completedEvent, MeterRegistry meterRegistry) {
         Counter rejectedLoansCounter = Counter.builder("loan.decisions")
                 .tag("status", "rejected")
                 .description("Number of rejected loans")
                 .register(meterRegistry);
 
         rejectedLoansCounter.increment();
-        log.info("Application {} REJECTED based on credit assessment: {}", completedEvent.applicationId(), initialReason);
-        return new DecisionResult(LoanDecision.REJECTED, null, initialReason);
+        log.info("Application {} REJECTED based on credit assessment. Reason codes: {}", completedEvent.applicationId(), completedEvent.reasonCodes());
+        return new DecisionResult(LoanDecision.REJECTED, null, "Rejected by credit assessment.");
     }
 }
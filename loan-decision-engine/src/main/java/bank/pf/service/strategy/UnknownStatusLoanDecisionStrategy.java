@@ -22,7 +22,7 @@ public class UnknownStatusLoanDecisionStrategy implements LoanDecisionStrategy {
     }
 
     @Override
-    public DecisionResult makeDecision(CreditAssessmentCompletedEvent completedEvent, String initialReason, MeterRegistry meterRegistry) {
+    public DecisionResult makeDecision(CreditAssessmentCompletedEvent completedEvent, MeterRegistry meterRegistry) {
         Counter manualReviewLoansCounter = Counter.builder("loan.decisions")
                 .tag("status", "manual_review")
                 .description("Number of loans sent to manual review")
@@ -0,0 +1,46 @@
+package bank.pf.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Gera UUIDs versão 7 (RFC 9562): 48 bits de epoch em ms, 12 bits de sequência monotônica e 62 bits aleatórios.
+// A forma textual ordena na mesma ordem de criação, então inserções no índice de _id caem sempre à direita da árvore.
+public final class TimeOrderedIdGenerator {
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final long VARIANT_RFC_9562 = 0x8000000000000000L;
+
+    // (epochMillis << 12) | sequência. Quando a sequência estoura dentro do mesmo ms, o incremento avança o
+    // timestamp em 1 ms, mantendo a ordem estritamente crescente sem bloquear.
+    private static final AtomicLong LAST_TIMESTAMP_AND_SEQUENCE = new AtomicLong();
+
+    private TimeOrderedIdGenerator() {
+    }
+
+    public static String nextId() {
+        return next().toString();
+    }
+
+    public static UUID next() {
+        long timestampAndSequence = nextTimestampAndSequence(System.currentTimeMillis());
+        long mostSignificantBits = ((timestampAndSequence >>> SEQUENCE_BITS) << 16)
+                | VERSION_7
+                | (timestampAndSequence & ((1L << SEQUENCE_BITS) - 1));
+        long leastSignificantBits = (ThreadLocalRandom.current().nextLong() & VARIANT_MASK) | VARIANT_RFC_9562;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    private static long nextTimestampAndSequence(long epochMillis) {
+        long candidate = epochMillis << SEQUENCE_BITS;
+        while (true) {
+            long last = LAST_TIMESTAMP_AND_SEQUENCE.get();
+            long next = candidate > last ? candidate : last + 1;
+            if (LAST_TIMESTAMP_AND_SEQUENCE.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}